@@ -0,0 +1,283 @@
+package com.wcg.chargen.backend.benchmark;
+
+import com.wcg.chargen.backend.enums.CharType;
+import com.wcg.chargen.backend.enums.PdfAppearanceMode;
+import com.wcg.chargen.backend.enums.PdfOutputProfile;
+import com.wcg.chargen.backend.enums.SpeciesType;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.Feature;
+import com.wcg.chargen.backend.model.FeaturesRequest;
+import com.wcg.chargen.backend.service.CharClassesService;
+import com.wcg.chargen.backend.service.CommonerService;
+import com.wcg.chargen.backend.service.ProfessionsService;
+import com.wcg.chargen.backend.service.SpeciesService;
+import com.wcg.chargen.backend.service.impl.DefaultCharClassesService;
+import com.wcg.chargen.backend.service.impl.DefaultCharacterCreateMetricsService;
+import com.wcg.chargen.backend.service.impl.DefaultCharacterCreateRequestValidatorService;
+import com.wcg.chargen.backend.service.impl.DefaultCommonerService;
+import com.wcg.chargen.backend.service.impl.DefaultGoogleSheetBuilderService;
+import com.wcg.chargen.backend.service.impl.DefaultProfessionsService;
+import com.wcg.chargen.backend.service.impl.DefaultSpeciesService;
+import com.wcg.chargen.backend.service.impl.charCreate.DefaultGoogleSheetsCharacterCreateService;
+import com.wcg.chargen.backend.service.impl.charCreate.DefaultPdfCharacterCreateService;
+import com.wcg.chargen.backend.service.impl.yaml.CommonerYamlLoaderService;
+import com.wcg.chargen.backend.service.impl.yaml.ProfessionsYamlLoaderService;
+import com.wcg.chargen.backend.service.impl.yaml.SkillsYamlLoaderService;
+import com.wcg.chargen.backend.service.impl.yaml.charClasses.*;
+import com.wcg.chargen.backend.service.impl.yaml.species.DwarfYamlLoaderService;
+import com.wcg.chargen.backend.service.impl.yaml.species.ElfYamlLoaderService;
+import com.wcg.chargen.backend.service.impl.yaml.species.HalflingYamlLoaderService;
+import com.wcg.chargen.backend.service.impl.yaml.species.HumanYamlLoaderService;
+import com.wcg.chargen.backend.testUtil.CharacterCreateRequestBuilder;
+import com.wcg.chargen.backend.testUtil.PostConstructUtil;
+import com.wcg.chargen.backend.worker.RandomNumberWorker;
+import com.wcg.chargen.backend.worker.SkillsProvider;
+import com.wcg.chargen.backend.worker.impl.DefaultCharacterSheetWorker;
+import com.wcg.chargen.backend.worker.impl.DefaultSkillsProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.wcg.chargen.backend.service.impl.DefaultFeaturesService.CUMULATIVE_TIER_1_FEATURES_PER_LEVEL;
+import static com.wcg.chargen.backend.service.impl.DefaultFeaturesService.CUMULATIVE_TIER_2_FEATURES_PER_LEVEL;
+
+/**
+ * Wires up the services used for character creation from the real game data YAML files,
+ * without starting Spring.
+ *
+ * Loading the YAML files isn't what the benchmarks measure, so a single instance is shared
+ * by every benchmark in a JVM fork.
+ */
+public class BenchmarkFixtures {
+    private static BenchmarkFixtures instance = null;
+
+    private final SkillsProvider skillsProvider;
+    private final SpeciesService speciesService;
+    private final CharClassesService charClassesService;
+    private final CommonerService commonerService;
+    private final ProfessionsService professionsService;
+    private final RandomNumberWorker randomNumberWorker = new FixedRandomNumberWorker();
+    private final DefaultCharacterSheetWorker characterSheetWorker = new DefaultCharacterSheetWorker();
+    private final DefaultCharacterCreateRequestValidatorService validatorService =
+            new DefaultCharacterCreateRequestValidatorService();
+    // Metrics are recorded as they would be in the running app, so their cost is included in the benchmarks
+    private final DefaultCharacterCreateMetricsService characterCreateMetricsService =
+            new DefaultCharacterCreateMetricsService(new SimpleMeterRegistry());
+    private final DefaultPdfCharacterCreateService pdfCharacterCreateService = new DefaultPdfCharacterCreateService();
+    private final DefaultGoogleSheetBuilderService googleSheetBuilderService = new DefaultGoogleSheetBuilderService();
+    // No Google Sheets API service is wired in, so this can only build spreadsheets, not create them
+    private final DefaultGoogleSheetsCharacterCreateService googleSheetsCharacterCreateService =
+            new DefaultGoogleSheetsCharacterCreateService();
+
+    private final Map<SampleCharacter, CharacterCreateRequest> requestMap = new EnumMap<>(SampleCharacter.class);
+
+    private BenchmarkFixtures() throws Exception {
+        skillsProvider = new DefaultSkillsProvider(new SkillsYamlLoaderService());
+        PostConstructUtil.invokeMethod(DefaultSkillsProvider.class, skillsProvider);
+
+        speciesService = new DefaultSpeciesService(List.of(new DwarfYamlLoaderService(),
+                new ElfYamlLoaderService(), new HalflingYamlLoaderService(), new HumanYamlLoaderService()));
+        PostConstructUtil.invokeMethod(DefaultSpeciesService.class, speciesService);
+
+        charClassesService = new DefaultCharClassesService(List.of(new BerzerkerYamlLoaderService(),
+                new MageYamlLoaderService(), new MysticYamlLoaderService(), new RangerYamlLoaderService(),
+                new RogueYamlLoaderService(), new ShamanYamlLoaderService(), new SkaldYamlLoaderService(),
+                new WarriorYamlLoaderService()), skillsProvider);
+        PostConstructUtil.invokeMethod(DefaultCharClassesService.class, charClassesService);
+
+        commonerService = new DefaultCommonerService(new CommonerYamlLoaderService());
+        PostConstructUtil.invokeMethod(DefaultCommonerService.class, commonerService);
+
+        professionsService = new DefaultProfessionsService(new ProfessionsYamlLoaderService(), randomNumberWorker);
+        PostConstructUtil.invokeMethod(DefaultProfessionsService.class, professionsService);
+
+        ReflectionTestUtils.setField(characterSheetWorker, "charClassesService", charClassesService);
+        ReflectionTestUtils.setField(characterSheetWorker, "commonerService", commonerService);
+        ReflectionTestUtils.setField(characterSheetWorker, "randomNumberWorker", randomNumberWorker);
+        ReflectionTestUtils.setField(characterSheetWorker, "skillsProvider", skillsProvider);
+
+        ReflectionTestUtils.setField(validatorService, "professionsService", professionsService);
+        ReflectionTestUtils.setField(validatorService, "speciesService", speciesService);
+        ReflectionTestUtils.setField(validatorService, "skillsProvider", skillsProvider);
+        ReflectionTestUtils.setField(validatorService, "charClassesService", charClassesService);
+
+        ReflectionTestUtils.setField(pdfCharacterCreateService, "characterCreateRequestValidatorService",
+                validatorService);
+        ReflectionTestUtils.setField(pdfCharacterCreateService, "speciesService", speciesService);
+        ReflectionTestUtils.setField(pdfCharacterCreateService, "characterSheetWorker", characterSheetWorker);
+        ReflectionTestUtils.setField(pdfCharacterCreateService, "charClassesService", charClassesService);
+        ReflectionTestUtils.setField(pdfCharacterCreateService, "characterCreateMetricsService",
+                characterCreateMetricsService);
+        ReflectionTestUtils.setField(pdfCharacterCreateService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(pdfCharacterCreateService, "templateCacheMaxEntries", 68);
+        ReflectionTestUtils.setField(pdfCharacterCreateService, "templateCacheMaxSize", DataSize.ofMegabytes(16));
+        ReflectionTestUtils.setField(pdfCharacterCreateService, "appearanceMode", PdfAppearanceMode.DEFERRED);
+        ReflectionTestUtils.setField(pdfCharacterCreateService, "outputProfile", PdfOutputProfile.COMPACT);
+        PostConstructUtil.invokeMethod(DefaultPdfCharacterCreateService.class, pdfCharacterCreateService);
+
+        ReflectionTestUtils.setField(googleSheetBuilderService, "professionsService", professionsService);
+        ReflectionTestUtils.setField(googleSheetBuilderService, "charClassesService", charClassesService);
+        ReflectionTestUtils.setField(googleSheetBuilderService, "commonerService", commonerService);
+        ReflectionTestUtils.setField(googleSheetBuilderService, "randomNumberWorker", randomNumberWorker);
+        ReflectionTestUtils.setField(googleSheetBuilderService, "skillsProvider", skillsProvider);
+        ReflectionTestUtils.setField(googleSheetBuilderService, "speciesService", speciesService);
+        ReflectionTestUtils.setField(googleSheetBuilderService, "characterSheetWorker", characterSheetWorker);
+
+        ReflectionTestUtils.setField(googleSheetsCharacterCreateService, "googleSheetBuilderService",
+                googleSheetBuilderService);
+        ReflectionTestUtils.setField(googleSheetsCharacterCreateService, "charClassesService", charClassesService);
+        ReflectionTestUtils.setField(googleSheetsCharacterCreateService, "characterCreateRequestValidatorService",
+                validatorService);
+        ReflectionTestUtils.setField(googleSheetsCharacterCreateService, "characterSheetWorker",
+                characterSheetWorker);
+        ReflectionTestUtils.setField(googleSheetsCharacterCreateService, "characterCreateMetricsService",
+                characterCreateMetricsService);
+
+        buildRequests();
+    }
+
+    public static synchronized BenchmarkFixtures getInstance() {
+        if (instance == null) {
+            try {
+                instance = new BenchmarkFixtures();
+            }
+            catch (Exception e) {
+                throw new IllegalStateException("Error loading game data for benchmarks", e);
+            }
+        }
+
+        return instance;
+    }
+
+    private void buildRequests() {
+        requestMap.put(SampleCharacter.COMMONER, getRequestForLevel(0));
+
+        requestMap.put(SampleCharacter.LEVEL_1_WARRIOR, CharacterCreateRequestBuilder
+                .getBuilder()
+                .withCharacterName("Warrior")
+                .withCharacterType(CharType.WARRIOR)
+                .withSpeciesType(SpeciesType.HUMAN)
+                .withLevel(1)
+                .withAttributes(CharacterCreateRequestBuilder.VALID_ATTRIBUTES_MAP)
+                .withSpeciesStrength("STR")
+                .withBonusSkills(List.of("Athletics", "Survival"))
+                .withUseQuickGear(true)
+                .build());
+
+        requestMap.put(SampleCharacter.LEVEL_7_SKALD, getRequestForLevel(7));
+
+        // Make sure the benchmarks aren't just measuring how quickly a request gets rejected
+        for (var entry : requestMap.entrySet()) {
+            var status = validatorService.validate(entry.getValue());
+            if (!status.isSuccess()) {
+                throw new IllegalStateException("Sample character " + entry.getKey() + " is not valid: "
+                        + status.message());
+            }
+        }
+    }
+
+    /**
+     * Build a valid request for a character of the given level: a commoner for level 0,
+     * and a skald with quick gear and the full number of features for every other level.
+     *
+     * @param level Character level
+     * @return Character create request
+     */
+    public CharacterCreateRequest getRequestForLevel(int level) {
+        if (level == 0) {
+            var profession = professionsService.getAllProfessions().professions().getFirst().name();
+
+            return CharacterCreateRequestBuilder
+                    .getBuilder()
+                    .withCharacterName("Commoner")
+                    .withSpeciesType(SpeciesType.HUMAN)
+                    .withProfession(profession)
+                    .withLevel(0)
+                    .withAttributes(CharacterCreateRequestBuilder.getAttributesMap(1, 0, 2, -1, 0, 1, -2))
+                    .withSpeciesStrength("STA")
+                    .build();
+        }
+
+        // Prefer features with attributes, since those exercise more of the character sheet code
+        var skaldFeatures = charClassesService.getCharClassByType(CharType.SKALD).features();
+        var hasNoAttributes = Comparator.comparing((Feature feature) -> feature.attributes().isEmpty());
+        var tier1Features = skaldFeatures.tier1().stream()
+                .sorted(hasNoAttributes)
+                .map(Feature::description)
+                .limit(CUMULATIVE_TIER_1_FEATURES_PER_LEVEL[level - 1])
+                .toList();
+        var tier2Features = skaldFeatures.tier2().stream()
+                .sorted(hasNoAttributes)
+                .map(Feature::description)
+                .limit(CUMULATIVE_TIER_2_FEATURES_PER_LEVEL[level - 1])
+                .toList();
+
+        return CharacterCreateRequestBuilder
+                .getBuilder()
+                .withCharacterName("Skald")
+                .withCharacterType(CharType.SKALD)
+                .withSpeciesType(SpeciesType.ELF)
+                .withLevel(level)
+                .withAttributes(CharacterCreateRequestBuilder.getAttributesMap(-1, 2, 0, 0, 1, 2, 0))
+                .withSpeciesStrength("COR")
+                .withSpeciesWeakness("STA")
+                .withSpeciesSkill("Arcana")
+                .withBonusSkills(List.of("Healing"))
+                .withUseQuickGear(true)
+                .withFeatures(level > 1 ? new FeaturesRequest(tier1Features, tier2Features) : null)
+                .build();
+    }
+
+    public CharacterCreateRequest getRequest(SampleCharacter sampleCharacter) {
+        return requestMap.get(sampleCharacter);
+    }
+
+    public SkillsProvider getSkillsProvider() {
+        return skillsProvider;
+    }
+
+    public SpeciesService getSpeciesService() {
+        return speciesService;
+    }
+
+    public CharClassesService getCharClassesService() {
+        return charClassesService;
+    }
+
+    public CommonerService getCommonerService() {
+        return commonerService;
+    }
+
+    public ProfessionsService getProfessionsService() {
+        return professionsService;
+    }
+
+    public RandomNumberWorker getRandomNumberWorker() {
+        return randomNumberWorker;
+    }
+
+    public DefaultCharacterSheetWorker getCharacterSheetWorker() {
+        return characterSheetWorker;
+    }
+
+    public DefaultCharacterCreateRequestValidatorService getValidatorService() {
+        return validatorService;
+    }
+
+    public DefaultPdfCharacterCreateService getPdfCharacterCreateService() {
+        return pdfCharacterCreateService;
+    }
+
+    public DefaultGoogleSheetBuilderService getGoogleSheetBuilderService() {
+        return googleSheetBuilderService;
+    }
+
+    public DefaultGoogleSheetsCharacterCreateService getGoogleSheetsCharacterCreateService() {
+        return googleSheetsCharacterCreateService;
+    }
+}
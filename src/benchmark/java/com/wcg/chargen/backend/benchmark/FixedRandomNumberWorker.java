@@ -0,0 +1,14 @@
+package com.wcg.chargen.backend.benchmark;
+
+import com.wcg.chargen.backend.worker.RandomNumberWorker;
+
+/**
+ * Random number worker that always returns the middle of the requested range,
+ * so that every benchmark invocation does exactly the same work.
+ */
+public class FixedRandomNumberWorker implements RandomNumberWorker {
+    @Override
+    public int getIntFromRange(int start, int end) {
+        return start + (end - start) / 2;
+    }
+}
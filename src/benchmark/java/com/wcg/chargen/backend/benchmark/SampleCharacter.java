@@ -0,0 +1,11 @@
+package com.wcg.chargen.backend.benchmark;
+
+/**
+ * Representative characters used as benchmark parameters, ranging from the smallest
+ * character sheet to the largest.
+ */
+public enum SampleCharacter {
+    COMMONER,
+    LEVEL_1_WARRIOR,
+    LEVEL_7_SKALD
+}
@@ -0,0 +1,23 @@
+package com.wcg.chargen.backend.loadtest;
+
+/**
+ * Endpoints exercised by the load test, weighted by how often the frontend calls them
+ * while a user builds a character.
+ */
+public enum Endpoint {
+    GET_SKILLS(20),
+    GET_FEATURES(15),
+    GET_PROFESSIONS(15),
+    POST_PDF(30),
+    POST_GOOGLE_SHEETS(20);
+
+    private final int weight;
+
+    Endpoint(int weight) {
+        this.weight = weight;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,58 @@
+package com.wcg.chargen.backend.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects the latency and outcome of every request made to one endpoint during a load test phase.
+ */
+public class EndpointRecorder {
+    private long[] latencyNanos = new long[1024];
+    private int numRequests = 0;
+    private int numErrors = 0;
+
+    public record Stats(String endpoint,
+                        int requests,
+                        int errors,
+                        double errorRate,
+                        double throughputPerSecond,
+                        double p50Millis,
+                        double p95Millis,
+                        double p99Millis,
+                        double maxMillis) {}
+
+    public synchronized void record(long elapsedNanos, boolean isSuccess) {
+        if (numRequests == latencyNanos.length) {
+            latencyNanos = Arrays.copyOf(latencyNanos, numRequests * 2);
+        }
+        latencyNanos[numRequests++] = elapsedNanos;
+
+        if (!isSuccess) {
+            numErrors++;
+        }
+    }
+
+    public synchronized Stats getStats(String endpoint, long phaseDurationNanos) {
+        var sortedLatencyNanos = Arrays.copyOf(latencyNanos, numRequests);
+        Arrays.sort(sortedLatencyNanos);
+
+        return new Stats(endpoint,
+                numRequests,
+                numErrors,
+                numRequests > 0 ? (double) numErrors / numRequests : 0.0,
+                numRequests / (phaseDurationNanos / 1e9),
+                getPercentileMillis(sortedLatencyNanos, 0.50),
+                getPercentileMillis(sortedLatencyNanos, 0.95),
+                getPercentileMillis(sortedLatencyNanos, 0.99),
+                getPercentileMillis(sortedLatencyNanos, 1.0));
+    }
+
+    private static double getPercentileMillis(long[] sortedLatencyNanos, double percentile) {
+        if (sortedLatencyNanos.length == 0) {
+            return 0.0;
+        }
+
+        // Nearest-rank percentile
+        var rank = (int) Math.ceil(percentile * sortedLatencyNanos.length);
+        return sortedLatencyNanos[Math.max(rank, 1) - 1] / 1e6;
+    }
+}
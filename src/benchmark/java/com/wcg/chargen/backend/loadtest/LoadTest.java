@@ -0,0 +1,283 @@
+package com.wcg.chargen.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.wcg.chargen.backend.BackendApplication;
+import com.wcg.chargen.backend.benchmark.BenchmarkFixtures;
+import com.wcg.chargen.backend.enums.CharType;
+import com.wcg.chargen.backend.enums.SpeciesType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+
+/**
+ * Load test for capacity planning, which runs entirely on the local machine.
+ *
+ * The backend is started on a random port, pointed at a local stand-in for the Google Sheets API,
+ * and then driven by a fixed number of simulated users, each sending requests back to back.
+ * There are two kinds of phase:
+ * - A mixed phase, where requests are spread across the endpoints in the same proportions as real traffic
+ * - An isolated phase for each endpoint, which is the only way to attribute GC activity and
+ *   allocation to a single endpoint, since the JVM only reports them for the process as a whole
+ *
+ * The simulated users run in the same JVM as the backend, so the GC figures include the (small)
+ * cost of generating the load.  Settings are read from system properties: see the benchmark
+ * profile in pom.xml for the defaults used when running from Maven.
+ */
+public class LoadTest {
+    private static final String BEARER_TOKEN = "Bearer load-test";
+    private static final int MAX_LEVEL = 7;
+
+    public record Config(int users,
+                         Duration warmup,
+                         Duration duration,
+                         Duration sheetsLatency,
+                         double sheetsErrorRate,
+                         long seed,
+                         String reportFile) {
+        static Config fromSystemProperties() {
+            return new Config(Integer.getInteger("loadtest.users", 16),
+                    Duration.parse(System.getProperty("loadtest.warmup", "PT15S")),
+                    Duration.parse(System.getProperty("loadtest.duration", "PT30S")),
+                    Duration.parse(System.getProperty("loadtest.sheets.latency", "PT0.25S")),
+                    Double.parseDouble(System.getProperty("loadtest.sheets.errorRate", "0.01")),
+                    Long.getLong("loadtest.seed", 42),
+                    System.getProperty("loadtest.reportFile", "target/loadtest-report.json"));
+        }
+    }
+
+    public record GcStats(long collections,
+                          long collectionTimeMillis,
+                          double allocatedMegabytes,
+                          double allocatedKilobytesPerRequest,
+                          double peakHeapMegabytes) {}
+
+    public record PhaseResult(String name,
+                              double durationSeconds,
+                              GcStats gc,
+                              List<EndpointRecorder.Stats> endpoints) {}
+
+    public record Report(Config config, PhaseResult mixed, List<PhaseResult> isolated) {}
+
+    private final Config config;
+    private final URI baseUri;
+    private final HttpClient httpClient;
+    private final List<String> characterRequestBodies = new ArrayList<>();
+
+    private LoadTest(Config config, URI baseUri, HttpClient httpClient, ObjectMapper objectMapper)
+            throws IOException {
+        this.config = config;
+        this.baseUri = baseUri;
+        this.httpClient = httpClient;
+
+        // One valid character at each level, so that the PDFs and spreadsheets vary in size
+        var fixtures = BenchmarkFixtures.getInstance();
+        for (var level = 0; level <= MAX_LEVEL; level++) {
+            characterRequestBodies.add(objectMapper.writeValueAsString(fixtures.getRequestForLevel(level)));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        var config = Config.fromSystemProperties();
+        var objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+
+        try (var sheetsApiStub = new SheetsApiStub(config.sheetsLatency(), config.sheetsErrorRate());
+             // Passed as command line arguments so that they take precedence over application.properties
+             var context = new SpringApplicationBuilder(BackendApplication.class)
+                     .run("--server.port=0",
+                             "--spring.main.banner-mode=off",
+                             "--wcg.google-sheets.api-url=" + sheetsApiStub.getBaseUrl());
+             var httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .build()) {
+            var port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            var loadTest = new LoadTest(config, URI.create("http://localhost:" + port), httpClient, objectMapper);
+            var allEndpoints = List.of(Endpoint.values());
+
+            System.out.printf("Warming up for %s with %d users%n", config.warmup(), config.users());
+            loadTest.runPhase("warmup", allEndpoints, config.warmup());
+
+            var mixed = loadTest.runPhase("mixed", allEndpoints, config.duration());
+            printPhase(mixed);
+
+            var isolated = new ArrayList<PhaseResult>();
+            for (var endpoint : allEndpoints) {
+                var phaseResult = loadTest.runPhase(endpoint.name(), List.of(endpoint), config.duration());
+                printPhase(phaseResult);
+                isolated.add(phaseResult);
+            }
+
+            var reportFile = new File(config.reportFile());
+            objectMapper.writerWithDefaultPrettyPrinter()
+                    .writeValue(reportFile, new Report(config, mixed, isolated));
+            System.out.printf("Report written to %s%n", reportFile.getAbsolutePath());
+        }
+    }
+
+    private PhaseResult runPhase(String name, List<Endpoint> endpoints, Duration duration)
+            throws InterruptedException {
+        var recorderMap = new EnumMap<Endpoint, EndpointRecorder>(Endpoint.class);
+        for (var endpoint : endpoints) {
+            recorderMap.put(endpoint, new EndpointRecorder());
+        }
+
+        // Start each phase from a clean heap, so that one phase's garbage isn't collected in the next
+        System.gc();
+        var gcBefore = GcSnapshot.take();
+
+        var startNanos = System.nanoTime();
+        var deadlineNanos = startNanos + duration.toNanos();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var user = 0; user < config.users(); user++) {
+                // Seed each user separately so that runs are reproducible
+                var random = new Random(config.seed() + user);
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadlineNanos) {
+                        var endpoint = pickEndpoint(endpoints, random);
+                        var request = buildRequest(endpoint, random);
+                        var requestStartNanos = System.nanoTime();
+                        var isSuccess = send(request);
+                        recorderMap.get(endpoint).record(System.nanoTime() - requestStartNanos, isSuccess);
+                    }
+                    return null;
+                });
+            }
+        }
+        var elapsedNanos = System.nanoTime() - startNanos;
+
+        var gcAfter = GcSnapshot.take();
+        var endpointStatsList = recorderMap.entrySet().stream()
+                .map(entry -> entry.getValue().getStats(entry.getKey().name(), elapsedNanos))
+                .toList();
+        var totalRequests = endpointStatsList.stream().mapToInt(EndpointRecorder.Stats::requests).sum();
+
+        return new PhaseResult(name, elapsedNanos / 1e9, gcAfter.since(gcBefore, totalRequests), endpointStatsList);
+    }
+
+    private static Endpoint pickEndpoint(List<Endpoint> endpoints, Random random) {
+        var totalWeight = endpoints.stream().mapToInt(Endpoint::getWeight).sum();
+        var remaining = random.nextInt(totalWeight);
+        for (var endpoint : endpoints) {
+            remaining -= endpoint.getWeight();
+            if (remaining < 0) {
+                return endpoint;
+            }
+        }
+
+        return endpoints.getLast();
+    }
+
+    private HttpRequest buildRequest(Endpoint endpoint, Random random) {
+        var charClass = CharType.values()[random.nextInt(CharType.values().length)];
+        var species = SpeciesType.values()[random.nextInt(SpeciesType.values().length)];
+        var characterRequestBody = characterRequestBodies.get(random.nextInt(characterRequestBodies.size()));
+
+        return switch (endpoint) {
+            case GET_SKILLS -> HttpRequest.newBuilder(
+                    baseUri.resolve("/api/v1/skills?charClass=" + charClass + "&species=" + species))
+                    .GET()
+                    .build();
+            case GET_FEATURES -> HttpRequest.newBuilder(
+                    baseUri.resolve("/api/v1/features?charClass=" + charClass + "&level=" + (random.nextInt(MAX_LEVEL) + 1)))
+                    .GET()
+                    .build();
+            case GET_PROFESSIONS -> HttpRequest.newBuilder(baseUri.resolve("/api/v1/professions"))
+                    .GET()
+                    .build();
+            case POST_PDF -> HttpRequest.newBuilder(baseUri.resolve("/api/v1/createcharacter/pdf"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(characterRequestBody))
+                    .build();
+            case POST_GOOGLE_SHEETS -> HttpRequest.newBuilder(baseUri.resolve("/api/v1/createcharacter/googlesheets"))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", BEARER_TOKEN)
+                    .POST(HttpRequest.BodyPublishers.ofString(characterRequestBody))
+                    .build();
+        };
+    }
+
+    private boolean send(HttpRequest request) {
+        try {
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() >= 200 && response.statusCode() < 300;
+        }
+        catch (IOException e) {
+            return false;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void printPhase(PhaseResult phaseResult) {
+        System.out.printf("%nPhase %s (%.1f s): %d GCs, %d ms in GC, %.1f MB allocated (%.1f KB/request), peak heap %.1f MB%n",
+                phaseResult.name(),
+                phaseResult.durationSeconds(),
+                phaseResult.gc().collections(),
+                phaseResult.gc().collectionTimeMillis(),
+                phaseResult.gc().allocatedMegabytes(),
+                phaseResult.gc().allocatedKilobytesPerRequest(),
+                phaseResult.gc().peakHeapMegabytes());
+        System.out.printf("%-20s %9s %8s %10s %10s %10s %10s %10s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "Max ms");
+        for (var stats : phaseResult.endpoints()) {
+            System.out.printf("%-20s %9d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    stats.endpoint(), stats.requests(), stats.errors(), stats.throughputPerSecond(),
+                    stats.p50Millis(), stats.p95Millis(), stats.p99Millis(), stats.maxMillis());
+        }
+    }
+
+    private record GcSnapshot(long collections, long collectionTimeMillis, long allocatedBytes) {
+        static GcSnapshot take() {
+            var collections = 0L;
+            var collectionTimeMillis = 0L;
+            for (var gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+                collections += Math.max(gcBean.getCollectionCount(), 0);
+                collectionTimeMillis += Math.max(gcBean.getCollectionTime(), 0);
+            }
+
+            // Peak usage is tracked from here until the next snapshot
+            for (var memoryPoolBean : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (memoryPoolBean.getType() == MemoryType.HEAP) {
+                    memoryPoolBean.resetPeakUsage();
+                }
+            }
+
+            var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+            return new GcSnapshot(collections, collectionTimeMillis, threadBean.getTotalThreadAllocatedBytes());
+        }
+
+        GcStats since(GcSnapshot before, int numRequests) {
+            var peakHeapBytes = 0L;
+            for (var memoryPoolBean : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (memoryPoolBean.getType() == MemoryType.HEAP) {
+                    peakHeapBytes += memoryPoolBean.getPeakUsage().getUsed();
+                }
+            }
+
+            var allocatedBytes = allocatedBytes() - before.allocatedBytes();
+
+            return new GcStats(collections() - before.collections(),
+                    collectionTimeMillis() - before.collectionTimeMillis(),
+                    allocatedBytes / (1024.0 * 1024.0),
+                    numRequests > 0 ? allocatedBytes / 1024.0 / numRequests : 0.0,
+                    peakHeapBytes / (1024.0 * 1024.0));
+        }
+    }
+}
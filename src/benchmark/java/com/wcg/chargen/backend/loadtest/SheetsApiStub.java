@@ -0,0 +1,78 @@
+package com.wcg.chargen.backend.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Local stand-in for sheets.googleapis.com, so that load tests don't depend on the network
+ * or on Google's quotas.
+ *
+ * Every request is accepted after a fixed delay, apart from a configurable fraction which fail
+ * with a server error, the way the real API occasionally does under load.
+ */
+public class SheetsApiStub implements AutoCloseable {
+    private final HttpServer server;
+    private final Duration latency;
+    private final double errorRate;
+
+    public SheetsApiStub(Duration latency, double errorRate) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            // Read the whole body, as Google would, so that the client isn't measured against a shortcut
+            var isGzip = "gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"));
+            try (InputStream inputStream = isGzip ?
+                    new GZIPInputStream(exchange.getRequestBody()) : exchange.getRequestBody()) {
+                inputStream.transferTo(OutputStream.nullOutputStream());
+            }
+
+            Thread.sleep(latency);
+
+            byte[] response;
+            int status;
+            if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                status = 503;
+                response = "{\"error\":{\"code\":503,\"status\":\"UNAVAILABLE\"}}".getBytes(StandardCharsets.UTF_8);
+            }
+            else {
+                status = 200;
+                response = ("{\"spreadsheetId\":\"" + UUID.randomUUID() + "\"}").getBytes(StandardCharsets.UTF_8);
+            }
+
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, response.length);
+            exchange.getResponseBody().write(response);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,233 @@
+package com.wcg.chargen.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wcg.chargen.backend.benchmark.BenchmarkFixtures;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time from launching the packaged application to its first successful request,
+ * which is roughly how long a new Elastic Beanstalk instance takes to become useful, along with
+ * the resident memory of the process at that point.  It then measures the time until the readiness
+ * probe reports UP, which is after the JIT warm-up, and how long a request takes once it has.
+ *
+ * The first request creates a PDF character sheet, since that's the slowest path to warm up.
+ * Each variant is launched the given number of times, in rotation so that any drift in the
+ * machine's load is spread evenly across them:
+ * - jar: the executable JAR, as deployed before class data sharing was added
+ * - cds: the extracted JAR with the class data sharing archive from the build
+ * - cds+aot: as above, also using the bean definitions generated at build time, which is what the Procfile runs
+ * - native: the native executable, which is only measured if it has been built with the native profile
+ *
+ * Requires the output of the package phase.  Resident memory is read from /proc, so is only
+ * reported on Linux.  Settings are read from system properties: see the benchmark profile in
+ * pom.xml for the defaults used when running from Maven.
+ */
+public class StartupTime {
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private enum Variant {
+        JAR("jar"),
+        CDS("cds", "-XX:SharedArchiveFile=application.jsa"),
+        CDS_AND_AOT("cds+aot", "-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true"),
+        NATIVE("native");
+
+        private final String displayName;
+        private final List<String> jvmArgumentList;
+
+        Variant(String displayName, String... jvmArguments) {
+            this.displayName = displayName;
+            this.jvmArgumentList = List.of(jvmArguments);
+        }
+    }
+
+    public record Config(int runs, File jar, File cdsDirectory, File nativeExecutable, Duration timeout) {
+        static Config fromSystemProperties() {
+            return new Config(Integer.getInteger("startup.runs", 5),
+                    new File(System.getProperty("startup.jar")),
+                    new File(System.getProperty("startup.cdsDirectory")),
+                    new File(System.getProperty("startup.nativeExecutable")),
+                    Duration.parse(System.getProperty("startup.timeout", "PT120S")));
+        }
+    }
+
+    /**
+     * @param rssKilobytes Resident memory after the first request, or -1 if it isn't available
+     * @param readyMillis Time from launch until the readiness probe reported UP
+     * @param readyRequestMillis Time taken by a request made once the readiness probe reported UP
+     */
+    private record Measurement(long millis, long rssKilobytes, long readyMillis, long readyRequestMillis) {}
+
+    private final Config config;
+    private final String requestBody;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private StartupTime(Config config, String requestBody) {
+        this.config = config;
+        this.requestBody = requestBody;
+    }
+
+    public static void main(String[] args) throws Exception {
+        var config = Config.fromSystemProperties();
+        var requestBody = new ObjectMapper().writeValueAsString(
+                BenchmarkFixtures.getInstance().getRequestForLevel(1));
+        var startupTime = new StartupTime(config, requestBody);
+
+        var variantList = new ArrayList<>(List.of(Variant.values()));
+        if (!config.nativeExecutable().canExecute()) {
+            System.out.printf("Skipping native variant, since %s hasn't been built%n", config.nativeExecutable());
+            variantList.remove(Variant.NATIVE);
+        }
+
+        var resultMap = new EnumMap<Variant, List<Measurement>>(Variant.class);
+        for (var run = 1; run <= config.runs(); run++) {
+            for (var variant : variantList) {
+                var measurement = startupTime.measureFirstRequest(variant);
+                System.out.printf("Run %d, %s: %d ms, %s, ready at %d ms, then %d ms per request%n", run,
+                        variant.displayName, measurement.millis(), formatRss(measurement.rssKilobytes()),
+                        measurement.readyMillis(), measurement.readyRequestMillis());
+                resultMap.computeIfAbsent(variant, x -> new ArrayList<>()).add(measurement);
+            }
+        }
+
+        System.out.printf("%n%-10s %10s %10s %10s %14s %16s %18s%n", "Variant", "Min ms", "Median ms", "Max ms",
+                "Median RSS", "Median ready ms", "Median request ms");
+        for (var entry : resultMap.entrySet()) {
+            var millisList = entry.getValue().stream().map(Measurement::millis).sorted().toList();
+            var rssList = entry.getValue().stream().map(Measurement::rssKilobytes).sorted().toList();
+            var readyList = entry.getValue().stream().map(Measurement::readyMillis).sorted().toList();
+            var readyRequestList = entry.getValue().stream().map(Measurement::readyRequestMillis).sorted().toList();
+            System.out.printf("%-10s %10d %10d %10d %14s %16d %18d%n", entry.getKey().displayName,
+                    millisList.getFirst(), millisList.get(millisList.size() / 2), millisList.getLast(),
+                    formatRss(rssList.get(rssList.size() / 2)), readyList.get(readyList.size() / 2),
+                    readyRequestList.get(readyRequestList.size() / 2));
+        }
+    }
+
+    private Measurement measureFirstRequest(Variant variant) throws IOException, InterruptedException {
+        var port = findFreePort();
+        var commandList = new ArrayList<String>();
+        File workingDirectory;
+        if (variant == Variant.NATIVE) {
+            workingDirectory = config.nativeExecutable().getParentFile();
+            commandList.add(config.nativeExecutable().getAbsolutePath());
+        }
+        else {
+            // The extracted JAR has the same name, and is run the same way as in the training run,
+            // since the archive records the class path as given
+            workingDirectory = (variant == Variant.JAR) ? config.jar().getParentFile() : config.cdsDirectory();
+            commandList.add(System.getProperty("java.home") + "/bin/java");
+            commandList.addAll(variant.jvmArgumentList);
+            commandList.add("-jar");
+            commandList.add(config.jar().getName());
+        }
+        commandList.add("--server.port=" + port);
+
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/createcharacter/pdf"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(10))
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+                .build();
+        var readinessRequest = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+
+        var startNanos = System.nanoTime();
+        var deadlineNanos = startNanos + config.timeout().toNanos();
+        var process = new ProcessBuilder(commandList)
+                .directory(workingDirectory)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            waitForSuccess(process, request, deadlineNanos, variant);
+            var millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            var rssKilobytes = readRssKilobytes(process.pid());
+
+            waitForSuccess(process, readinessRequest, deadlineNanos, variant);
+            var readyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+            var requestStartNanos = System.nanoTime();
+            if (!isSuccess(request)) {
+                throw new IllegalStateException(variant.displayName + " failed a request after reporting ready");
+            }
+            var readyRequestMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestStartNanos);
+
+            return new Measurement(millis, rssKilobytes, readyMillis, readyRequestMillis);
+        }
+        finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private void waitForSuccess(Process process, HttpRequest request, long deadlineNanos, Variant variant)
+            throws InterruptedException {
+        while (System.nanoTime() < deadlineNanos) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(variant.displayName + " exited with code " + process.exitValue());
+            }
+            if (isSuccess(request)) {
+                return;
+            }
+            Thread.sleep(POLL_INTERVAL);
+        }
+
+        throw new IllegalStateException(variant.displayName + " didn't respond to " + request.uri() + " within " +
+                config.timeout());
+    }
+
+    private boolean isSuccess(HttpRequest request) throws InterruptedException {
+        try {
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() == 200;
+        }
+        catch (IOException e) {
+            // Not listening yet
+            return false;
+        }
+    }
+
+    private static long readRssKilobytes(long pid) {
+        try {
+            for (var line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                // e.g. "VmRSS:	  123456 kB"
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        }
+        catch (IOException e) {
+            // Not Linux
+        }
+
+        return -1;
+    }
+
+    private static String formatRss(long rssKilobytes) {
+        return (rssKilobytes < 0) ? "RSS n/a" : String.format("%.1f MB", rssKilobytes / 1024.0);
+    }
+
+    private static int findFreePort() throws IOException {
+        try (var serverSocket = new ServerSocket(0)) {
+            return serverSocket.getLocalPort();
+        }
+    }
+}
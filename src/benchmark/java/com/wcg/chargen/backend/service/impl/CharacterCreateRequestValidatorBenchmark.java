@@ -0,0 +1,76 @@
+package com.wcg.chargen.backend.service.impl;
+
+import com.wcg.chargen.backend.benchmark.BenchmarkFixtures;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.CharacterCreateStatus;
+import com.wcg.chargen.backend.model.FeaturesRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for validating character create requests at every level.
+ *
+ * Invalid requests fail the last check that applies to their level, so that they exercise
+ * as much of the validator as possible before being rejected.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CharacterCreateRequestValidatorBenchmark {
+    private static final String INVALID_FEATURE = "Not a real feature";
+
+    @Param({"0", "1", "2", "3", "4", "5", "6", "7"})
+    int level;
+
+    @Param({"true", "false"})
+    boolean valid;
+
+    DefaultCharacterCreateRequestValidatorService validatorService;
+    CharacterCreateRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var fixtures = BenchmarkFixtures.getInstance();
+        validatorService = fixtures.getValidatorService();
+
+        var validRequest = fixtures.getRequestForLevel(level);
+        request = valid ? validRequest : withFeatures(validRequest, getInvalidFeatures(validRequest));
+
+        if (validatorService.validate(request).isSuccess() != valid) {
+            throw new IllegalStateException("Expected request for level " + level + " to have validity " + valid);
+        }
+    }
+
+    private static FeaturesRequest getInvalidFeatures(CharacterCreateRequest request) {
+        // Features can't be specified at all below level 2
+        if (request.features() == null) {
+            return new FeaturesRequest(List.of(), List.of());
+        }
+
+        // Otherwise, replace the last feature to be checked with one that doesn't exist
+        var tier1 = new ArrayList<>(request.features().tier1());
+        var tier2 = new ArrayList<>(request.features().tier2());
+        var lastTier = tier2.isEmpty() ? tier1 : tier2;
+        lastTier.set(lastTier.size() - 1, INVALID_FEATURE);
+
+        return new FeaturesRequest(tier1, tier2);
+    }
+
+    private static CharacterCreateRequest withFeatures(CharacterCreateRequest request, FeaturesRequest features) {
+        return new CharacterCreateRequest(request.characterName(), request.characterClass(), request.species(),
+                request.profession(), request.level(), request.attributes(), request.speciesStrength(),
+                request.speciesWeakness(), request.speciesSkill(), request.bonusSkills(), request.useQuickGear(),
+                features);
+    }
+
+    @Benchmark
+    public CharacterCreateStatus validate() {
+        return validatorService.validate(request);
+    }
+}
@@ -0,0 +1,78 @@
+package com.wcg.chargen.backend.service.impl.charCreate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.services.sheets.v4.model.Sheet;
+import com.google.api.services.sheets.v4.model.Spreadsheet;
+import com.wcg.chargen.backend.benchmark.BenchmarkFixtures;
+import com.wcg.chargen.backend.benchmark.SampleCharacter;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.service.impl.DefaultGoogleSheetBuilderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for building the Google Sheets payload for a character and serializing it to JSON,
+ * for a magic user (the level 7 skald, whose features let them cast spells) and a non-magic user.
+ *
+ * The Spells sheet is only part of the spreadsheet for magic users, but it's benchmarked for both
+ * so that the sheet builders can be compared like for like.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GoogleSheetsPayloadBenchmark {
+    @Param({"LEVEL_1_WARRIOR", "LEVEL_7_SKALD"})
+    SampleCharacter sampleCharacter;
+
+    DefaultGoogleSheetBuilderService googleSheetBuilderService;
+    DefaultGoogleSheetsCharacterCreateService googleSheetsCharacterCreateService;
+    CharacterCreateRequest request;
+    Spreadsheet spreadsheet;
+    // Configured the same way as the ObjectMapper that Spring Boot provides to the Google Sheets API service
+    ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var fixtures = BenchmarkFixtures.getInstance();
+        googleSheetBuilderService = fixtures.getGoogleSheetBuilderService();
+        googleSheetsCharacterCreateService = fixtures.getGoogleSheetsCharacterCreateService();
+        request = fixtures.getRequest(sampleCharacter);
+        spreadsheet = googleSheetsCharacterCreateService.buildSpreadsheet(request);
+    }
+
+    @Benchmark
+    public Sheet buildStatsSheet() {
+        return googleSheetBuilderService.buildStatsSheet(request);
+    }
+
+    @Benchmark
+    public Sheet buildSpellsSheet() {
+        return googleSheetBuilderService.buildSpellsSheet(request);
+    }
+
+    @Benchmark
+    public Sheet buildFeaturesSheet() {
+        return googleSheetBuilderService.buildFeaturesSheet(request);
+    }
+
+    @Benchmark
+    public Sheet buildGearSheet() {
+        return googleSheetBuilderService.buildGearSheet(request);
+    }
+
+    @Benchmark
+    public Spreadsheet buildSpreadsheet() {
+        return googleSheetsCharacterCreateService.buildSpreadsheet(request);
+    }
+
+    @Benchmark
+    public byte[] serializeSpreadsheet() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(spreadsheet);
+    }
+}
@@ -0,0 +1,100 @@
+package com.wcg.chargen.backend.service.impl.charCreate;
+
+import com.wcg.chargen.backend.benchmark.BenchmarkFixtures;
+import com.wcg.chargen.backend.benchmark.SampleCharacter;
+import com.wcg.chargen.backend.enums.PdfAppearanceMode;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.PdfCharacterCreateStatus;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for filling in a PDF character sheet with each way of generating the field appearances.
+ * These switch the mode of the shared PDF service for the length of each trial, so they're kept apart
+ * from PdfCharacterCreateBenchmark, which always uses the configured mode.
+ *
+ * As there, the fill benchmarks need a fresh document for every invocation, so use per-invocation setup.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PdfAppearanceModeBenchmark {
+    @Param
+    SampleCharacter sampleCharacter;
+    @Param
+    PdfAppearanceMode appearanceMode;
+
+    DefaultPdfCharacterCreateService pdfCharacterCreateService;
+    CharacterCreateRequest request;
+    PdfAppearanceMode originalAppearanceMode;
+
+    @State(Scope.Thread)
+    public static class BlankTemplate {
+        PDDocument document;
+
+        @Setup(Level.Invocation)
+        public void setUp(PdfAppearanceModeBenchmark benchmark) throws IOException {
+            document = benchmark.pdfCharacterCreateService.loadTemplate();
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() throws IOException {
+            document.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PrefilledTemplate {
+        PDDocument document;
+
+        @Setup(Level.Invocation)
+        public void setUp(PdfAppearanceModeBenchmark benchmark) throws IOException {
+            document = benchmark.pdfCharacterCreateService.loadTemplate(benchmark.request);
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() throws IOException {
+            document.close();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var fixtures = BenchmarkFixtures.getInstance();
+        pdfCharacterCreateService = fixtures.getPdfCharacterCreateService();
+        request = fixtures.getRequest(sampleCharacter);
+
+        originalAppearanceMode = pdfCharacterCreateService.appearanceMode;
+        pdfCharacterCreateService.appearanceMode = appearanceMode;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pdfCharacterCreateService.appearanceMode = originalAppearanceMode;
+    }
+
+    @Benchmark
+    public PDDocument fillFields(BlankTemplate blankTemplate) {
+        pdfCharacterCreateService.fillCharacterSheet(blankTemplate.document, request);
+
+        return blankTemplate.document;
+    }
+
+    @Benchmark
+    public PDDocument fillCharacterFields(PrefilledTemplate prefilledTemplate) {
+        pdfCharacterCreateService.fillCharacterFields(prefilledTemplate.document, request);
+
+        return prefilledTemplate.document;
+    }
+
+    @Benchmark
+    public PdfCharacterCreateStatus createCharacter() {
+        return pdfCharacterCreateService.createCharacter(request);
+    }
+}
@@ -0,0 +1,143 @@
+package com.wcg.chargen.backend.service.impl.charCreate;
+
+import com.wcg.chargen.backend.benchmark.BenchmarkFixtures;
+import com.wcg.chargen.backend.benchmark.SampleCharacter;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.PdfCharacterCreateStatus;
+import com.wcg.chargen.backend.util.PdfUtil;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for each stage of rendering a PDF character sheet, and for the whole pipeline.
+ * Loading and filling the template are measured both from the blank template, filling every field,
+ * and from the cached template with the static fields already filled in, which is what a request does.
+ * The whole pipeline is measured for both fillable and flattened sheets.
+ *
+ * The fill and save stages need a fresh document for every invocation, so they use per-invocation
+ * setup.  This is normally discouraged, but each invocation takes milliseconds, so the overhead
+ * of the setup is negligible in comparison.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PdfCharacterCreateBenchmark {
+    @Param
+    SampleCharacter sampleCharacter;
+
+    DefaultPdfCharacterCreateService pdfCharacterCreateService;
+    CharacterCreateRequest request;
+
+    @State(Scope.Thread)
+    public static class BlankTemplate {
+        PDDocument document;
+
+        @Setup(Level.Invocation)
+        public void setUp(PdfCharacterCreateBenchmark benchmark) throws IOException {
+            document = benchmark.pdfCharacterCreateService.loadTemplate();
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() throws IOException {
+            document.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PrefilledTemplate {
+        PDDocument document;
+
+        @Setup(Level.Invocation)
+        public void setUp(PdfCharacterCreateBenchmark benchmark) throws IOException {
+            document = benchmark.pdfCharacterCreateService.loadTemplate(benchmark.request);
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() throws IOException {
+            document.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class FilledTemplate {
+        PDDocument document;
+
+        @Setup(Level.Invocation)
+        public void setUp(PdfCharacterCreateBenchmark benchmark) throws IOException {
+            document = benchmark.pdfCharacterCreateService.loadTemplate();
+            benchmark.pdfCharacterCreateService.fillCharacterSheet(document, benchmark.request);
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() throws IOException {
+            document.close();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var fixtures = BenchmarkFixtures.getInstance();
+        pdfCharacterCreateService = fixtures.getPdfCharacterCreateService();
+        request = fixtures.getRequest(sampleCharacter);
+    }
+
+    @Benchmark
+    public int loadTemplate() throws IOException {
+        try (var document = pdfCharacterCreateService.loadTemplate()) {
+            return document.getNumberOfPages();
+        }
+    }
+
+    @Benchmark
+    public int loadPrefilledTemplate() throws IOException {
+        try (var document = pdfCharacterCreateService.loadTemplate(request)) {
+            return document.getNumberOfPages();
+        }
+    }
+
+    @Benchmark
+    public PDDocument fillFields(BlankTemplate blankTemplate) {
+        pdfCharacterCreateService.fillCharacterSheet(blankTemplate.document, request);
+
+        return blankTemplate.document;
+    }
+
+    @Benchmark
+    public PDDocument fillCharacterFields(PrefilledTemplate prefilledTemplate) {
+        pdfCharacterCreateService.fillCharacterFields(prefilledTemplate.document, request);
+
+        return prefilledTemplate.document;
+    }
+
+    @Benchmark
+    public byte[] save(FilledTemplate filledTemplate) throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+        PdfUtil.save(filledTemplate.document, outputStream, pdfCharacterCreateService.outputProfile);
+
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public PDDocument flatten(FilledTemplate filledTemplate) throws IOException {
+        PdfUtil.flattenForm(filledTemplate.document);
+
+        return filledTemplate.document;
+    }
+
+    @Benchmark
+    public PdfCharacterCreateStatus createCharacter() {
+        return pdfCharacterCreateService.createCharacter(request);
+    }
+
+    @Benchmark
+    public PdfCharacterCreateStatus createFlattenedCharacter() {
+        return pdfCharacterCreateService.createCharacter(request, true);
+    }
+}
@@ -0,0 +1,117 @@
+package com.wcg.chargen.backend.service.impl.charCreate;
+
+import com.wcg.chargen.backend.benchmark.BenchmarkFixtures;
+import com.wcg.chargen.backend.benchmark.SampleCharacter;
+import com.wcg.chargen.backend.enums.PdfOutputProfile;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.PdfCharacterCreateStatus;
+import com.wcg.chargen.backend.testUtil.PostConstructUtil;
+import com.wcg.chargen.backend.util.PdfUtil;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for writing out a PDF character sheet with each output profile.  These switch the profile
+ * of the shared PDF service for the length of each trial, re-running its startup so that the template
+ * is rewritten as the profile says, so they're kept apart from PdfCharacterCreateBenchmark.
+ *
+ * JMH doesn't report the size of the output, so the size of a fillable and a flattened sheet for each
+ * profile and sample character is printed at the start of each trial.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PdfOutputProfileBenchmark {
+    @Param
+    SampleCharacter sampleCharacter;
+    @Param
+    PdfOutputProfile outputProfile;
+
+    DefaultPdfCharacterCreateService pdfCharacterCreateService;
+    CharacterCreateRequest request;
+    PdfOutputProfile originalOutputProfile;
+    byte[] blankTemplateBytes;
+
+    /**
+     * The sheet as a request would save it, from the cached template
+     */
+    @State(Scope.Thread)
+    public static class FilledTemplate {
+        PDDocument document;
+
+        @Setup(Level.Invocation)
+        public void setUp(PdfOutputProfileBenchmark benchmark) throws IOException {
+            document = benchmark.pdfCharacterCreateService.loadTemplate(benchmark.request);
+            benchmark.pdfCharacterCreateService.fillCharacterFields(document, benchmark.request);
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() throws IOException {
+            document.close();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        var fixtures = BenchmarkFixtures.getInstance();
+        pdfCharacterCreateService = fixtures.getPdfCharacterCreateService();
+        request = fixtures.getRequest(sampleCharacter);
+
+        originalOutputProfile = pdfCharacterCreateService.outputProfile;
+        setOutputProfile(outputProfile);
+
+        try (var inputStream = getClass().getClassLoader().getResourceAsStream("charSheet.pdf")) {
+            blankTemplateBytes = inputStream.readAllBytes();
+        }
+
+        var fillableSize = pdfCharacterCreateService.createCharacter(request, false).pdfStream().available();
+        var flattenedSize = pdfCharacterCreateService.createCharacter(request, true).pdfStream().available();
+        System.out.printf("%n%s with %s profile: %d bytes fillable, %d bytes flattened%n", sampleCharacter,
+                outputProfile, fillableSize, flattenedSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        setOutputProfile(originalOutputProfile);
+    }
+
+    private void setOutputProfile(PdfOutputProfile outputProfile) throws Exception {
+        pdfCharacterCreateService.outputProfile = outputProfile;
+        PostConstructUtil.invokeMethod(DefaultPdfCharacterCreateService.class, pdfCharacterCreateService);
+    }
+
+    /**
+     * What the service does to the template on startup, which is nothing for profiles that don't rewrite it
+     */
+    @Benchmark
+    public byte[] optimizeTemplate() throws IOException {
+        return outputProfile.isOptimizeTemplate() ?
+                PdfUtil.optimize(blankTemplateBytes, outputProfile) :
+                blankTemplateBytes;
+    }
+
+    @Benchmark
+    public byte[] save(FilledTemplate filledTemplate) throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+        PdfUtil.save(filledTemplate.document, outputStream, outputProfile);
+
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public PdfCharacterCreateStatus createCharacter() {
+        return pdfCharacterCreateService.createCharacter(request);
+    }
+
+    @Benchmark
+    public PdfCharacterCreateStatus createFlattenedCharacter() {
+        return pdfCharacterCreateService.createCharacter(request, true);
+    }
+}
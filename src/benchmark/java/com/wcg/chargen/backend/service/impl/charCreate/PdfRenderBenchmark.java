@@ -0,0 +1,50 @@
+package com.wcg.chargen.backend.service.impl.charCreate;
+
+import com.wcg.chargen.backend.benchmark.BenchmarkFixtures;
+import com.wcg.chargen.backend.benchmark.SampleCharacter;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for opening and drawing the first page of a finished character sheet, fillable or flattened.
+ * PDFBox is only a stand-in for the PDF viewers in browsers, but a fillable sheet makes any viewer parse
+ * the form and draw each widget, which a flattened one doesn't.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class PdfRenderBenchmark {
+    private static final float DPI = 72;
+
+    @Param
+    SampleCharacter sampleCharacter;
+    @Param({"false", "true"})
+    boolean flatten;
+
+    byte[] pdfBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        var fixtures = BenchmarkFixtures.getInstance();
+        var status = fixtures.getPdfCharacterCreateService()
+                .createCharacter(fixtures.getRequest(sampleCharacter), flatten);
+        try (var pdfStream = status.pdfStream()) {
+            pdfBytes = pdfStream.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public BufferedImage renderFirstPage() throws IOException {
+        try (var document = Loader.loadPDF(pdfBytes)) {
+            return new PDFRenderer(document).renderImageWithDPI(0, DPI);
+        }
+    }
+}
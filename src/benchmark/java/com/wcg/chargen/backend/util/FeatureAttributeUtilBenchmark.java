@@ -0,0 +1,58 @@
+package com.wcg.chargen.backend.util;
+
+import com.wcg.chargen.backend.benchmark.BenchmarkFixtures;
+import com.wcg.chargen.backend.benchmark.SampleCharacter;
+import com.wcg.chargen.backend.enums.CharType;
+import com.wcg.chargen.backend.enums.FeatureAttributeType;
+import com.wcg.chargen.backend.model.Features;
+import com.wcg.chargen.backend.model.FeaturesRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for feature attribute lookups, using the level 7 skald since it has the most features.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeatureAttributeUtilBenchmark {
+    Features features;
+    FeaturesRequest featuresRequest;
+    String advFeatureName;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var fixtures = BenchmarkFixtures.getInstance();
+        features = fixtures.getCharClassesService().getCharClassByType(CharType.SKALD).features();
+        featuresRequest = fixtures.getRequest(SampleCharacter.LEVEL_7_SKALD).features();
+
+        advFeatureName = FeatureAttributeUtil.getFeatureNameFromRequestWithAttributeType(features,
+                featuresRequest, FeatureAttributeType.ADV, FeatureAttributeUtil.Tier.I);
+        if (advFeatureName == null) {
+            throw new IllegalStateException("Expected sample skald to have a Tier I feature with ADV");
+        }
+    }
+
+    @Benchmark
+    public String getFeatureNameWithAttributeType() {
+        return FeatureAttributeUtil.getFeatureNameFromRequestWithAttributeType(features, featuresRequest,
+                FeatureAttributeType.ADV, FeatureAttributeUtil.Tier.I);
+    }
+
+    @Benchmark
+    public String getFeatureNameWithAttributeTypeWithoutMatch() {
+        // No skald feature gives bonus HP, so every feature in the request has to be checked
+        return FeatureAttributeUtil.getFeatureNameFromRequestWithAttributeType(features, featuresRequest,
+                FeatureAttributeType.BONUS_HP, FeatureAttributeUtil.Tier.II);
+    }
+
+    @Benchmark
+    public String getAttributeModifierForFeature() {
+        return FeatureAttributeUtil.getAttributeModifierForFeatureAndAttributeType(features.tier1(),
+                advFeatureName, FeatureAttributeType.ADV);
+    }
+}
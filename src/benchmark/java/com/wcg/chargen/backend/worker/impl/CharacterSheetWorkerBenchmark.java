@@ -0,0 +1,130 @@
+package com.wcg.chargen.backend.worker.impl;
+
+import com.wcg.chargen.backend.benchmark.BenchmarkFixtures;
+import com.wcg.chargen.backend.benchmark.SampleCharacter;
+import com.wcg.chargen.backend.enums.FeatureAttributeType;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.Skill;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the character sheet worker methods, which are called many times for every
+ * character sheet that's generated.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CharacterSheetWorkerBenchmark {
+    // The sample skald has a feature giving ADV on this skill, but none of the other characters do
+    private static final String ADV_MODIFIER = "Perform";
+    private static final String NO_ADV_MODIFIER = "Stealth";
+
+    @Param
+    SampleCharacter sampleCharacter;
+
+    DefaultCharacterSheetWorker characterSheetWorker;
+    CharacterCreateRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var fixtures = BenchmarkFixtures.getInstance();
+        characterSheetWorker = fixtures.getCharacterSheetWorker();
+        request = fixtures.getRequest(sampleCharacter);
+    }
+
+    @Benchmark
+    public String generateName() {
+        return characterSheetWorker.generateName(request);
+    }
+
+    @Benchmark
+    public int getFortunePoints() {
+        return characterSheetWorker.getFortunePoints(request);
+    }
+
+    @Benchmark
+    public int getBaseEvasion() {
+        return characterSheetWorker.getBaseEvasion(request);
+    }
+
+    @Benchmark
+    public int getEvasionBonus() {
+        return characterSheetWorker.getEvasionBonus(request);
+    }
+
+    @Benchmark
+    public FeatureAttributeType getAdvOrDadvByModifier() {
+        return characterSheetWorker.getAdvOrDadvByModifier(request, ADV_MODIFIER);
+    }
+
+    @Benchmark
+    public FeatureAttributeType getAdvOrDadvByModifierWithoutMatch() {
+        return characterSheetWorker.getAdvOrDadvByModifier(request, NO_ADV_MODIFIER);
+    }
+
+    @Benchmark
+    public int getHitPoints() {
+        return characterSheetWorker.getHitPoints(request);
+    }
+
+    @Benchmark
+    public String getWeaponName() {
+        return characterSheetWorker.getWeaponName(request, 0);
+    }
+
+    @Benchmark
+    public String getWeaponType() {
+        return characterSheetWorker.getWeaponType(request, 0);
+    }
+
+    @Benchmark
+    public String getWeaponDamage() {
+        return characterSheetWorker.getWeaponDamage(request, 0);
+    }
+
+    @Benchmark
+    public String getArmorName() {
+        return characterSheetWorker.getArmorName(request, 0);
+    }
+
+    @Benchmark
+    public String getArmorType() {
+        return characterSheetWorker.getArmorType(request, 0);
+    }
+
+    @Benchmark
+    public String getArmorDa() {
+        return characterSheetWorker.getArmorDa(request, 0);
+    }
+
+    @Benchmark
+    public List<String> getEquipmentList() {
+        return characterSheetWorker.getEquipmentList(request);
+    }
+
+    @Benchmark
+    public int getCopper() {
+        return characterSheetWorker.getCopper(request);
+    }
+
+    @Benchmark
+    public int getSilver() {
+        return characterSheetWorker.getSilver(request);
+    }
+
+    @Benchmark
+    public boolean hasMagic() {
+        return characterSheetWorker.hasMagic(request);
+    }
+
+    @Benchmark
+    public List<Skill> getSkillsList() {
+        return characterSheetWorker.getSkillsList(request);
+    }
+}
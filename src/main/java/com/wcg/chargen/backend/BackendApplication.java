@@ -1,9 +1,12 @@
 package com.wcg.chargen.backend;
 
+import com.wcg.chargen.backend.aot.BackendRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(BackendRuntimeHints.class)
 public class BackendApplication {
 
 	public static void main(String[] args) {
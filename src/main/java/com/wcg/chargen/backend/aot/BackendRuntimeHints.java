@@ -0,0 +1,71 @@
+package com.wcg.chargen.backend.aot;
+
+import com.google.api.client.json.GenericJson;
+import com.google.api.services.sheets.v4.model.Spreadsheet;
+import com.wcg.chargen.backend.model.*;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Hints for the parts of the application that a native image can't discover on its own,
+ * because they are only reached through reflection or by resource name.
+ *
+ * Spring already registers the request and response types of the controllers, so this covers:
+ * - The records that the YAML game data is deserialized into
+ * - The YAML files and the PDF character sheet template
+ * - The font metrics, glyph lists and color profiles that PDFBox loads from its own JARs
+ * - The Google Sheets model classes, which are serialized through reflection on their fields
+ */
+public class BackendRuntimeHints implements RuntimeHintsRegistrar {
+    private static final List<Class<?>> YAML_MODEL_CLASSES = List.of(CharClass.class, Commoner.class,
+            Professions.class, Skills.class, Species.class);
+    private static final List<String> RESOURCE_PATTERNS = List.of(
+            "yaml/*.yml",
+            "yaml/*/*.yml",
+            "charSheet.pdf",
+            "org/apache/pdfbox/resources/**",
+            "org/apache/fontbox/cmap/**",
+            "org/apache/fontbox/unicode/**");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        var bindingRegistrar = new BindingReflectionHintsRegistrar();
+        // This also covers the types of the records' components, e.g. the features of a class
+        for (var modelClass : YAML_MODEL_CLASSES) {
+            bindingRegistrar.registerReflectionHints(hints.reflection(), modelClass);
+        }
+        // Read from the Google Sheets API response by the REST client, rather than a controller
+        bindingRegistrar.registerReflectionHints(hints.reflection(), GoogleSheetsApiResponse.class);
+
+        RESOURCE_PATTERNS.forEach(hints.resources()::registerPattern);
+
+        registerGoogleSheetsModelHints(hints, classLoader);
+    }
+
+    /**
+     * Register every class in the Google Sheets model package.
+     *
+     * Google's generated classes are maps whose entries are found by reflecting over their fields,
+     * and a spreadsheet can nest most of the package, so it's simpler to register all of them
+     * than to work out which ones are reachable.
+     */
+    private void registerGoogleSheetsModelHints(RuntimeHints hints, ClassLoader classLoader) {
+        var scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+        scanner.addIncludeFilter(new AssignableTypeFilter(GenericJson.class));
+
+        for (var beanDefinition : scanner.findCandidateComponents(Spreadsheet.class.getPackageName())) {
+            var modelClass = ClassUtils.resolveClassName(beanDefinition.getBeanClassName(), classLoader);
+            hints.reflection().registerType(modelClass, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.wcg.chargen.backend.controller;
 
+import com.wcg.chargen.backend.exception.IdempotencyKeyReusedException;
+import com.wcg.chargen.backend.exception.JobQueueFullException;
 import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.CharacterCreateStatus;
+import com.wcg.chargen.backend.model.JobStatus;
+import com.wcg.chargen.backend.model.PartyCreateRequest;
 import com.wcg.chargen.backend.service.GoogleSheetsCharacterCreateService;
+import com.wcg.chargen.backend.service.GoogleSheetsJobService;
+import com.wcg.chargen.backend.service.IdempotencyService;
 import com.wcg.chargen.backend.service.PdfCharacterCreateService;
-import jakarta.validation.Valid;
+import com.wcg.chargen.backend.util.RequestValidationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,11 +20,19 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("api/v1/createcharacter")
@@ -26,14 +41,33 @@ public class CharacterCreateController {
     GoogleSheetsCharacterCreateService googleSheetsCharacterCreateService;
     @Autowired
     PdfCharacterCreateService pdfCharacterCreateService;
+    @Autowired
+    GoogleSheetsJobService googleSheetsJobService;
+    @Autowired
+    IdempotencyService idempotencyService;
+
+    private static final long JOB_EVENTS_TIMEOUT_MILLIS = Duration.ofMinutes(5).toMillis();
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String GOOGLE_SHEETS_SCOPE = "googlesheets:";
+    private static final String PDF_SCOPE = "pdf";
+    private static final String PDF_PRINT_SCOPE = "pdf:print";
+
+    private record PdfResult(byte[] pdfBytes, String fileName, String errMsg) {}
 
     private final Logger logger = LoggerFactory.getLogger(CharacterCreateController.class);
 
     @PostMapping("googlesheets")
     public ResponseEntity<String> createCharacterGoogle(@RequestHeader(name = HttpHeaders.AUTHORIZATION) String bearerToken,
-                                          @Valid @RequestBody CharacterCreateRequest characterCreateRequest) {
+                                          @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                          @RequestBody CharacterCreateRequest characterCreateRequest) {
+        checkRequiredFields(RequestValidationUtil.getMissingFieldMessage(characterCreateRequest));
         try {
-            var status = googleSheetsCharacterCreateService.createCharacter(characterCreateRequest, bearerToken);
+            // Scope keys to the caller so that one user's key can never return another user's outcome
+            var status = idempotencyService.execute(GOOGLE_SHEETS_SCOPE + hashBearerToken(bearerToken),
+                    idempotencyKey,
+                    characterCreateRequest,
+                    () -> googleSheetsCharacterCreateService.createCharacter(characterCreateRequest, bearerToken),
+                    CharacterCreateStatus::isSuccess);
             if (status.isSuccess()) {
                 return new ResponseEntity<>("Success!", HttpStatus.OK);
             }
@@ -41,42 +75,168 @@ public class CharacterCreateController {
                 return new ResponseEntity<>(status.message(), HttpStatus.INTERNAL_SERVER_ERROR);
             }
         }
+        catch (IdempotencyKeyReusedException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+        }
         catch (Exception e) {
             logger.error("Exception thrown when creating character", e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    @PostMapping("googlesheets/party")
+    public ResponseEntity<String> createPartyGoogle(@RequestHeader(name = HttpHeaders.AUTHORIZATION) String bearerToken,
+                                                    @RequestBody PartyCreateRequest partyCreateRequest) {
+        checkRequiredFields(RequestValidationUtil.getMissingFieldMessage(partyCreateRequest));
+        try {
+            var status = googleSheetsCharacterCreateService.createParty(partyCreateRequest, bearerToken);
+            if (status.isSuccess()) {
+                return new ResponseEntity<>("Success!", HttpStatus.OK);
+            }
+            else {
+                return new ResponseEntity<>(status.message(), HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+        }
+        catch (Exception e) {
+            logger.error("Exception thrown when creating party", e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PostMapping("googlesheets/jobs")
+    public ResponseEntity<JobStatus> createCharacterGoogleJob(@RequestHeader(name = HttpHeaders.AUTHORIZATION) String bearerToken,
+                                                              @RequestBody CharacterCreateRequest characterCreateRequest) {
+        checkRequiredFields(RequestValidationUtil.getMissingFieldMessage(characterCreateRequest));
+        try {
+            var jobStatus = googleSheetsJobService.submit(characterCreateRequest, bearerToken);
+            var location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/api/v1/createcharacter/jobs/{jobId}")
+                    .buildAndExpand(jobStatus.jobId())
+                    .toUri();
+
+            return ResponseEntity.accepted()
+                    .location(location)
+                    .body(jobStatus);
+        }
+        catch (JobQueueFullException e) {
+            logger.warn("Rejected character creation job: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        catch (Exception e) {
+            logger.error("Exception thrown when submitting character creation job", e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @GetMapping("jobs/{jobId}")
+    public ResponseEntity<JobStatus> getJobStatus(@PathVariable String jobId) {
+        var jobStatus = googleSheetsJobService.getStatus(jobId);
+        if (jobStatus == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        return ResponseEntity.ok(jobStatus);
+    }
+
+    @GetMapping(path = "jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> getJobEvents(@PathVariable String jobId) {
+        var emitter = new SseEmitter(JOB_EVENTS_TIMEOUT_MILLIS);
+        Consumer<JobStatus> subscriber = jobStatus -> {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(jobStatus.stage().name())
+                        .data(jobStatus, MediaType.APPLICATION_JSON));
+                if (jobStatus.stage().isTerminal()) {
+                    emitter.complete();
+                }
+            }
+            catch (IOException e) {
+                // Client went away; rethrow so the job service drops this subscriber
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        if (!googleSheetsJobService.subscribe(jobId, subscriber)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        Runnable unsubscribe = () -> googleSheetsJobService.unsubscribe(jobId, subscriber);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        return ResponseEntity.ok(emitter);
+    }
+
     @PostMapping("pdf")
     public ResponseEntity<InputStreamResource> createCharacterPdf
-            (@Valid @RequestBody CharacterCreateRequest characterCreateRequest) throws IOException {
-        InputStream pdfStream = null;
+            (@RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+             @RequestParam(name = "flatten", defaultValue = "false") boolean flatten,
+             @RequestBody CharacterCreateRequest characterCreateRequest) {
+        checkRequiredFields(RequestValidationUtil.getMissingFieldMessage(characterCreateRequest));
         try {
-            var status = pdfCharacterCreateService.createCharacter(characterCreateRequest);
-            if (status.pdfStream() != null) {
-                pdfStream = status.pdfStream();
-                var resource = new InputStreamResource(pdfStream);
+            // The PDF is held as bytes so that repeated requests can each stream their own copy.
+            // Flattened and fillable sheets are different outcomes, so their keys are kept apart.
+            var pdfResult = idempotencyService.execute(flatten ? PDF_PRINT_SCOPE : PDF_SCOPE,
+                    idempotencyKey,
+                    characterCreateRequest,
+                    () -> createPdf(characterCreateRequest, flatten),
+                    result -> result.pdfBytes() != null);
+            if (pdfResult.pdfBytes() != null) {
+                var resource = new InputStreamResource(new ByteArrayInputStream(pdfResult.pdfBytes()));
                 var headers = new HttpHeaders();
-                headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + status.fileName());
+                headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + pdfResult.fileName());
                 return ResponseEntity.ok()
                         .headers(headers)
                         .contentType(MediaType.APPLICATION_PDF)
                         .body(resource);
             }
             else {
-                var errorMsgInputStream = new ByteArrayInputStream(status.errMsg().getBytes(StandardCharsets.UTF_8));
-                var errorResource = new InputStreamResource(errorMsgInputStream);
-                return new ResponseEntity<>(errorResource, HttpStatus.INTERNAL_SERVER_ERROR);
+                return new ResponseEntity<>(getErrorResource(pdfResult.errMsg()), HttpStatus.INTERNAL_SERVER_ERROR);
             }
         }
+        catch (IdempotencyKeyReusedException e) {
+            return new ResponseEntity<>(getErrorResource(e.getMessage()), HttpStatus.UNPROCESSABLE_ENTITY);
+        }
         catch (Exception e) {
             logger.error("Exception thrown when creating PDF character sheet", e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
-        finally {
-            if(pdfStream != null) {
-                pdfStream.close();
-            }
+    }
+
+    private PdfResult createPdf(CharacterCreateRequest characterCreateRequest, boolean flatten) {
+        var status = pdfCharacterCreateService.createCharacter(characterCreateRequest, flatten);
+        if (status.pdfStream() == null) {
+            return new PdfResult(null, null, status.errMsg());
+        }
+
+        try (var pdfStream = status.pdfStream()) {
+            return new PdfResult(pdfStream.readAllBytes(), status.fileName(), null);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void checkRequiredFields(String missingFieldMessage) {
+        // Rejected the same way as a request that can't be deserialized
+        if (missingFieldMessage != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, missingFieldMessage);
+        }
+    }
+
+    private static InputStreamResource getErrorResource(String errMsg) {
+        return new InputStreamResource(new ByteArrayInputStream(errMsg.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String hashBearerToken(String bearerToken) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(bearerToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        }
+        catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
         }
     }
 }
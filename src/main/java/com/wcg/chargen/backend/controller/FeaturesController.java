@@ -3,6 +3,7 @@ package com.wcg.chargen.backend.controller;
 import com.wcg.chargen.backend.constants.LevelConstants;
 import com.wcg.chargen.backend.enums.CharType;
 import com.wcg.chargen.backend.service.FeaturesService;
+import com.wcg.chargen.backend.util.ServerTimingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,7 +37,8 @@ public class FeaturesController {
             // Normalize input string to uppercase to match enum definition
             var charType = CharType.valueOf(charClass.toUpperCase());
 
-            var featureResponse = featuresService.getFeatures(charType, level);
+            var featureResponse = ServerTimingUtil.time("resolve",
+                    () -> featuresService.getFeatures(charType, level));
 
             return new ResponseEntity<>(featureResponse, HttpStatus.OK);
         }
@@ -2,6 +2,7 @@ package com.wcg.chargen.backend.controller;
 
 import com.wcg.chargen.backend.model.Professions;
 import com.wcg.chargen.backend.service.ProfessionsService;
+import com.wcg.chargen.backend.util.ServerTimingUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,7 +19,7 @@ public class ProfessionsController {
     @GetMapping("")
     public ResponseEntity<Professions> getProfessions() {
         try {
-            var professionList = professionService.getAllProfessions();
+            var professionList = ServerTimingUtil.time("resolve", professionService::getAllProfessions);
 
             return new ResponseEntity<>(professionList, HttpStatus.OK);
         }
@@ -30,7 +31,7 @@ public class ProfessionsController {
     @GetMapping("generate")
     public ResponseEntity<Professions> generateRandomProfessions() {
         try {
-            var professionList = professionService.generateRandomProfessions();
+            var professionList = ServerTimingUtil.time("resolve", professionService::generateRandomProfessions);
 
             return new ResponseEntity<>(professionList, HttpStatus.OK);
         }
@@ -3,6 +3,7 @@ package com.wcg.chargen.backend.controller;
 import com.wcg.chargen.backend.enums.CharType;
 import com.wcg.chargen.backend.enums.SpeciesType;
 import com.wcg.chargen.backend.service.impl.DefaultSkillsService;
+import com.wcg.chargen.backend.util.ServerTimingUtil;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,7 +30,8 @@ public class SkillsController {
             var charType = CharType.valueOf(charClass.toUpperCase());
             var speciesEnum = SpeciesType.valueOf(species.toUpperCase());
 
-            var skillsResponse = skillsService.getSkills(charType, speciesEnum);
+            var skillsResponse = ServerTimingUtil.time("resolve",
+                    () -> skillsService.getSkills(charType, speciesEnum));
 
             return new ResponseEntity<>(skillsResponse, HttpStatus.OK);
         }
@@ -0,0 +1,52 @@
+package com.wcg.chargen.backend.enums;
+
+import com.wcg.chargen.backend.jfr.*;
+
+import java.util.function.Supplier;
+
+/**
+ * Stages of character creation that are timed separately.
+ * Not every stage applies to every output type.
+ */
+public enum CharacterCreateStage {
+    VALIDATE("validate", ValidationEvent::new),
+    LOAD_TEMPLATE("load", PdfTemplateLoadEvent::new),
+    FILL_FIELDS("render", PdfFillFieldsEvent::new),
+    SAVE("serialize", PdfSaveEvent::new),
+    BUILD("build", SheetsBuildEvent::new),
+    // The API service reports serialization and the call to Google separately in the Server-Timing header
+    UPLOAD(null, SheetsApiCallEvent::new);
+
+    private final String serverTimingName;
+    private final Supplier<CharacterCreateEvent> eventSupplier;
+
+    CharacterCreateStage(String serverTimingName, Supplier<CharacterCreateEvent> eventSupplier) {
+        this.serverTimingName = serverTimingName;
+        this.eventSupplier = eventSupplier;
+    }
+
+    /**
+     *
+     * @return Name of the stage in the Server-Timing header, or null if it isn't reported there
+     */
+    public String getServerTimingName() {
+        return serverTimingName;
+    }
+
+    /**
+     *
+     * @return New, unstarted Flight Recorder event for this stage
+     */
+    public CharacterCreateEvent createEvent() {
+        return eventSupplier.get();
+    }
+
+    /**
+     *
+     * @return Normalized representation of enum in lowercase
+     */
+    @Override
+    public String toString() {
+        return name().toLowerCase();
+    }
+}
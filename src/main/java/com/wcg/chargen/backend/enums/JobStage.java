@@ -0,0 +1,15 @@
+package com.wcg.chargen.backend.enums;
+
+public enum JobStage {
+    QUEUED,
+    VALIDATED,
+    BUILT,
+    UPLOADING,
+    DONE,
+    FAILED;
+
+    public boolean isTerminal() {
+        return this == JobStage.DONE ||
+                this == JobStage.FAILED;
+    }
+}
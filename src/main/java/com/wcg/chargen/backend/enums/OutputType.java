@@ -0,0 +1,19 @@
+package com.wcg.chargen.backend.enums;
+
+public enum OutputType {
+    PDF,
+    // PDF with the form flattened into static page content
+    PDF_PRINT,
+    GOOGLE_SHEETS,
+    // A single Google Sheet holding every character in a party
+    GOOGLE_SHEETS_PARTY;
+
+    /**
+     *
+     * @return Normalized representation of enum in lowercase
+     */
+    @Override
+    public String toString() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,22 @@
+package com.wcg.chargen.backend.enums;
+
+/**
+ * How the appearances of PDF form fields, i.e. the streams that viewers draw for them, are generated
+ * when the fields are filled in.
+ */
+public enum PdfAppearanceMode {
+    /**
+     * Generate each field's appearance as soon as its value is set, looking the field up by name each time
+     */
+    IMMEDIATE,
+    /**
+     * Look up all the fields once and set their values, then generate the appearances of the changed
+     * fields in a single pass at the end
+     */
+    DEFERRED,
+    /**
+     * Set the field values without generating any appearances, and set the form's NeedAppearances flag
+     * so the viewer generates them instead.  Viewers that ignore the flag will show the fields as blank.
+     */
+    NEED_APPEARANCES
+}
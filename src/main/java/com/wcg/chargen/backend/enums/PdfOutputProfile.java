@@ -0,0 +1,83 @@
+package com.wcg.chargen.backend.enums;
+
+import org.apache.pdfbox.pdfwriter.compress.CompressParameters;
+
+import java.util.zip.Deflater;
+
+/**
+ * How PDF character sheets are written out, trading the size of the file against the CPU time
+ * taken to write it.
+ *
+ * PDFBox always writes a cross-reference stream when it writes object streams, and a cross-reference
+ * table when it doesn't, so both are controlled by the object stream size.
+ */
+public enum PdfOutputProfile {
+    /**
+     * Write every object on its own with a cross-reference table, and leave uncompressed streams
+     * as they are.  This is the quickest to write, but gives the largest file.
+     */
+    FAST(0, Deflater.NO_COMPRESSION, false, false),
+    /**
+     * PDFBox's defaults: object streams and a cross-reference stream, with uncompressed streams,
+     * such as the field appearances PDFBox generates, left as they are
+     */
+    STANDARD(CompressParameters.DEFAULT_OBJECT_STREAM_SIZE, Deflater.NO_COMPRESSION, false, false),
+    /**
+     * As STANDARD, but with uncompressed streams compressed, apart from the XMP metadata, which is left
+     * as plain text so that tools which scan files for it can find it.  The template is also rewritten once
+     * on startup, dropping the objects left over from its earlier revisions and re-compressing its streams.
+     */
+    COMPACT(CompressParameters.DEFAULT_OBJECT_STREAM_SIZE, Deflater.DEFAULT_COMPRESSION, true, false),
+    /**
+     * As COMPACT, but at the highest compression level, with the XMP metadata compressed as well,
+     * and with every object that can go in an object stream put in the same one
+     */
+    SMALLEST(1000, Deflater.BEST_COMPRESSION, true, true);
+
+    private final int objectStreamSize;
+    private final int deflateLevel;
+    private final boolean optimizeTemplate;
+    private final boolean compressMetadata;
+
+    PdfOutputProfile(int objectStreamSize, int deflateLevel, boolean optimizeTemplate, boolean compressMetadata) {
+        this.objectStreamSize = objectStreamSize;
+        this.deflateLevel = deflateLevel;
+        this.optimizeTemplate = optimizeTemplate;
+        this.compressMetadata = compressMetadata;
+    }
+
+    /**
+     *
+     * @return Parameters to pass to PDFBox when saving a document
+     */
+    public CompressParameters getCompressParameters() {
+        return (objectStreamSize > 0) ?
+                new CompressParameters(objectStreamSize) :
+                CompressParameters.NO_COMPRESSION;
+    }
+
+    /**
+     *
+     * @return Flate compression level for the streams compressed before saving, or
+     * Deflater.NO_COMPRESSION to leave uncompressed streams as they are
+     */
+    public int getDeflateLevel() {
+        return deflateLevel;
+    }
+
+    /**
+     *
+     * @return Whether to rewrite the template with this profile before using it
+     */
+    public boolean isOptimizeTemplate() {
+        return optimizeTemplate;
+    }
+
+    /**
+     *
+     * @return Whether to compress XMP metadata streams along with the others
+     */
+    public boolean isCompressMetadata() {
+        return compressMetadata;
+    }
+}
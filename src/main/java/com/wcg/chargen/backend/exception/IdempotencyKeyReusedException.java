@@ -0,0 +1,11 @@
+package com.wcg.chargen.backend.exception;
+
+/**
+ * Thrown when an idempotency key is sent again with a different request than the one
+ * it was first used with.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super("Idempotency key " + idempotencyKey + " was already used with a different request");
+    }
+}
@@ -0,0 +1,11 @@
+package com.wcg.chargen.backend.exception;
+
+/**
+ * Thrown when a background job can't be accepted because the maximum number of jobs
+ * are already waiting to run.
+ */
+public class JobQueueFullException extends RuntimeException {
+    public JobQueueFullException(int maxQueuedJobs) {
+        super("There are already " + maxQueuedJobs + " jobs waiting to run");
+    }
+}
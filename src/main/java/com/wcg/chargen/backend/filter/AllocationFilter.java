@@ -0,0 +1,96 @@
+package com.wcg.chargen.backend.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Records how many bytes each API request allocates, so that allocation regressions
+ * (and so GC pressure) can be tracked per endpoint in production.
+ *
+ * Allocation is measured on the thread that handles the request, so work handed off to other
+ * threads (e.g. the concurrent sheet building for Google Sheets, or background jobs) isn't counted,
+ * and neither are requests that continue asynchronously.  Requests that allocate more than the
+ * configured threshold are also logged; a threshold of zero turns the logging off.
+ */
+@Component
+@ConditionalOnProperty(name = "wcg.allocation-tracking.enabled", havingValue = "true")
+public class AllocationFilter extends OncePerRequestFilter {
+    private static final String ALLOCATION_METRIC = "chargen.http.server.allocation";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    private final MeterRegistry meterRegistry;
+    private final long logThresholdBytes;
+    private final Logger logger = LoggerFactory.getLogger(AllocationFilter.class);
+
+    @Autowired
+    public AllocationFilter(ObjectProvider<MeterRegistry> meterRegistryProvider,
+                            @Value("${wcg.allocation-tracking.log-threshold}") DataSize logThreshold) {
+        // Test slices such as @WebMvcTest have no registry of their own, but the global one is always there
+        this.meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        this.logThresholdBytes = logThreshold.toBytes();
+
+        // HotSpot always provides this extension of the standard interface
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !threadMXBean.isThreadAllocatedMemorySupported() ||
+                !threadMXBean.isThreadAllocatedMemoryEnabled() ||
+                !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var startBytes = threadMXBean.getCurrentThreadAllocatedBytes();
+        try {
+            filterChain.doFilter(request, response);
+        }
+        finally {
+            var endBytes = threadMXBean.getCurrentThreadAllocatedBytes();
+            // Allocation isn't available for virtual threads, which report -1
+            if (startBytes >= 0 && endBytes >= 0 && !request.isAsyncStarted()) {
+                record(request, response, endBytes - startBytes);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, long allocatedBytes) {
+        // Use the matched route rather than the raw path, so that path variables don't create new meters
+        var uriPattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        var uri = (uriPattern != null) ? uriPattern.toString() : UNKNOWN_URI;
+
+        DistributionSummary.builder(ALLOCATION_METRIC)
+                .description("Bytes allocated by the thread handling each API request")
+                .baseUnit("bytes")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(allocatedBytes);
+
+        if (logThresholdBytes > 0 && allocatedBytes > logThresholdBytes) {
+            logger.info("{} {} returned {} after allocating {} bytes, which exceeds threshold of {} bytes",
+                    request.getMethod(), uri, response.getStatus(), allocatedBytes, logThresholdBytes);
+        }
+    }
+}
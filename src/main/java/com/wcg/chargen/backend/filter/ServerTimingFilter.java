@@ -0,0 +1,61 @@
+package com.wcg.chargen.backend.filter;
+
+import com.wcg.chargen.backend.util.ServerTimingUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Collects the durations for a Server-Timing header on character creation and reference data responses,
+ * so that the breakdown of a slow request can be seen in the browser's developer tools.
+ *
+ * The stages themselves are recorded through ServerTimingUtil by the code that runs them, and the
+ * header is added by ServerTimingResponseBodyAdvice just before the body is written, with a "total"
+ * entry of its own.  The body isn't buffered, so the time taken to write it isn't included.
+ */
+@Component
+@ConditionalOnProperty(name = "wcg.server-timing.enabled", havingValue = "true")
+public class ServerTimingFilter extends OncePerRequestFilter {
+    /**
+     * Request attribute holding the System.nanoTime() value when the filter started timing the request
+     */
+    public static final String START_NANOS_ATTRIBUTE = ServerTimingFilter.class.getName() + ".startNanos";
+
+    private static final Set<String> PATH_SET = Set.of(
+            "/api/v1/skills",
+            "/api/v1/features",
+            "/api/v1/professions",
+            "/api/v1/professions/generate",
+            "/api/v1/createcharacter/pdf",
+            "/api/v1/createcharacter/googlesheets",
+            "/api/v1/createcharacter/googlesheets/party");
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+
+        return !PATH_SET.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        request.setAttribute(START_NANOS_ATTRIBUTE, System.nanoTime());
+        ServerTimingUtil.start();
+        try {
+            filterChain.doFilter(request, response);
+        }
+        finally {
+            // Normally the header has already been added by this point, but if the request failed before
+            // a body was written, the durations still have to be cleared for the next request on this thread
+            ServerTimingUtil.finish();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.wcg.chargen.backend.filter;
+
+import com.wcg.chargen.backend.util.ServerTimingUtil;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the Server-Timing header for requests timed by ServerTimingFilter.
+ *
+ * This runs after the controller has returned but before the message converter writes the body,
+ * so the header can be sent with the response without the body having to be held back.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "wcg.server-timing.enabled", havingValue = "true")
+public class ServerTimingResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest &&
+                servletRequest.getServletRequest().getAttribute(ServerTimingFilter.START_NANOS_ATTRIBUTE)
+                        instanceof Long startNanos) {
+            ServerTimingUtil.record("total", System.nanoTime() - startNanos);
+            response.getHeaders().set(SERVER_TIMING_HEADER, ServerTimingUtil.finish());
+        }
+
+        return body;
+    }
+}
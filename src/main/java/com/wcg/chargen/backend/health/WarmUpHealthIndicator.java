@@ -0,0 +1,33 @@
+package com.wcg.chargen.backend.health;
+
+import com.wcg.chargen.backend.service.WarmUpService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports OUT_OF_SERVICE until the JIT warm-up has finished.  This is part of the readiness group,
+ * so /actuator/health/readiness doesn't report the application as ready before then.
+ */
+@Component
+public class WarmUpHealthIndicator implements HealthIndicator {
+    private final WarmUpService warmUpService;
+
+    @Autowired
+    public WarmUpHealthIndicator(WarmUpService warmUpService) {
+        this.warmUpService = warmUpService;
+    }
+
+    @Override
+    public Health health() {
+        var status = warmUpService.getStatus();
+        var builder = status.isComplete() ? Health.up() : Health.outOfService();
+
+        return builder.withDetail("roundsCompleted", status.roundsCompleted())
+                .withDetail("charactersRendered", status.charactersRendered())
+                .withDetail("elapsedMillis", status.elapsedMillis())
+                .withDetail("timedOut", status.isTimedOut())
+                .build();
+    }
+}
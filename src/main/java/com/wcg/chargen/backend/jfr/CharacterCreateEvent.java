@@ -0,0 +1,64 @@
+package com.wcg.chargen.backend.jfr;
+
+import com.wcg.chargen.backend.enums.OutputType;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base class for the JDK Flight Recorder events emitted for each stage of character creation.
+ * Every event records which character was being created, so that CPU and allocation samples
+ * taken during the event can be attributed to a class, species and level.
+ *
+ * Events are only populated when they are going to be committed, so they cost next to nothing
+ * when no recording is running.
+ */
+@Category({"WCG Character Generator", "Character Creation"})
+@StackTrace(false)
+public abstract class CharacterCreateEvent extends Event {
+    @Label("Output Type")
+    String outputType;
+
+    @Label("Character Class")
+    String characterClass;
+
+    @Label("Species")
+    String species;
+
+    @Label("Level")
+    int level;
+
+    @Label("Outcome")
+    String outcome;
+
+    public void setCharacter(OutputType outputType, CharacterCreateRequest request, String outcome) {
+        this.outputType = outputType.toString();
+        this.outcome = outcome;
+
+        if (request != null) {
+            if (request.isCommoner()) {
+                characterClass = "commoner";
+            }
+            else if (request.characterClass() != null) {
+                characterClass = request.characterClass().toString();
+            }
+            if (request.species() != null) {
+                species = request.species().toString();
+            }
+            if (request.level() != null) {
+                level = request.level();
+            }
+        }
+    }
+
+    /**
+     * Record details of the result of the stage.  Events for stages with a meaningful result
+     * (e.g. the size of a saved PDF) override this.
+     *
+     * @param result Result of the stage, which may be null
+     */
+    public void setResult(Object result) {
+    }
+}
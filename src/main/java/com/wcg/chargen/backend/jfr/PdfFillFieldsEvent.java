@@ -0,0 +1,31 @@
+package com.wcg.chargen.backend.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.wcg.chargen.PdfFillFields")
+@Label("PDF Field Filling")
+@Description("Population of the character sheet form fields")
+public class PdfFillFieldsEvent extends CharacterCreateEvent {
+    @Label("Field Count")
+    @Description("Number of form fields with a value once filling is complete")
+    int fieldCount;
+
+    /**
+     * Counting the filled fields means walking the whole form, so the count is only worth
+     * working out when this event is going to be recorded.
+     *
+     * @return Whether a running recording has this event enabled
+     */
+    public static boolean isRecording() {
+        return new PdfFillFieldsEvent().isEnabled();
+    }
+
+    @Override
+    public void setResult(Object result) {
+        if (result instanceof Integer numFields) {
+            fieldCount = numFields;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.wcg.chargen.backend.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.wcg.chargen.PdfSave")
+@Label("PDF Save")
+@Description("Serialization of the filled character sheet")
+public class PdfSaveEvent extends CharacterCreateEvent {
+    @Label("Size")
+    @DataAmount
+    long size;
+
+    @Override
+    public void setResult(Object result) {
+        if (result instanceof Number numBytes) {
+            size = numBytes.longValue();
+        }
+    }
+}
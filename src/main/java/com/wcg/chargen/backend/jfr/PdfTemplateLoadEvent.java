@@ -0,0 +1,11 @@
+package com.wcg.chargen.backend.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.wcg.chargen.PdfTemplateLoad")
+@Label("PDF Template Load")
+@Description("Acquisition of a copy of the blank character sheet template")
+public class PdfTemplateLoadEvent extends CharacterCreateEvent {
+}
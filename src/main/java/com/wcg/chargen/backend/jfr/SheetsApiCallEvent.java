@@ -0,0 +1,20 @@
+package com.wcg.chargen.backend.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.wcg.chargen.SheetsApiCall")
+@Label("Google Sheets API Call")
+@Description("Creation of the spreadsheet through the Google Sheets API, including serialization")
+public class SheetsApiCallEvent extends CharacterCreateEvent {
+    @Label("Spreadsheet ID")
+    String spreadsheetId;
+
+    @Override
+    public void setResult(Object result) {
+        if (result instanceof String id) {
+            spreadsheetId = id;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.wcg.chargen.backend.jfr;
+
+import com.google.api.services.sheets.v4.model.Spreadsheet;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.wcg.chargen.SheetsBuild")
+@Label("Google Sheets Build")
+@Description("Construction of the spreadsheet for a character")
+public class SheetsBuildEvent extends CharacterCreateEvent {
+    @Label("Sheet Count")
+    int sheetCount;
+
+    @Override
+    public void setResult(Object result) {
+        if (result instanceof Spreadsheet spreadsheet && spreadsheet.getSheets() != null) {
+            sheetCount = spreadsheet.getSheets().size();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.wcg.chargen.backend.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.wcg.chargen.Validation")
+@Label("Character Validation")
+@Description("Validation of a character create request")
+public class ValidationEvent extends CharacterCreateEvent {
+}
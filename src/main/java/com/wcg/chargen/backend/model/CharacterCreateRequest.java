@@ -3,19 +3,17 @@ package com.wcg.chargen.backend.model;
 import com.wcg.chargen.backend.enums.AttributeType;
 import com.wcg.chargen.backend.enums.CharType;
 import com.wcg.chargen.backend.enums.SpeciesType;
-import jakarta.validation.constraints.NotEmpty;
-import jakarta.validation.constraints.NotNull;
 
 import java.util.List;
 import java.util.Map;
 
-public record CharacterCreateRequest(@NotEmpty String characterName,
+public record CharacterCreateRequest(String characterName,
                                      CharType characterClass,
-                                     @NotNull SpeciesType species,
+                                     SpeciesType species,
                                      String profession,
-                                     @NotNull Integer level,
-                                     @NotNull Map<String, Integer> attributes,
-                                     @NotEmpty String speciesStrength,
+                                     Integer level,
+                                     Map<String, Integer> attributes,
+                                     String speciesStrength,
                                      String speciesWeakness,
                                      String speciesSkill,
                                      List<String> bonusSkills,
@@ -38,7 +36,7 @@ public record CharacterCreateRequest(@NotEmpty String characterName,
 
     public boolean isCommoner() {
         // Need a null check here because the unit tests deliberately violate
-        // the @NotNull constraint on level
+        // the constraint on level
         return level() != null && level() == 0;
     }
 }
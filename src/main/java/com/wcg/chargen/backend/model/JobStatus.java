@@ -0,0 +1,6 @@
+package com.wcg.chargen.backend.model;
+
+import com.wcg.chargen.backend.enums.JobStage;
+
+public record JobStatus(String jobId, JobStage stage, String spreadsheetId, String message) {
+}
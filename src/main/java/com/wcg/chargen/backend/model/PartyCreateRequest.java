@@ -0,0 +1,7 @@
+package com.wcg.chargen.backend.model;
+
+import java.util.List;
+
+public record PartyCreateRequest(List<CharacterCreateRequest> characters) {
+    public static final int MAX_PARTY_SIZE = 8;
+}
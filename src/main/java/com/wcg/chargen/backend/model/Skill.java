@@ -1,4 +1,58 @@
 package com.wcg.chargen.backend.model;
 
-public record Skill(String name, String[] attributes) {
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.wcg.chargen.backend.enums.AttributeType;
+
+import java.util.StringJoiner;
+
+/**
+ * A skill from the skills YAML file.
+ *
+ * The attribute types and the name as shown on a character sheet are worked out when the skill
+ * is loaded, so that an unknown attribute fails at startup rather than while a sheet is being created.
+ * Neither is included when the skill is returned as JSON.
+ *
+ * @param attributeTypes Attribute types, in the same order as the attribute names
+ * @param displayName "SkillName" if the skill has a single attribute, or "SkillName (ATTR1/ATTR2)" if it has more
+ */
+public record Skill(String name, String[] attributes,
+                   @JsonIgnore AttributeType[] attributeTypes,
+                   @JsonIgnore String displayName) {
+    @JsonCreator
+    public Skill(@JsonProperty("name") String name, @JsonProperty("attributes") String[] attributes) {
+        this(name, attributes, getAttributeTypes(name, attributes), getDisplayName(name, attributes));
+    }
+
+    private static AttributeType[] getAttributeTypes(String name, String[] attributes) {
+        if (attributes == null || attributes.length == 0) {
+            throw new IllegalArgumentException("Skill " + name + " has no attributes");
+        }
+
+        var attributeTypes = new AttributeType[attributes.length];
+        for (var i = 0; i < attributes.length; i++) {
+            try {
+                attributeTypes[i] = AttributeType.valueOf(attributes[i]);
+            }
+            catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Skill " + name + " has unknown attribute " + attributes[i]);
+            }
+        }
+
+        return attributeTypes;
+    }
+
+    private static String getDisplayName(String name, String[] attributes) {
+        if (attributes.length == 1) {
+            return name;
+        }
+
+        var attributeJoiner = new StringJoiner("/", name + " (", ")");
+        for (var attribute : attributes) {
+            attributeJoiner.add(attribute);
+        }
+
+        return attributeJoiner.toString();
+    }
 }
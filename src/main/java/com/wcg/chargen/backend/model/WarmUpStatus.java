@@ -0,0 +1,7 @@
+package com.wcg.chargen.backend.model;
+
+public record WarmUpStatus(boolean isComplete, int roundsCompleted, int charactersRendered, long elapsedMillis,
+                           boolean isTimedOut) {
+    public static final WarmUpStatus NOT_STARTED = new WarmUpStatus(false, 0, 0, 0, false);
+    public static final WarmUpStatus SKIPPED = new WarmUpStatus(true, 0, 0, 0, false);
+}
@@ -0,0 +1,14 @@
+package com.wcg.chargen.backend.service;
+
+import com.wcg.chargen.backend.enums.JobStage;
+
+/**
+ * Receives progress updates while a character is being created.
+ */
+public interface CharacterCreateListener {
+    CharacterCreateListener NONE = stage -> {};
+
+    void onStage(JobStage stage);
+
+    default void onSpreadsheetCreated(String spreadsheetId) {}
+}
@@ -0,0 +1,71 @@
+package com.wcg.chargen.backend.service;
+
+import com.wcg.chargen.backend.enums.CharacterCreateStage;
+import com.wcg.chargen.backend.enums.OutputType;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+
+import java.util.function.Predicate;
+
+/**
+ * Records how long each stage of character creation takes, and how large the output is.
+ * Every measurement is tagged with the output type and the class and level of the character.
+ */
+public interface CharacterCreateMetricsService {
+    /**
+     * A stage that produces a result, and may throw a checked exception.
+     */
+    @FunctionalInterface
+    interface StageCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * A stage that doesn't produce a result, and may throw a checked exception.
+     */
+    @FunctionalInterface
+    interface StageRun<E extends Exception> {
+        void run() throws E;
+    }
+
+    /**
+     * Run and time a stage of character creation.
+     *
+     * @param outputType Type of output being created
+     * @param stage Stage being run
+     * @param request Request the character is being created from; may be null
+     * @param stageCall Stage to run
+     * @param isSuccess Whether a result counts as a success; a stage that throws is always an error
+     * @return Result of the stage
+     * @throws E If the stage throws
+     */
+    <T, E extends Exception> T timeStage(OutputType outputType, CharacterCreateStage stage,
+                                         CharacterCreateRequest request, StageCall<T, E> stageCall,
+                                         Predicate<T> isSuccess) throws E;
+
+    default <T, E extends Exception> T timeStage(OutputType outputType, CharacterCreateStage stage,
+                                                 CharacterCreateRequest request, StageCall<T, E> stageCall)
+            throws E {
+        return timeStage(outputType, stage, request, stageCall, result -> true);
+    }
+
+    default <E extends Exception> void runStage(OutputType outputType, CharacterCreateStage stage,
+                                                CharacterCreateRequest request, StageRun<E> stageRun)
+            throws E {
+        timeStage(outputType, stage, request, () -> {
+            stageRun.run();
+            return null;
+        });
+    }
+
+    void recordOutputSize(OutputType outputType, CharacterCreateRequest request, long numBytes);
+
+    /**
+     * Run a call without recording metrics or Flight Recorder events for the stages it runs on this thread,
+     * e.g. for the synthetic characters created while warming up.  The stages themselves still run as usual.
+     *
+     * @param call Call to run
+     * @return Result of the call
+     * @throws E If the call throws
+     */
+    <T, E extends Exception> T runUnrecorded(StageCall<T, E> call) throws E;
+}
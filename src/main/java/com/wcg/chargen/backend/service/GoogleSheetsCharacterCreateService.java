@@ -1,8 +1,23 @@
 package com.wcg.chargen.backend.service;
 
+import com.google.api.services.sheets.v4.model.Spreadsheet;
 import com.wcg.chargen.backend.model.CharacterCreateRequest;
 import com.wcg.chargen.backend.model.CharacterCreateStatus;
+import com.wcg.chargen.backend.model.PartyCreateRequest;
 
 public interface GoogleSheetsCharacterCreateService {
     CharacterCreateStatus createCharacter(CharacterCreateRequest characterCreateRequest, String bearerToken);
+
+    CharacterCreateStatus createCharacter(CharacterCreateRequest characterCreateRequest, String bearerToken,
+                                          CharacterCreateListener listener);
+
+    CharacterCreateStatus createParty(PartyCreateRequest partyCreateRequest, String bearerToken);
+
+    /**
+     * Build the complete spreadsheet for a character, without sending it to Google.
+     *
+     * @param characterCreateRequest Validated character create request
+     * @return Spreadsheet for the character
+     */
+    Spreadsheet buildSpreadsheet(CharacterCreateRequest characterCreateRequest);
 }
@@ -0,0 +1,16 @@
+package com.wcg.chargen.backend.service;
+
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.JobStatus;
+
+import java.util.function.Consumer;
+
+public interface GoogleSheetsJobService {
+    JobStatus submit(CharacterCreateRequest characterCreateRequest, String bearerToken);
+
+    JobStatus getStatus(String jobId);
+
+    boolean subscribe(String jobId, Consumer<JobStatus> subscriber);
+
+    void unsubscribe(String jobId, Consumer<JobStatus> subscriber);
+}
@@ -0,0 +1,22 @@
+package com.wcg.chargen.backend.service;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    /**
+     * Run a computation at most once per idempotency key.
+     * Concurrent calls with the same key wait for the call already in flight,
+     * and later calls get the cached result for as long as it is retained.
+     * If no idempotency key is given, the computation is simply run.
+     *
+     * @param scope Namespace for the key, e.g. the endpoint and the caller's identity
+     * @param idempotencyKey Key supplied by the client, or null if the client didn't supply one
+     * @param request Request the key was sent with; reusing a key with a different request is an error
+     * @param computation Computation to run
+     * @param isCacheable Whether a result should be kept for later calls; failures generally shouldn't be
+     * @return Result of the computation
+     */
+    <T> T execute(String scope, String idempotencyKey, Object request,
+                  Supplier<T> computation, Predicate<T> isCacheable);
+}
@@ -5,4 +5,12 @@ import com.wcg.chargen.backend.model.PdfCharacterCreateStatus;
 
 public interface PdfCharacterCreateService {
     PdfCharacterCreateStatus createCharacter(CharacterCreateRequest request);
+
+    /**
+     * @param request Character create request
+     * @param flatten Whether to turn the form fields into static page content, for a sheet that will only be
+     *                printed.  Flattened sheets are smaller and quicker to render, but can't be edited.
+     * @return Status containing the PDF character sheet if successful
+     */
+    PdfCharacterCreateStatus createCharacter(CharacterCreateRequest request, boolean flatten);
 }
@@ -0,0 +1,7 @@
+package com.wcg.chargen.backend.service;
+
+import com.wcg.chargen.backend.model.WarmUpStatus;
+
+public interface WarmUpService {
+    WarmUpStatus getStatus();
+}
@@ -0,0 +1,262 @@
+package com.wcg.chargen.backend.service.impl;
+
+import com.wcg.chargen.backend.enums.AttributeType;
+import com.wcg.chargen.backend.enums.CharType;
+import com.wcg.chargen.backend.enums.SpeciesType;
+import com.wcg.chargen.backend.model.Feature;
+import com.wcg.chargen.backend.model.Profession;
+import com.wcg.chargen.backend.service.CharClassesService;
+import com.wcg.chargen.backend.service.ProfessionsService;
+import com.wcg.chargen.backend.service.SpeciesService;
+import com.wcg.chargen.backend.worker.SkillsProvider;
+
+import java.util.*;
+
+import static com.wcg.chargen.backend.service.impl.DefaultFeaturesService.CUMULATIVE_TIER_1_FEATURES_PER_LEVEL;
+import static com.wcg.chargen.backend.service.impl.DefaultFeaturesService.CUMULATIVE_TIER_2_FEATURES_PER_LEVEL;
+
+/**
+ * The validation rules that only depend on a character's class (or being a commoner), species and level,
+ * compiled from the game data into a table indexed by those three, along with the lookups that turn the
+ * names in a request into indexes that can be checked against it.
+ *
+ * Attributes and skills are identified by index, so the strengths, weaknesses and species skills
+ * allowed by a rule are bit masks.  Once built, a table is never modified, so it can be shared freely.
+ * A table remembers the game data objects it was built from, so that it can tell when the game data
+ * has been replaced and it needs to be built again.
+ */
+final class CharacterCreateValidationTable {
+    static final int MAX_LEVEL = 7;
+
+    private static final int NUM_LEVELS = MAX_LEVEL + 1;
+    private static final int NUM_SPECIES = SpeciesType.values().length;
+    // Commoners are given the index after the last class
+    private static final int COMMONER_INDEX = CharType.values().length;
+    private static final int NUM_CLASS_INDEXES = COMMONER_INDEX + 1;
+    private static final Map<String, Integer> ATTRIBUTE_INDEX_MAP = buildAttributeIndexMap();
+    // Indexes into the game data objects a table was built from, which start with the classes
+    private static final int SPECIES_SOURCE_INDEX = CharType.values().length;
+    private static final int PROFESSIONS_SOURCE_INDEX = SPECIES_SOURCE_INDEX + NUM_SPECIES;
+    private static final int SKILL_NAMES_SOURCE_INDEX = PROFESSIONS_SOURCE_INDEX + 1;
+    private static final int NUM_SOURCES = SKILL_NAMES_SOURCE_INDEX + 1;
+
+    /**
+     * @param bonusSkillCount Number of bonus skills required, which is 0 for commoners
+     * @param tier1FeatureCount Number of tier I features required, which is 0 below level 2
+     * @param tier2FeatureCount Number of tier II features required, which is 0 below level 2
+     * @param strengthMask Attributes allowed as the species strength
+     * @param weaknessMask Attributes allowed as the species weakness
+     * @param speciesSkillBits Skills allowed as the species skill
+     */
+    record Rule(int bonusSkillCount, int tier1FeatureCount, int tier2FeatureCount,
+                int strengthMask, int weaknessMask, BitSet speciesSkillBits) {
+        boolean isStrengthAllowed(int attributeIndex) {
+            return attributeIndex >= 0 && (strengthMask & (1 << attributeIndex)) != 0;
+        }
+
+        boolean isWeaknessAllowed(int attributeIndex) {
+            return attributeIndex >= 0 && (weaknessMask & (1 << attributeIndex)) != 0;
+        }
+
+        boolean isSpeciesSkillAllowed(int skillIndex) {
+            return skillIndex >= 0 && speciesSkillBits.get(skillIndex);
+        }
+    }
+
+    private final Rule[] rules;
+    private final Set<String> professionNameSet;
+    // Skills that can be taken as bonus skills come first, followed by any species skills that aren't among them
+    private final Map<String, Integer> skillIndexMap;
+    private final int numBonusSkills;
+    private final List<Set<String>> tier1FeatureSetList;
+    private final List<Set<String>> tier2FeatureSetList;
+    // The classes, then the species, then the professions and skill names the table was built from
+    private final Object[] sources;
+
+    private CharacterCreateValidationTable(Rule[] rules, Set<String> professionNameSet,
+                                           Map<String, Integer> skillIndexMap, int numBonusSkills,
+                                           List<Set<String>> tier1FeatureSetList,
+                                           List<Set<String>> tier2FeatureSetList,
+                                           Object[] sources) {
+        this.sources = sources;
+        this.rules = rules;
+        this.professionNameSet = professionNameSet;
+        this.skillIndexMap = skillIndexMap;
+        this.numBonusSkills = numBonusSkills;
+        this.tier1FeatureSetList = tier1FeatureSetList;
+        this.tier2FeatureSetList = tier2FeatureSetList;
+    }
+
+    /**
+     * Compile the table from the game data that the given services have loaded.
+     */
+    static CharacterCreateValidationTable build(CharClassesService charClassesService,
+                                                SpeciesService speciesService,
+                                                ProfessionsService professionsService,
+                                                SkillsProvider skillsProvider) {
+        var sources = new Object[NUM_SOURCES];
+
+        // Use the ids from the skills provider for the skills that can be taken as bonus skills
+        var skillIndexMap = new HashMap<String, Integer>();
+        var skillNameSet = skillsProvider.getSkillNameSet();
+        sources[SKILL_NAMES_SOURCE_INDEX] = skillNameSet;
+        for (var skillName : skillNameSet) {
+            skillIndexMap.put(skillName, skillsProvider.getSkillId(skillName));
+        }
+        var numBonusSkills = skillIndexMap.size();
+
+        var strengthMasks = new int[NUM_SPECIES];
+        var weaknessMasks = new int[NUM_SPECIES];
+        var speciesSkillBitsArray = new BitSet[NUM_SPECIES];
+        for (var speciesType : SpeciesType.values()) {
+            var species = speciesService.getSpeciesByType(speciesType);
+            var speciesIndex = speciesType.ordinal();
+            sources[SPECIES_SOURCE_INDEX + speciesIndex] = species;
+
+            // Humans have no species weaknesses or skills, and can have any strength, so these may be null
+            strengthMasks[speciesIndex] = getAttributeMask(species.strengths());
+            weaknessMasks[speciesIndex] = getAttributeMask(species.weaknesses());
+
+            var speciesSkillBits = new BitSet();
+            for (var skillName : Objects.requireNonNullElse(species.skills(), List.<String>of())) {
+                speciesSkillBits.set(skillIndexMap.computeIfAbsent(skillName, x -> skillIndexMap.size()));
+            }
+            speciesSkillBitsArray[speciesIndex] = speciesSkillBits;
+        }
+
+        var rules = new Rule[NUM_CLASS_INDEXES * NUM_SPECIES * NUM_LEVELS];
+        for (var classIndex = 0; classIndex < NUM_CLASS_INDEXES; classIndex++) {
+            var isCommoner = (classIndex == COMMONER_INDEX);
+            for (var speciesType : SpeciesType.values()) {
+                var speciesIndex = speciesType.ordinal();
+                // Humans are allowed 2 bonus skills, while non-humans only get 1
+                var bonusSkillCount = isCommoner ? 0 : (speciesType.isHuman() ? 2 : 1);
+
+                for (var level = 0; level < NUM_LEVELS; level++) {
+                    var hasFeatures = !isCommoner && level > 1;
+                    rules[getRuleIndex(classIndex, speciesIndex, level)] = new Rule(bonusSkillCount,
+                            hasFeatures ? CUMULATIVE_TIER_1_FEATURES_PER_LEVEL[level - 1] : 0,
+                            hasFeatures ? CUMULATIVE_TIER_2_FEATURES_PER_LEVEL[level - 1] : 0,
+                            strengthMasks[speciesIndex],
+                            weaknessMasks[speciesIndex],
+                            speciesSkillBitsArray[speciesIndex]);
+                }
+            }
+        }
+
+        var professions = professionsService.getAllProfessions();
+        sources[PROFESSIONS_SOURCE_INDEX] = professions;
+        var professionNameSet = toSet(professions.professions().stream()
+                .map(Profession::name)
+                .toList());
+
+        var tier1FeatureSetList = new ArrayList<Set<String>>();
+        var tier2FeatureSetList = new ArrayList<Set<String>>();
+        for (var charType : CharType.values()) {
+            var charClass = charClassesService.getCharClassByType(charType);
+            sources[charType.ordinal()] = charClass;
+            var features = charClass.features();
+            tier1FeatureSetList.add(toSet(features.tier1().stream().map(Feature::description).toList()));
+            tier2FeatureSetList.add(toSet(features.tier2().stream().map(Feature::description).toList()));
+        }
+
+        return new CharacterCreateValidationTable(rules, professionNameSet, Map.copyOf(skillIndexMap),
+                numBonusSkills, List.copyOf(tier1FeatureSetList), List.copyOf(tier2FeatureSetList), sources);
+    }
+
+    /**
+     * @return Whether the table was built from the game data that the given services have loaded now,
+     * comparing the game data objects by identity
+     */
+    boolean isBuiltFrom(CharClassesService charClassesService,
+                        SpeciesService speciesService,
+                        ProfessionsService professionsService,
+                        SkillsProvider skillsProvider) {
+        for (var charType : CharType.values()) {
+            if (sources[charType.ordinal()] != charClassesService.getCharClassByType(charType)) {
+                return false;
+            }
+        }
+        for (var speciesType : SpeciesType.values()) {
+            if (sources[SPECIES_SOURCE_INDEX + speciesType.ordinal()] != speciesService.getSpeciesByType(speciesType)) {
+                return false;
+            }
+        }
+
+        return sources[PROFESSIONS_SOURCE_INDEX] == professionsService.getAllProfessions() &&
+                sources[SKILL_NAMES_SOURCE_INDEX] == skillsProvider.getSkillNameSet();
+    }
+
+    /**
+     * @param charType Character class, or null for a commoner
+     * @param speciesType Species
+     * @param level Level, from 0 to MAX_LEVEL
+     */
+    Rule getRule(CharType charType, SpeciesType speciesType, int level) {
+        var classIndex = (charType == null) ? COMMONER_INDEX : charType.ordinal();
+        return rules[getRuleIndex(classIndex, speciesType.ordinal(), level)];
+    }
+
+    boolean isProfession(String name) {
+        return professionNameSet.contains(name);
+    }
+
+    /**
+     * @return Index of the attribute with the given name, or -1 if there isn't one
+     */
+    static int getAttributeIndex(String name) {
+        return (name == null) ? -1 : ATTRIBUTE_INDEX_MAP.getOrDefault(name, -1);
+    }
+
+    /**
+     * @return Index of the skill with the given name, or -1 if there isn't one
+     */
+    int getSkillIndex(String name) {
+        return (name == null) ? -1 : skillIndexMap.getOrDefault(name, -1);
+    }
+
+    boolean isBonusSkill(String name) {
+        var skillIndex = getSkillIndex(name);
+        return skillIndex >= 0 && skillIndex < numBonusSkills;
+    }
+
+    boolean isTier1Feature(CharType charType, String description) {
+        return tier1FeatureSetList.get(charType.ordinal()).contains(description);
+    }
+
+    boolean isTier2Feature(CharType charType, String description) {
+        return tier2FeatureSetList.get(charType.ordinal()).contains(description);
+    }
+
+    private static int getRuleIndex(int classIndex, int speciesIndex, int level) {
+        return (classIndex * NUM_SPECIES + speciesIndex) * NUM_LEVELS + level;
+    }
+
+    private static int getAttributeMask(List<String> attributeNames) {
+        var mask = 0;
+        for (var attributeName : Objects.requireNonNullElse(attributeNames, List.<String>of())) {
+            var attributeIndex = getAttributeIndex(attributeName);
+            if (attributeIndex >= 0) {
+                mask |= 1 << attributeIndex;
+            }
+        }
+
+        return mask;
+    }
+
+    private static Map<String, Integer> buildAttributeIndexMap() {
+        var attributeIndexMap = new HashMap<String, Integer>();
+        for (var attributeType : AttributeType.values()) {
+            attributeIndexMap.put(attributeType.name(), attributeType.ordinal());
+        }
+
+        return Map.copyOf(attributeIndexMap);
+    }
+
+    /**
+     * Requests can contain nulls, which the sets from Set.copyOf can't be searched for
+     */
+    private static Set<String> toSet(Collection<String> collection) {
+        return Collections.unmodifiableSet(new HashSet<>(collection));
+    }
+}
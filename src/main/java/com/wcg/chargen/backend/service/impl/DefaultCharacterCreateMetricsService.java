@@ -0,0 +1,135 @@
+package com.wcg.chargen.backend.service.impl;
+
+import com.wcg.chargen.backend.constants.LevelConstants;
+import com.wcg.chargen.backend.enums.CharacterCreateStage;
+import com.wcg.chargen.backend.enums.OutputType;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.service.CharacterCreateMetricsService;
+import com.wcg.chargen.backend.util.ServerTimingUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Micrometer implementation of character creation metrics, which are published through the
+ * actuator metrics endpoint.  Percentile histograms for these meters are turned on in
+ * application.properties rather than here, so that they can be tuned without a code change.
+ * Stage durations are also reported in the Server-Timing header of the current request,
+ * and each stage is emitted as a JDK Flight Recorder event when a recording is running.
+ */
+@Service
+public class DefaultCharacterCreateMetricsService implements CharacterCreateMetricsService {
+    private static final String STAGE_METRIC = "chargen.charcreate.stage";
+    private static final String OUTPUT_SIZE_METRIC = "chargen.charcreate.output.size";
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_FAILURE = "failure";
+    private static final String OUTCOME_ERROR = "error";
+    private static final String COMMONER = "commoner";
+    private static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    // Set while runUnrecorded is running on a thread
+    private final ThreadLocal<Boolean> unrecordedThreadLocal = ThreadLocal.withInitial(() -> false);
+
+    @Autowired
+    public DefaultCharacterCreateMetricsService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <T, E extends Exception> T timeStage(OutputType outputType, CharacterCreateStage stage,
+                                                CharacterCreateRequest request, StageCall<T, E> stageCall,
+                                                Predicate<T> isSuccess) throws E {
+        if (unrecordedThreadLocal.get()) {
+            return stageCall.call();
+        }
+
+        var outcome = OUTCOME_ERROR;
+        T result = null;
+        var event = stage.createEvent();
+        event.begin();
+        var startNanos = System.nanoTime();
+        try {
+            result = stageCall.call();
+            outcome = isSuccess.test(result) ? OUTCOME_SUCCESS : OUTCOME_FAILURE;
+
+            return result;
+        }
+        finally {
+            var durationNanos = System.nanoTime() - startNanos;
+            event.end();
+            if (event.shouldCommit()) {
+                event.setCharacter(outputType, request, outcome);
+                event.setResult(result);
+                event.commit();
+            }
+
+            Timer.builder(STAGE_METRIC)
+                    .description("Time taken by each stage of character creation")
+                    .tags(getTags(outputType, request))
+                    .tag("stage", stage.toString())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+
+            if (stage.getServerTimingName() != null) {
+                ServerTimingUtil.record(stage.getServerTimingName(), durationNanos);
+            }
+        }
+    }
+
+    @Override
+    public void recordOutputSize(OutputType outputType, CharacterCreateRequest request, long numBytes) {
+        if (unrecordedThreadLocal.get()) {
+            return;
+        }
+
+        DistributionSummary.builder(OUTPUT_SIZE_METRIC)
+                .description("Size of created character sheets")
+                .baseUnit("bytes")
+                .tags(getTags(outputType, request))
+                .register(meterRegistry)
+                .record(numBytes);
+    }
+
+    @Override
+    public <T, E extends Exception> T runUnrecorded(StageCall<T, E> call) throws E {
+        var wasUnrecorded = unrecordedThreadLocal.get();
+        unrecordedThreadLocal.set(true);
+        try {
+            return call.call();
+        }
+        finally {
+            unrecordedThreadLocal.set(wasUnrecorded);
+        }
+    }
+
+    private static Tags getTags(OutputType outputType, CharacterCreateRequest request) {
+        // Requests are tagged before they are validated, so any of these may be missing
+        var charClass = UNKNOWN;
+        var level = UNKNOWN;
+        if (request != null) {
+            if (request.isCommoner()) {
+                charClass = COMMONER;
+            }
+            else if (request.characterClass() != null) {
+                charClass = request.characterClass().toString();
+            }
+
+            // Only tag levels that exist, so that bad requests can't create an unbounded number of meters
+            if (request.level() != null && request.level() >= 0 && request.level() <= LevelConstants.MAX_LEVEL) {
+                level = String.valueOf(request.level());
+            }
+        }
+
+        return Tags.of("output", outputType.toString(),
+                "class", charClass,
+                "level", level);
+    }
+}
@@ -3,7 +3,6 @@ package com.wcg.chargen.backend.service.impl;
 import com.wcg.chargen.backend.enums.AttributeType;
 import com.wcg.chargen.backend.model.CharacterCreateRequest;
 import com.wcg.chargen.backend.model.CharacterCreateStatus;
-import com.wcg.chargen.backend.model.Feature;
 import com.wcg.chargen.backend.service.*;
 import com.wcg.chargen.backend.worker.SkillsProvider;
 import org.apache.commons.lang3.StringUtils;
@@ -11,11 +10,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
-import static com.wcg.chargen.backend.service.impl.DefaultFeaturesService.CUMULATIVE_TIER_1_FEATURES_PER_LEVEL;
-import static com.wcg.chargen.backend.service.impl.DefaultFeaturesService.CUMULATIVE_TIER_2_FEATURES_PER_LEVEL;
-
+/**
+ * Validates character creation requests against the game data.
+ *
+ * The rules that depend on the game data are compiled into a CharacterCreateValidationTable the first
+ * time a request is validated, so checking a request is a fixed series of array, bit mask and hash set
+ * lookups.  The table is built on first use rather than on startup so that tests can mock the services
+ * it comes from, and is built again if any of the game data it was built from is replaced.
+ */
 @Service
 public class DefaultCharacterCreateRequestValidatorService implements CharacterCreateRequestValidatorService {
     @Autowired
@@ -27,12 +32,13 @@ public class DefaultCharacterCreateRequestValidatorService implements CharacterC
     @Autowired
     CharClassesService charClassesService;
 
-    private static final List<Integer> CHALLENGING_ATTRIBUTE_VALUES =
-            Arrays.asList(-2, -1, 0, 0, 1, 1, 2);
-    private static final List<Integer> HEROIC_ATTRIBUTE_VALUES =
-            Arrays.asList(-1, 0, 0, 0, 1, 2, 2);
     private static final int MIN_ATTRIBUTE_VALUE = -3;
     private static final int MAX_ATTRIBUTE_VALUE = 3;
+    // Number of attributes with each value from MIN_ATTRIBUTE_VALUE to MAX_ATTRIBUTE_VALUE
+    private static final int[] CHALLENGING_ATTRIBUTE_COUNTS = getAttributeCounts(List.of(-2, -1, 0, 0, 1, 1, 2));
+    private static final int[] HEROIC_ATTRIBUTE_COUNTS = getAttributeCounts(List.of(-1, 0, 0, 0, 1, 2, 2));
+
+    private volatile CharacterCreateValidationTable validationTable;
 
     public CharacterCreateStatus validate(CharacterCreateRequest characterCreateRequest) {
         if (characterCreateRequest == null) {
@@ -49,9 +55,11 @@ public class DefaultCharacterCreateRequestValidatorService implements CharacterC
         }
 
         var level = characterCreateRequest.level();
-        if (level < 0 || level > 7) {
+        if (level < 0 || level > CharacterCreateValidationTable.MAX_LEVEL) {
             return failedStatus("Level must be between 0 and 7");
         }
+
+        var table = getValidationTable();
         if (characterCreateRequest.isCommoner()) {
             // A commoner character should have a profession and not a class
             if (characterCreateRequest.characterClass() != null) {
@@ -63,9 +71,7 @@ public class DefaultCharacterCreateRequestValidatorService implements CharacterC
                 return failedStatus("Level 0 characters must have a profession");
             }
 
-            var isProfessionValid = professionsService.getAllProfessions().professions().stream()
-                    .anyMatch(x -> x.name().equals(profession));
-            if (!isProfessionValid) {
+            if (!table.isProfession(profession)) {
                 return failedStatus("Profession " + profession + " is not a valid profession");
             }
         }
@@ -75,6 +81,9 @@ public class DefaultCharacterCreateRequestValidatorService implements CharacterC
         }
 
         var attributesMap = characterCreateRequest.attributes();
+        if (attributesMap == null) {
+            return failedStatus("Missing attributes");
+        }
         for (var attributeName : AttributeType.values()) {
             if (!attributesMap.containsKey(attributeName.toString())) {
                 return failedStatus("Attributes object is missing required attribute " + attributeName);
@@ -85,28 +94,30 @@ public class DefaultCharacterCreateRequestValidatorService implements CharacterC
         // Challenging or Heroic attribute array
         // For commoner characters, they should all be between -3 and 3
         if (characterCreateRequest.isCommoner()) {
-            for (var attributeKey : attributesMap.keySet()) {
-                var attributeValue  = attributesMap.get(attributeKey);
-                if (attributeValue < MIN_ATTRIBUTE_VALUE || attributeValue > MAX_ATTRIBUTE_VALUE) {
+            for (var attributeEntry : attributesMap.entrySet()) {
+                var attributeValue = attributeEntry.getValue();
+                if (!isAttributeValueInRange(attributeValue)) {
                     return failedStatus(
                             String.format("Attribute %s has invalid value %d which is not between %d and %d",
-                            attributeKey, attributeValue, MIN_ATTRIBUTE_VALUE, MAX_ATTRIBUTE_VALUE));
+                            attributeEntry.getKey(), attributeValue, MIN_ATTRIBUTE_VALUE, MAX_ATTRIBUTE_VALUE));
                 }
             }
         }
         else {
-            var attributeValuesList = attributesMap.values().stream().sorted().toList();
+            var attributeCounts = getAttributeCounts(attributesMap.values());
 
-            if (!(CHALLENGING_ATTRIBUTE_VALUES.equals(attributeValuesList) ||
-                    HEROIC_ATTRIBUTE_VALUES.equals(attributeValuesList))) {
+            if (!(Arrays.equals(CHALLENGING_ATTRIBUTE_COUNTS, attributeCounts) ||
+                    Arrays.equals(HEROIC_ATTRIBUTE_COUNTS, attributeCounts))) {
                 return failedStatus("Attribute values do not match challenging or heroic attribute arrays");
             }
         }
 
-        try {
-            AttributeType.valueOf(characterCreateRequest.speciesStrength());
+        if (characterCreateRequest.speciesStrength() == null) {
+            return failedStatus("Missing species strength");
         }
-        catch (IllegalArgumentException e) {
+
+        var strengthIndex = CharacterCreateValidationTable.getAttributeIndex(characterCreateRequest.speciesStrength());
+        if (strengthIndex < 0) {
             return failedStatus("Species strength value " + characterCreateRequest.speciesStrength()
             + " is not a valid attribute type");
         }
@@ -118,35 +129,32 @@ public class DefaultCharacterCreateRequestValidatorService implements CharacterC
             return failedStatus("Non-human characters must specify a species weakness");
         }
 
-        try {
-            if (!isHuman) {
-                AttributeType.valueOf(characterCreateRequest.speciesWeakness());
-            }
-        }
-        catch (IllegalArgumentException e) {
+        var weaknessIndex = CharacterCreateValidationTable.getAttributeIndex(characterCreateRequest.speciesWeakness());
+        if (!isHuman && weaknessIndex < 0) {
             return failedStatus("Species weakness value " + characterCreateRequest.speciesWeakness()
                     + " is not a valid attribute type");
         }
 
+        var rule = table.getRule(characterCreateRequest.characterClass(), characterCreateRequest.species(), level);
+
         // For non-human characters, the species strengths and weaknesses from the request
         // must sync up with the values from the species YAML files, and their bonus skill
         // must be included in the species YAML file
         if (!isHuman) {
             var speciesType = characterCreateRequest.species();
-            var species = speciesService.getSpeciesByType(speciesType);
 
-            if (!species.strengths().contains(characterCreateRequest.speciesStrength())) {
+            if (!rule.isStrengthAllowed(strengthIndex)) {
                 return failedStatus(String.format("Species strength %s is not valid for species %s",
                         characterCreateRequest.speciesStrength(), speciesType));
             }
 
-            if (!species.weaknesses().contains(characterCreateRequest.speciesWeakness())) {
+            if (!rule.isWeaknessAllowed(weaknessIndex)) {
                 return failedStatus(String.format("Species weakness %s is not valid for species %s",
                         characterCreateRequest.speciesWeakness(), speciesType));
             }
 
             if (!characterCreateRequest.isCommoner() &&
-                    !species.skills().contains(characterCreateRequest.speciesSkill())) {
+                    !rule.isSpeciesSkillAllowed(table.getSkillIndex(characterCreateRequest.speciesSkill()))) {
                 return failedStatus(String.format("Species skill %s is not valid for species %s",
                         characterCreateRequest.speciesSkill(), speciesType));
             }
@@ -159,7 +167,7 @@ public class DefaultCharacterCreateRequestValidatorService implements CharacterC
 
             // Humans are allowed 2 bonus skills, while non-humans only get 1,
             // and the bonus skills must all be valid
-            var expectedBonusSkills = isHuman ? 2 : 1;
+            var expectedBonusSkills = rule.bonusSkillCount();
             var speciesClass = isHuman ? "human" : "non-human";
             if (characterCreateRequest.bonusSkills().size() != expectedBonusSkills) {
                 return failedStatus(String.format("Expected %d bonus skills for %s species, got %d",
@@ -167,7 +175,7 @@ public class DefaultCharacterCreateRequestValidatorService implements CharacterC
             }
 
             for (var skill : characterCreateRequest.bonusSkills()) {
-                if (skillsProvider.getByName(skill) == null) {
+                if (!table.isBonusSkill(skill)) {
                     return failedStatus(String.format("Bonus skill %s is not a valid skill", skill));
                 }
             }
@@ -192,8 +200,7 @@ public class DefaultCharacterCreateRequestValidatorService implements CharacterC
             }
 
             // Make sure we have the correct number of Tier I and Tier II features
-            var numAllowedTier1Features =
-                    CUMULATIVE_TIER_1_FEATURES_PER_LEVEL[characterCreateRequest.level() - 1];
+            var numAllowedTier1Features = rule.tier1FeatureCount();
             if (characterCreateRequest.features().tier1().size() != numAllowedTier1Features) {
                 return failedStatus(String.format("Expected %d tier I features for level %d, got %d",
                         numAllowedTier1Features,
@@ -201,8 +208,7 @@ public class DefaultCharacterCreateRequestValidatorService implements CharacterC
                         characterCreateRequest.features().tier1().size()));
             }
 
-            var numAllowedTier2Features =
-                    CUMULATIVE_TIER_2_FEATURES_PER_LEVEL[characterCreateRequest.level() - 1];
+            var numAllowedTier2Features = rule.tier2FeatureCount();
             if (characterCreateRequest.features().tier2().size() != numAllowedTier2Features) {
                 return failedStatus(String.format("Expected %d tier II features for level %d, got %d",
                         numAllowedTier2Features,
@@ -211,22 +217,16 @@ public class DefaultCharacterCreateRequestValidatorService implements CharacterC
             }
 
             // Check that the features are valid for the character class
-            var charClass = charClassesService.getCharClassByType(characterCreateRequest.characterClass());
-            var tier1FeatureDescriptions = charClass.features().tier1().stream()
-                    .map(Feature::description)
-                    .toList();
+            var charType = characterCreateRequest.characterClass();
             for (var featureDesc : characterCreateRequest.features().tier1()) {
-                if (!tier1FeatureDescriptions.contains(featureDesc)) {
+                if (!table.isTier1Feature(charType, featureDesc)) {
                     return failedStatus(String.format("Tier I feature %s is not valid for class %s",
                             featureDesc, characterCreateRequest.characterClass()));
                 }
             }
 
-            var tier2FeatureDescriptions = charClass.features().tier2().stream()
-                    .map(Feature::description)
-                    .toList();
             for (var featureDesc : characterCreateRequest.features().tier2()) {
-                if (!tier2FeatureDescriptions.contains(featureDesc)) {
+                if (!table.isTier2Feature(charType, featureDesc)) {
                     return failedStatus(String.format("Tier II feature %s is not valid for class %s",
                             featureDesc, characterCreateRequest.characterClass()));
                 }
@@ -236,6 +236,39 @@ public class DefaultCharacterCreateRequestValidatorService implements CharacterC
         return CharacterCreateStatus.SUCCESS;
     }
 
+    private CharacterCreateValidationTable getValidationTable() {
+        var table = validationTable;
+        if (table == null ||
+                !table.isBuiltFrom(charClassesService, speciesService, professionsService, skillsProvider)) {
+            // Two threads may both build the table at once, but they'll build the same one
+            table = CharacterCreateValidationTable.build(charClassesService, speciesService, professionsService,
+                    skillsProvider);
+            validationTable = table;
+        }
+
+        return table;
+    }
+
+    private static boolean isAttributeValueInRange(Integer attributeValue) {
+        return attributeValue != null &&
+                attributeValue >= MIN_ATTRIBUTE_VALUE && attributeValue <= MAX_ATTRIBUTE_VALUE;
+    }
+
+    /**
+     * Count the attributes with each value, which can be compared with the counts for an attribute array
+     * without sorting.  Values out of range are counted in an extra slot, so they never match.
+     */
+    private static int[] getAttributeCounts(Collection<Integer> attributeValues) {
+        var counts = new int[MAX_ATTRIBUTE_VALUE - MIN_ATTRIBUTE_VALUE + 2];
+        for (var attributeValue : attributeValues) {
+            var index = isAttributeValueInRange(attributeValue) ?
+                    attributeValue - MIN_ATTRIBUTE_VALUE : counts.length - 1;
+            counts[index]++;
+        }
+
+        return counts;
+    }
+
     private CharacterCreateStatus failedStatus(String msg) {
         return new CharacterCreateStatus(false, msg);
     }
@@ -6,6 +6,7 @@ import com.wcg.chargen.backend.enums.AttributeType;
 import com.wcg.chargen.backend.enums.CharType;
 import com.wcg.chargen.backend.enums.SpeciesType;
 import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.Professions;
 import com.wcg.chargen.backend.model.Skill;
 import com.wcg.chargen.backend.service.*;
 import com.wcg.chargen.backend.worker.CharacterSheetWorker;
@@ -50,6 +51,19 @@ public class DefaultGoogleSheetBuilderService implements GoogleSheetBuilderServi
     private static final int NUM_EXTRA_GEAR_ROWS = 6;
     private static final int NUM_DEFAULT_SKILL_ROWS = 7;
 
+    // Data validation rules that depend only on enum values are built once and shared by every sheet,
+    // including all the characters in a party spreadsheet
+    private static final DataValidationRule SPECIES_DATA_VALIDATION = buildSpeciesDataValidation();
+    private static final DataValidationRule CHAR_CLASS_DATA_VALIDATION = buildCharClassDataValidation();
+    private static final DataValidationRule COMMONER_LEVEL_DATA_VALIDATION = buildLevelDataValidation(true);
+    private static final DataValidationRule CLASS_LEVEL_DATA_VALIDATION = buildLevelDataValidation(false);
+    private static final DataValidationRule MAGE_SPELL_LEVEL_DATA_VALIDATION = buildSpellLevelDataValidation(true);
+    private static final DataValidationRule SHAMAN_SPELL_LEVEL_DATA_VALIDATION = buildSpellLevelDataValidation(false);
+
+    private record ProfessionDataValidation(Professions professions, DataValidationRule dataValidationRule) {}
+
+    private volatile ProfessionDataValidation professionDataValidation;
+
     private static Sheet buildSheetWithTitle(String title)
     {
         return new Sheet().setProperties(new SheetProperties().setTitle(title));
@@ -66,7 +80,7 @@ public class DefaultGoogleSheetBuilderService implements GoogleSheetBuilderServi
                 .formatted(cellToLeft, cellToLeft, cellToLeft, cellToLeft, cellToLeft, cellToLeft, cellToLeft);
     }
 
-    private DataValidationRule buildSpeciesDataValidation() {
+    private static DataValidationRule buildSpeciesDataValidation() {
         var condition = new BooleanCondition();
         condition.setType("ONE_OF_LIST");
         var speciesValues = new ArrayList<ConditionValue>();
@@ -77,19 +91,15 @@ public class DefaultGoogleSheetBuilderService implements GoogleSheetBuilderServi
         }
         condition.setValues(speciesValues);
 
-        var dataValidationRule = new DataValidationRule();
-        dataValidationRule.setShowCustomUi(true);
-        dataValidationRule.setCondition(condition);
-
-        return dataValidationRule;
+        return buildDataValidationRuleWithCondition(condition);
     }
 
-    private DataValidationRule buildLevelDataValidation(CharacterCreateRequest characterCreateRequest) {
+    private static DataValidationRule buildLevelDataValidation(boolean isCommoner) {
         var condition = new BooleanCondition();
         condition.setType("NUMBER_BETWEEN");
         var levelValues = new ArrayList<ConditionValue>();
         // Don't allow class characters to select level 0 as an option
-        var minAllowedLevel = characterCreateRequest.isCommoner() ? "0" : "1";
+        var minAllowedLevel = isCommoner ? "0" : "1";
         levelValues.add(new ConditionValue().setUserEnteredValue(minAllowedLevel));
         levelValues.add(new ConditionValue().setUserEnteredValue("7"));
         condition.setValues(levelValues);
@@ -97,10 +107,15 @@ public class DefaultGoogleSheetBuilderService implements GoogleSheetBuilderServi
         return buildDataValidationRuleWithCondition(condition);
     }
 
-    private DataValidationRule buildProfessionDataValidation() {
+    private DataValidationRule getLevelDataValidation(CharacterCreateRequest characterCreateRequest) {
+        return characterCreateRequest.isCommoner() ?
+                COMMONER_LEVEL_DATA_VALIDATION : CLASS_LEVEL_DATA_VALIDATION;
+    }
+
+    private static DataValidationRule buildProfessionDataValidation(Professions professions) {
         var condition = new BooleanCondition();
         condition.setType("ONE_OF_LIST");
-        var professionValues = professionsService.getAllProfessions().professions().stream()
+        var professionValues = professions.professions().stream()
                 .map(x -> new ConditionValue().setUserEnteredValue(x.name()))
                 .toList();
         condition.setValues(professionValues);
@@ -108,7 +123,20 @@ public class DefaultGoogleSheetBuilderService implements GoogleSheetBuilderServi
         return buildDataValidationRuleWithCondition(condition);
     }
 
-    private DataValidationRule buildCharClassDataValidation() {
+    private DataValidationRule getProfessionDataValidation() {
+        // The profession list is loaded once at startup, so the rule built from it
+        // only needs rebuilding if a different list is returned
+        var professions = professionsService.getAllProfessions();
+        var cachedRule = professionDataValidation;
+        if (cachedRule == null || cachedRule.professions() != professions) {
+            cachedRule = new ProfessionDataValidation(professions, buildProfessionDataValidation(professions));
+            professionDataValidation = cachedRule;
+        }
+
+        return cachedRule.dataValidationRule();
+    }
+
+    private static DataValidationRule buildCharClassDataValidation() {
         var condition = new BooleanCondition();
         condition.setType("ONE_OF_LIST");
         var charClassValues = new ArrayList<ConditionValue>();
@@ -122,13 +150,13 @@ public class DefaultGoogleSheetBuilderService implements GoogleSheetBuilderServi
         return buildDataValidationRuleWithCondition(condition);
     }
 
-    private DataValidationRule buildSpellLevelDataValidation(CharType charType) {
+    private static DataValidationRule buildSpellLevelDataValidation(boolean includeCantrips) {
         var condition = new BooleanCondition();
         condition.setType("ONE_OF_LIST");
         var charClassValues = new ArrayList<ConditionValue>();
 
         var spellLevelValuesList = new ArrayList<String>();
-        if (charType == CharType.MAGE) {
+        if (includeCantrips) {
             spellLevelValuesList.add(CANTRIP_NAME);
         }
         for (var i = 1; i <= 7; i++) {
@@ -145,7 +173,13 @@ public class DefaultGoogleSheetBuilderService implements GoogleSheetBuilderServi
         return buildDataValidationRuleWithCondition(condition);
     }
 
-    private DataValidationRule buildDataValidationRuleWithCondition(BooleanCondition condition) {
+    private DataValidationRule getSpellLevelDataValidation(CharType charType) {
+        // Only mages can learn cantrips
+        return (charType == CharType.MAGE) ?
+                MAGE_SPELL_LEVEL_DATA_VALIDATION : SHAMAN_SPELL_LEVEL_DATA_VALIDATION;
+    }
+
+    private static DataValidationRule buildDataValidationRuleWithCondition(BooleanCondition condition) {
         var dataValidationRule = new DataValidationRule();
         dataValidationRule.setShowCustomUi(true);
         dataValidationRule.setCondition(condition);
@@ -273,13 +307,13 @@ public class DefaultGoogleSheetBuilderService implements GoogleSheetBuilderServi
         var row3 = getRowBuilder()
                 .addCellWithText(characterCreateRequest.characterName())
                 .addCellWithText(characterCreateRequest.species().toCharSheetString(),
-                        buildSpeciesDataValidation())
+                        SPECIES_DATA_VALIDATION)
                 .addCellWithNumber(characterCreateRequest.level(),
-                        buildLevelDataValidation(characterCreateRequest))
+                        getLevelDataValidation(characterCreateRequest))
                 .addCellWithText(profession,
-                        buildProfessionDataValidation())
+                        getProfessionDataValidation())
                 .addCellWithText(charClass,
-                        buildCharClassDataValidation())
+                        CHAR_CLASS_DATA_VALIDATION)
                 .addCellWithText("")
                 .addEmptyCell()
                 .addHighlightedCellWithText("SP")
@@ -594,7 +628,7 @@ public class DefaultGoogleSheetBuilderService implements GoogleSheetBuilderServi
                 .addRow(headerRow);
 
         var spellRow = getRowBuilder()
-                .addCellWithText("", buildSpellLevelDataValidation(charClass))
+                .addCellWithText("", getSpellLevelDataValidation(charClass))
                 .addCellWithText("")
                 .addCellWithText("")
                 .build();
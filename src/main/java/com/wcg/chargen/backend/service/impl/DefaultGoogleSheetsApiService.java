@@ -1,13 +1,34 @@
 package com.wcg.chargen.backend.service.impl;
 
-import com.google.api.services.sheets.v4.model.Spreadsheet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.services.sheets.v4.model.*;
 import com.wcg.chargen.backend.model.GoogleSheetsApiResponse;
 import com.wcg.chargen.backend.service.GoogleSheetsApiService;
+import com.wcg.chargen.backend.util.ServerTimingUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriBuilder;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * This class manages the connection to the Google Sheets REST API.
@@ -16,36 +37,338 @@ import org.springframework.web.client.RestClient;
  * i.e. a one-time use of an access token without need for periodic refresh.
  * The approach taken here actually works, and has the benefit of being much simpler
  * than Google's examples.
+ *
+ * Spreadsheet payloads are large and very repetitive (every cell carries its own format),
+ * so request bodies above a configurable size are sent with Content-Encoding: gzip.
+ * The JSON is serialized once, and then compressed directly into the request stream.
+ *
+ * Spreadsheets too large for a single request (e.g. a whole party of characters) are created
+ * with empty tabs, which are then filled in by chunked batchUpdate requests.  Every request is timed
+ * separately, tagged with whether it created the spreadsheet or filled it in, and the number of
+ * batchUpdate requests each spreadsheet needed is recorded as well.  If filling the tabs in fails, the
+ * half-filled spreadsheet is deleted through the Google Drive API, so that retrying doesn't leave a trail
+ * of broken spreadsheets behind in the user's Drive.
  */
 @Service
 public class DefaultGoogleSheetsApiService implements GoogleSheetsApiService {
+    private static final String GZIP_ENCODING = "gzip";
+    private static final String REQUEST_SIZE_METRIC = "chargen.sheets.api.request.size";
+    private static final String SERIALIZE_METRIC = "chargen.sheets.api.serialize";
+    private static final String REQUEST_METRIC = "chargen.sheets.api.request";
+    private static final String BATCHES_METRIC = "chargen.sheets.api.batches";
+    private static final String CREATE_REQUEST = "create";
+    private static final String BATCH_UPDATE_REQUEST = "batchUpdate";
+    private static final String DELETE_REQUEST = "delete";
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
     private final RestClient restClient;
+    private final RestClient driveRestClient;
+    private final ObjectMapper objectMapper;
+    private final boolean isGzipEnabled;
+    private final int gzipMinSize;
+    private final int maxRequestSize;
+    private final DistributionSummary rawRequestSize;
+    private final DistributionSummary compressedRequestSize;
+    private final Timer serializeTimer;
+    private final DistributionSummary batchesPerSpreadsheet;
+    private final MeterRegistry meterRegistry;
     private final Logger logger = LoggerFactory.getLogger(DefaultGoogleSheetsApiService.class);
 
-    private static final String GOOGLE_SHEETS_URL = "https://sheets.googleapis.com/v4/spreadsheets?fields=spreadsheetId";
+    @Autowired
+    public DefaultGoogleSheetsApiService(ObjectMapper objectMapper,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${wcg.google-sheets.api-url}") String apiUrl,
+                                         @Value("${wcg.google-drive.api-url}") String driveApiUrl,
+                                         @Value("${wcg.google-sheets.gzip.enabled}") boolean isGzipEnabled,
+                                         @Value("${wcg.google-sheets.gzip.min-size}") int gzipMinSize,
+                                         @Value("${wcg.google-sheets.max-request-size}") int maxRequestSize) {
+        this.objectMapper = objectMapper;
+        this.isGzipEnabled = isGzipEnabled;
+        this.gzipMinSize = gzipMinSize;
+        this.maxRequestSize = maxRequestSize;
+        this.meterRegistry = meterRegistry;
 
-    public DefaultGoogleSheetsApiService() {
         restClient = RestClient.builder()
-                .baseUrl(GOOGLE_SHEETS_URL)
+                .baseUrl(apiUrl)
+                .build();
+        driveRestClient = RestClient.builder()
+                .baseUrl(driveApiUrl)
                 .build();
+
+        rawRequestSize = DistributionSummary.builder(REQUEST_SIZE_METRIC)
+                .description("Size of Google Sheets API request bodies")
+                .baseUnit("bytes")
+                .tag("type", "raw")
+                .register(meterRegistry);
+        compressedRequestSize = DistributionSummary.builder(REQUEST_SIZE_METRIC)
+                .description("Size of Google Sheets API request bodies")
+                .baseUnit("bytes")
+                .tag("type", "compressed")
+                .register(meterRegistry);
+        serializeTimer = Timer.builder(SERIALIZE_METRIC)
+                .description("Time taken to serialize spreadsheets and batchUpdate requests to JSON")
+                .register(meterRegistry);
+        batchesPerSpreadsheet = DistributionSummary.builder(BATCHES_METRIC)
+                .description("Number of batchUpdate requests taken to fill in spreadsheets created in chunks")
+                .register(meterRegistry);
     }
+
     @Override
     public String createSpreadsheet(Spreadsheet spreadsheet, String bearerToken) {
         try {
-            var responseEntity = restClient
-                    .post()
+            var payload = serialize(spreadsheet);
+            var sheets = spreadsheet.getSheets();
+            if (payload.length > maxRequestSize && sheets != null && sheets.size() > 1) {
+                logger.info("Spreadsheet payload of {} bytes exceeds limit of {} bytes, creating in chunks",
+                        payload.length, maxRequestSize);
+                return createSpreadsheetInChunks(spreadsheet, bearerToken);
+            }
+
+            return post(CREATE_REQUEST, uriBuilder -> uriBuilder.queryParam("fields", "spreadsheetId").build(),
+                    payload, bearerToken);
+        }
+        catch (Exception e) {
+            logger.error("Error creating Google Sheet", e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Create a spreadsheet that is too large to send in a single request.
+     * The spreadsheet is first created with empty tabs, and the contents of the tabs
+     * are then sent in as few batchUpdate requests as will fit under the size limit.
+     */
+    private String createSpreadsheetInChunks(Spreadsheet spreadsheet, String bearerToken) throws IOException {
+        var sheets = spreadsheet.getSheets();
+
+        // Assign sheet IDs up front so that the later cell updates can refer to the tabs
+        var emptySheets = new ArrayList<Sheet>();
+        var sheetRequestLists = new ArrayList<List<Request>>();
+        for (var i = 0; i < sheets.size(); i++) {
+            var sheetId = i + 1;
+            var sheet = sheets.get(i);
+            var sheetProperties = sheet.getProperties().clone().setSheetId(sheetId);
+            emptySheets.add(new Sheet().setProperties(sheetProperties));
+            sheetRequestLists.add(buildSheetContentRequests(sheet, sheetId));
+        }
+
+        var emptySpreadsheet = new Spreadsheet()
+                .setProperties(spreadsheet.getProperties())
+                .setSheets(emptySheets);
+        var spreadsheetId = post(CREATE_REQUEST,
+                uriBuilder -> uriBuilder.queryParam("fields", "spreadsheetId").build(),
+                serialize(emptySpreadsheet), bearerToken);
+        if (spreadsheetId == null) {
+            return null;
+        }
+
+        try {
+            // Greedily pack whole tabs into each batch; a single tab larger than the limit is sent on its own
+            var batchRequestList = new ArrayList<Request>();
+            var batchSize = 0L;
+            var numBatches = 0;
+            for (var sheetRequestList : sheetRequestLists) {
+                var sheetRequestSize = serialize(sheetRequestList).length;
+                if (!batchRequestList.isEmpty() && batchSize + sheetRequestSize > maxRequestSize) {
+                    batchUpdate(spreadsheetId, batchRequestList, bearerToken);
+                    numBatches++;
+                    batchRequestList = new ArrayList<>();
+                    batchSize = 0;
+                }
+
+                batchRequestList.addAll(sheetRequestList);
+                batchSize += sheetRequestSize;
+            }
+
+            if (!batchRequestList.isEmpty()) {
+                batchUpdate(spreadsheetId, batchRequestList, bearerToken);
+                numBatches++;
+            }
+
+            batchesPerSpreadsheet.record(numBatches);
+            logger.info("Spreadsheet ID {} populated with {} batchUpdate requests", spreadsheetId, numBatches);
+
+            return spreadsheetId;
+        }
+        catch (IOException | RuntimeException e) {
+            deleteSpreadsheet(spreadsheetId, bearerToken);
+            throw e;
+        }
+    }
+
+    private void deleteSpreadsheet(String spreadsheetId, String bearerToken) {
+        var outcome = "error";
+        var requestStartNanos = System.nanoTime();
+        try {
+            driveRestClient
+                    .delete()
+                    .uri("/{fileId}", spreadsheetId)
                     .header(HttpHeaders.AUTHORIZATION, bearerToken)
-                    .body(spreadsheet)
+                    .retrieve()
+                    .toBodilessEntity();
+            outcome = "success";
+            logger.info("Deleted partly created spreadsheet ID {}", spreadsheetId);
+        }
+        catch (Exception e) {
+            // Nothing more can be done here; the original failure is what gets reported
+            logger.error("Could not delete partly created spreadsheet ID {}", spreadsheetId, e);
+        }
+        finally {
+            recordRequest(DELETE_REQUEST, outcome, System.nanoTime() - requestStartNanos);
+        }
+    }
+
+    private List<Request> buildSheetContentRequests(Sheet sheet, int sheetId) {
+        var requestList = new ArrayList<Request>();
+        if (sheet.getData() == null) {
+            return requestList;
+        }
+
+        for (var gridData : sheet.getData()) {
+            var start = new GridCoordinate()
+                    .setSheetId(sheetId)
+                    .setRowIndex(Objects.requireNonNullElse(gridData.getStartRow(), 0))
+                    .setColumnIndex(Objects.requireNonNullElse(gridData.getStartColumn(), 0));
+            requestList.add(new Request().setUpdateCells(new UpdateCellsRequest()
+                    .setStart(start)
+                    .setRows(gridData.getRowData())
+                    .setFields("*")));
+
+            var columnMetadata = gridData.getColumnMetadata();
+            if (columnMetadata == null) {
+                continue;
+            }
+
+            for (var i = 0; i < columnMetadata.size(); i++) {
+                var pixelSize = columnMetadata.get(i).getPixelSize();
+                if (pixelSize == null) {
+                    continue;
+                }
+
+                var column = start.getColumnIndex() + i;
+                requestList.add(new Request().setUpdateDimensionProperties(new UpdateDimensionPropertiesRequest()
+                        .setRange(new DimensionRange()
+                                .setSheetId(sheetId)
+                                .setDimension("COLUMNS")
+                                .setStartIndex(column)
+                                .setEndIndex(column + 1))
+                        .setProperties(new DimensionProperties().setPixelSize(pixelSize))
+                        .setFields("pixelSize")));
+            }
+        }
+
+        return requestList;
+    }
+
+    private void batchUpdate(String spreadsheetId, List<Request> requestList, String bearerToken)
+            throws IOException {
+        var batchUpdateRequest = new BatchUpdateSpreadsheetRequest().setRequests(requestList);
+        var responseId = post(BATCH_UPDATE_REQUEST, uriBuilder -> uriBuilder
+                        .path("/{spreadsheetId}:batchUpdate")
+                        .queryParam("fields", "spreadsheetId")
+                        .build(spreadsheetId),
+                serialize(batchUpdateRequest), bearerToken);
+
+        if (responseId == null) {
+            throw new IllegalStateException("No response to batchUpdate for spreadsheet ID " + spreadsheetId);
+        }
+    }
+
+    private byte[] serialize(Object value) throws IOException {
+        var serializeStartNanos = System.nanoTime();
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        }
+        finally {
+            var serializeNanos = System.nanoTime() - serializeStartNanos;
+            serializeTimer.record(serializeNanos, TimeUnit.NANOSECONDS);
+            ServerTimingUtil.record("serialize", serializeNanos);
+        }
+    }
+
+    private String post(String requestType, Function<UriBuilder, URI> uriFunction, byte[] payload,
+                        String bearerToken) {
+        rawRequestSize.record(payload.length);
+
+        var requestSpec = restClient
+                .post()
+                .uri(uriFunction)
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON);
+
+        if (isGzipEnabled && payload.length >= gzipMinSize) {
+            requestSpec
+                    .header(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING)
+                    .body(outputStream -> writeCompressed(payload, outputStream));
+        }
+        else {
+            requestSpec.body(payload);
+        }
+
+        // The round trip includes compression, since the body is compressed as it is sent
+        var outcome = "error";
+        var requestStartNanos = System.nanoTime();
+        try {
+            var responseEntity = requestSpec
                     .retrieve()
                     .toEntity(GoogleSheetsApiResponse.class);
+            outcome = "success";
             if (responseEntity.hasBody() && responseEntity.getBody() != null) {
                 return responseEntity.getBody().spreadsheetId();
             }
+
+            return null;
         }
-        catch (Exception e) {
-            logger.error("Error creating Google Sheet", e);
+        finally {
+            recordRequest(requestType, outcome, System.nanoTime() - requestStartNanos);
         }
+    }
 
-        return null;
+    private void recordRequest(String requestType, String outcome, long requestNanos) {
+        Timer.builder(REQUEST_METRIC)
+                .description("Time taken by Google Sheets API requests, including the round trip to Google")
+                .tag("request", requestType)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(requestNanos, TimeUnit.NANOSECONDS);
+        ServerTimingUtil.record("upstream", requestNanos);
+    }
+
+    private void writeCompressed(byte[] payload, OutputStream outputStream) throws IOException {
+        // The request stream is owned by the HTTP client, so only finish the gzip stream
+        // rather than letting it close the underlying stream
+        var countingOutputStream = new CountingOutputStream(StreamUtils.nonClosing(outputStream));
+        try (var gzipOutputStream = new GZIPOutputStream(countingOutputStream, GZIP_BUFFER_SIZE)) {
+            gzipOutputStream.write(payload);
+        }
+
+        compressedRequestSize.record(countingOutputStream.getCount());
+        logger.debug("Compressed Google Sheets request body from {} to {} bytes",
+                payload.length, countingOutputStream.getCount());
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count = 0;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
     }
 }
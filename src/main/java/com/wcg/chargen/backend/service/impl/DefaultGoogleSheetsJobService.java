@@ -0,0 +1,254 @@
+package com.wcg.chargen.backend.service.impl;
+
+import com.wcg.chargen.backend.enums.JobStage;
+import com.wcg.chargen.backend.exception.JobQueueFullException;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.JobStatus;
+import com.wcg.chargen.backend.service.CharacterCreateListener;
+import com.wcg.chargen.backend.service.GoogleSheetsCharacterCreateService;
+import com.wcg.chargen.backend.service.GoogleSheetsJobService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs Google Sheets character creation in the background so that clients don't have to hold
+ * a connection open while waiting on Google.
+ *
+ * Jobs are held in memory only, and are forgotten once they have been finished for longer than
+ * the configured time to live. The bearer token is never stored on the job itself:
+ * it is captured by the task that runs the job, and so is released as soon as the job finishes.
+ * Only a limited number of jobs can wait to run, so that a burst of submissions can't hold on to
+ * an unbounded number of tokens; jobs submitted beyond that are rejected.
+ */
+@Service
+public class DefaultGoogleSheetsJobService implements GoogleSheetsJobService {
+    private final Logger logger = LoggerFactory.getLogger(DefaultGoogleSheetsJobService.class);
+
+    private static final long MIN_EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final GoogleSheetsCharacterCreateService googleSheetsCharacterCreateService;
+    private final ExecutorService executorService;
+    private final ScheduledExecutorService evictionExecutorService;
+    private final int maxQueuedJobs;
+    private final long jobTtlNanos;
+    private final Map<String, Job> jobMap = new ConcurrentHashMap<>();
+
+    private static class Job {
+        private volatile JobStatus status;
+        private volatile long finishedAtNanos;
+        // Incremented with each status change, so that subscriptions can tell which status is newer
+        private int statusVersion = 0;
+        private final List<Subscription> subscriptionList = new CopyOnWriteArrayList<>();
+
+        Job(JobStatus status) {
+            this.status = status;
+        }
+    }
+
+    /**
+     * A subscriber to a job's status.  Statuses are sent to subscribers without holding the job's lock,
+     * so a subscriber's first status may be sent at the same time as a later one from the job itself;
+     * the version makes sure that neither is sent twice, or out of order.
+     */
+    private static class Subscription {
+        private final Consumer<JobStatus> subscriber;
+        private int lastVersion = -1;
+
+        Subscription(Consumer<JobStatus> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        synchronized void send(JobStatus status, int version) {
+            if (version > lastVersion) {
+                lastVersion = version;
+                subscriber.accept(status);
+            }
+        }
+    }
+
+    @Autowired
+    public DefaultGoogleSheetsJobService(GoogleSheetsCharacterCreateService googleSheetsCharacterCreateService,
+                                         @Value("${wcg.jobs.max-concurrent}") int maxConcurrentJobs,
+                                         @Value("${wcg.jobs.max-queued}") int maxQueuedJobs,
+                                         @Value("${wcg.jobs.ttl}") Duration jobTtl) {
+        this.googleSheetsCharacterCreateService = googleSheetsCharacterCreateService;
+        this.maxQueuedJobs = maxQueuedJobs;
+        this.jobTtlNanos = jobTtl.toNanos();
+
+        // Jobs spend most of their time waiting on Google, so virtual threads are a good fit;
+        // the fixed pool size caps how many calls are made against the API at once.
+        // The default rejection policy throws once the queue is full.
+        executorService = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueuedJobs),
+                Thread.ofVirtual().name("sheets-job-", 0).factory());
+
+        // Jobs are also evicted on submit, but that alone would leave finished jobs around
+        // for as long as nothing new was submitted
+        var evictionIntervalNanos = Math.max(jobTtlNanos, MIN_EVICTION_INTERVAL_NANOS);
+        evictionExecutorService = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("sheets-job-eviction").factory());
+        evictionExecutorService.scheduleWithFixedDelay(this::evictExpiredJobs,
+                evictionIntervalNanos, evictionIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    private void preDestroy() {
+        evictionExecutorService.shutdownNow();
+        executorService.shutdownNow();
+    }
+
+    @Override
+    public JobStatus submit(CharacterCreateRequest characterCreateRequest, String bearerToken) {
+        evictExpiredJobs();
+
+        var jobId = UUID.randomUUID().toString();
+        var queuedStatus = new JobStatus(jobId, JobStage.QUEUED, null, null);
+        var job = new Job(queuedStatus);
+        jobMap.put(jobId, job);
+
+        try {
+            executorService.execute(() -> runJob(job, characterCreateRequest, bearerToken));
+        }
+        catch (RejectedExecutionException e) {
+            jobMap.remove(jobId);
+            throw new JobQueueFullException(maxQueuedJobs);
+        }
+
+        // The job may already have moved on by now, so return the status it was submitted with
+        return queuedStatus;
+    }
+
+    @Override
+    public JobStatus getStatus(String jobId) {
+        var job = jobMap.get(jobId);
+
+        return (job != null) ? job.status : null;
+    }
+
+    @Override
+    public boolean subscribe(String jobId, Consumer<JobStatus> subscriber) {
+        var job = jobMap.get(jobId);
+        if (job == null) {
+            return false;
+        }
+
+        // Synchronize with updateStatus so that the subscriber sees the current status
+        // and then every later one, without gaps or duplicates
+        var subscription = new Subscription(subscriber);
+        JobStatus status;
+        int version;
+        synchronized (job) {
+            status = job.status;
+            version = job.statusVersion;
+            if (!status.stage().isTerminal()) {
+                job.subscriptionList.add(subscription);
+            }
+        }
+
+        sendStatus(job, subscription, status, version);
+
+        return true;
+    }
+
+    @Override
+    public void unsubscribe(String jobId, Consumer<JobStatus> subscriber) {
+        var job = jobMap.get(jobId);
+        if (job != null) {
+            job.subscriptionList.removeIf(subscription -> subscription.subscriber == subscriber);
+        }
+    }
+
+    private void runJob(Job job, CharacterCreateRequest characterCreateRequest, String bearerToken) {
+        var listener = new CharacterCreateListener() {
+            private String spreadsheetId;
+
+            @Override
+            public void onStage(JobStage stage) {
+                updateStatus(job, stage, null, null);
+            }
+
+            @Override
+            public void onSpreadsheetCreated(String spreadsheetId) {
+                this.spreadsheetId = spreadsheetId;
+            }
+        };
+
+        try {
+            var status = googleSheetsCharacterCreateService.createCharacter(characterCreateRequest,
+                    bearerToken, listener);
+            if (status.isSuccess()) {
+                updateStatus(job, JobStage.DONE, listener.spreadsheetId, null);
+            }
+            else {
+                updateStatus(job, JobStage.FAILED, null, status.message());
+            }
+        }
+        catch (Exception e) {
+            logger.error("Exception thrown when running job {}", job.status.jobId(), e);
+            updateStatus(job, JobStage.FAILED, null, e.getMessage());
+        }
+    }
+
+    private void updateStatus(Job job, JobStage stage, String spreadsheetId, String message) {
+        // Take a copy of the status and subscriptions under the lock, but send outside it,
+        // so that a slow subscriber holds up neither the job nor anyone subscribing to it
+        JobStatus status;
+        int version;
+        List<Subscription> subscriptionList;
+        synchronized (job) {
+            // Eviction reads these without locking, so record the finish time before the status changes
+            if (stage.isTerminal()) {
+                job.finishedAtNanos = System.nanoTime();
+            }
+            status = new JobStatus(job.status.jobId(), stage, spreadsheetId, message);
+            job.status = status;
+            version = ++job.statusVersion;
+            subscriptionList = List.copyOf(job.subscriptionList);
+
+            if (stage.isTerminal()) {
+                job.subscriptionList.clear();
+            }
+        }
+
+        for (var subscription : subscriptionList) {
+            sendStatus(job, subscription, status, version);
+        }
+    }
+
+    private void sendStatus(Job job, Subscription subscription, JobStatus status, int version) {
+        try {
+            subscription.send(status, version);
+        }
+        catch (Exception e) {
+            // A subscriber that can't receive updates (e.g. a closed connection) is dropped
+            logger.debug("Removing subscriber from job {}", status.jobId(), e);
+            job.subscriptionList.remove(subscription);
+        }
+    }
+
+    private void evictExpiredJobs() {
+        var now = System.nanoTime();
+        jobMap.values().removeIf(job -> job.status.stage().isTerminal() &&
+                now - job.finishedAtNanos > jobTtlNanos);
+    }
+}
@@ -0,0 +1,141 @@
+package com.wcg.chargen.backend.service.impl;
+
+import com.wcg.chargen.backend.exception.IdempotencyKeyReusedException;
+import com.wcg.chargen.backend.service.IdempotencyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * In-memory implementation of idempotency keys.
+ *
+ * Calls in flight are tracked separately from completed results, so that identical concurrent
+ * requests share one computation. Completed results are held in a bounded LRU map and expire
+ * after a fixed time to live. Exceptions and results that aren't cacheable are never retained,
+ * so a client can retry after a failure with the same key.
+ */
+@Service
+public class DefaultIdempotencyService implements IdempotencyService {
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<String, InFlight> inFlightMap = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Completed> completedMap;
+
+    private record InFlight(Object request, CompletableFuture<Object> future) {}
+
+    private record Completed(Object request, Object result, long expiresAtNanos) {}
+
+    @Autowired
+    public DefaultIdempotencyService(@Value("${wcg.idempotency.max-entries}") int maxEntries,
+                                     @Value("${wcg.idempotency.ttl}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+
+        // Access-ordered, so the eldest entry is always the least recently used one
+        completedMap = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Completed> eldest) {
+                return size() > DefaultIdempotencyService.this.maxEntries;
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String idempotencyKey, Object request,
+                         Supplier<T> computation, Predicate<T> isCacheable) {
+        if (idempotencyKey == null) {
+            return computation.get();
+        }
+
+        var key = scope + ":" + idempotencyKey;
+
+        var completed = getCompleted(key);
+        if (completed != null) {
+            checkRequest(idempotencyKey, completed.request(), request);
+            return (T) completed.result();
+        }
+
+        var inFlight = new InFlight(request, new CompletableFuture<>());
+        var existingInFlight = inFlightMap.putIfAbsent(key, inFlight);
+        if (existingInFlight != null) {
+            checkRequest(idempotencyKey, existingInFlight.request(), request);
+            return (T) join(existingInFlight.future());
+        }
+
+        try {
+            // Another call may have completed between the cache lookup and claiming the key
+            completed = getCompleted(key);
+            if (completed != null) {
+                checkRequest(idempotencyKey, completed.request(), request);
+                inFlight.future().complete(completed.result());
+                return (T) completed.result();
+            }
+
+            var result = computation.get();
+            if (isCacheable.test(result)) {
+                // Cache before releasing the key so there's no window in which the computation could run again
+                putCompleted(key, new Completed(request, result, System.nanoTime() + ttlNanos));
+            }
+            inFlight.future().complete(result);
+
+            return result;
+        }
+        catch (RuntimeException | Error e) {
+            inFlight.future().completeExceptionally(e);
+            throw e;
+        }
+        finally {
+            inFlightMap.remove(key, inFlight);
+        }
+    }
+
+    private Completed getCompleted(String key) {
+        synchronized (completedMap) {
+            var completed = completedMap.get(key);
+            if (completed != null && System.nanoTime() - completed.expiresAtNanos() > 0) {
+                completedMap.remove(key);
+                return null;
+            }
+
+            return completed;
+        }
+    }
+
+    private void putCompleted(String key, Completed completed) {
+        synchronized (completedMap) {
+            completedMap.put(key, completed);
+        }
+    }
+
+    private static void checkRequest(String idempotencyKey, Object originalRequest, Object request) {
+        if (!Objects.equals(originalRequest, request)) {
+            throw new IdempotencyKeyReusedException(idempotencyKey);
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
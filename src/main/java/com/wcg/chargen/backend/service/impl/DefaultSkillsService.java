@@ -11,7 +11,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.TreeSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 @Service
 public class DefaultSkillsService implements SkillsService {
@@ -25,6 +26,17 @@ public class DefaultSkillsService implements SkillsService {
 
     private static final SkillsResponse EMPTY_RESPONSE = new SkillsResponse();
 
+    private record SkillMaskEntry(Object source, long mask) {}
+
+    // Built as each class and species is first asked for.  Each entry remembers the class or species
+    // it was built from, and is rebuilt if that's been replaced, so reloading the game data can't
+    // leave stale masks behind.  Masks with unknown skills aren't stored, so those will be logged
+    // again on each request.
+    private final AtomicReferenceArray<SkillMaskEntry> classSkillMasks =
+            new AtomicReferenceArray<>(CharType.values().length);
+    private final AtomicReferenceArray<SkillMaskEntry> speciesSkillMasks =
+            new AtomicReferenceArray<>(SpeciesType.values().length);
+
     @Autowired
     public DefaultSkillsService(SkillsProvider skillsProvider,
                                 CharClassesService charClassesService,
@@ -39,62 +51,76 @@ public class DefaultSkillsService implements SkillsService {
         logger.info("Getting skills for character class {} and species {}", charType, speciesType);
 
         var response = new SkillsResponse();
-        var charClass = charClassesService.getCharClassByType(charType);
-        var species = speciesService.getSpeciesByType(speciesType);
 
-        // Use TreeSets in this method to sort the values
-        var charClassSkillSet = new TreeSet<>(charClass.skills());
+        // Masks with the bit set for each skill id, so the sets can be combined without
+        // allocating anything, and iterated over in alphabetical order of skill name
+        var charClass = charClassesService.getCharClassByType(charType);
+        var charClassSkillMask = getSkillMask(classSkillMasks, charType.ordinal(), charClass,
+                charClass.skills(), "class");
         // The species-specific skills are null for humans, since they can take any skill
         // as a bonus skill
-        var speciesSkillSet = (species.skills() != null) ?
-                new TreeSet<>(species.skills()) :
-                new TreeSet<String>();
-
-        // Set containing the names of all skills
-        var allSkillSet = skillsProvider.getSkillNameSet();
-
-        // Add skill object for each class skill to the response,
-        // and remove that object from the overall list
-        for (var classSkill : charClassSkillSet) {
-            var skillObj = skillsProvider.getByName(classSkill);
-            if (skillObj == null) {
-                logger.error("No skill object found for class skill {}", classSkill);
-                return EMPTY_RESPONSE;
-            }
-            response.addClassSkill(skillObj);
-            allSkillSet.remove(classSkill);
+        var species = speciesService.getSpeciesByType(speciesType);
+        var speciesSkillMask = getSkillMask(speciesSkillMasks, speciesType.ordinal(), species,
+                species.skills(), "species");
+        if (charClassSkillMask == null || speciesSkillMask == null) {
+            return EMPTY_RESPONSE;
         }
 
-        for (var speciesSkill : speciesSkillSet) {
-            // Don't add any species skills that are already part of the character class skills,
-            // as players should take an unique species skill.
-            // For example, an elf shaman should not have Arcana or Nature in their species skill list,
-            // since they already get them as class skills.
-            if (!charClassSkillSet.contains(speciesSkill)) {
-                var skillObj = skillsProvider.getByName(speciesSkill);
-                if (skillObj == null) {
-                    logger.error("No skill object found for species skill {}", speciesSkill);
-                    return EMPTY_RESPONSE;
-                }
-
-                response.addSpeciesSkill(skillObj);
-            }
+        for (var mask = charClassSkillMask.longValue(); mask != 0; mask &= mask - 1) {
+            response.addClassSkill(skillsProvider.getById(Long.numberOfTrailingZeros(mask)));
         }
 
-        // The overall skills remaining in the list will constitute the bonus skills,
+        // Don't add any species skills that are already part of the character class skills,
+        // as players should take an unique species skill.
+        // For example, an elf shaman should not have Arcana or Nature in their species skill list,
+        // since they already get them as class skills.
+        for (var mask = speciesSkillMask & ~charClassSkillMask; mask != 0; mask &= mask - 1) {
+            response.addSpeciesSkill(skillsProvider.getById(Long.numberOfTrailingZeros(mask)));
+        }
+
+        // All skills other than the class skills constitute the bonus skills,
         // i.e. other skills a player can choose when creating their character
-        for (var bonusSkill : allSkillSet) {
-            var skillObj = skillsProvider.getByName(bonusSkill);
-            // This is purely defensive coding: the condition can never be true,
-            // since allSkillSet is the result of calling skillsMap.keySet()
-            if (skillObj == null) {
-                logger.error("No skill object found for bonus skill {}", bonusSkill);
-                return EMPTY_RESPONSE;
+        for (var mask = skillsProvider.getAllSkillsMask() & ~charClassSkillMask; mask != 0; mask &= mask - 1) {
+            response.addBonusSkill(skillsProvider.getById(Long.numberOfTrailingZeros(mask)));
+        }
+
+        return response;
+    }
+
+    /**
+     * @return Cached mask for the given class or species, or null if any of its skills isn't a skill
+     */
+    private Long getSkillMask(AtomicReferenceArray<SkillMaskEntry> entries, int index, Object source,
+                              List<String> skillNameList, String skillType) {
+        var entry = entries.get(index);
+        if (entry == null || entry.source() != source) {
+            var mask = getSkillMask(skillNameList, skillType);
+            if (mask == null) {
+                return null;
             }
 
-            response.addBonusSkill(skillObj);
+            // If two threads get here at once, they'll both build the same mask
+            entry = new SkillMaskEntry(source, mask);
+            entries.set(index, entry);
         }
 
-        return response;
+        return entry.mask();
+    }
+
+    /**
+     * @return Mask with the bit set for each of the named skills, or null if any of them isn't a skill
+     */
+    private Long getSkillMask(List<String> skillNameList, String skillType) {
+        if (skillNameList == null) {
+            return 0L;
+        }
+
+        try {
+            return skillsProvider.getSkillMask(skillNameList);
+        }
+        catch (IllegalArgumentException e) {
+            logger.error("Error getting {} skills {}: {}", skillType, skillNameList, e.getMessage());
+            return null;
+        }
     }
 }
@@ -0,0 +1,303 @@
+package com.wcg.chargen.backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wcg.chargen.backend.enums.AttributeType;
+import com.wcg.chargen.backend.enums.CharType;
+import com.wcg.chargen.backend.enums.SpeciesType;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.Feature;
+import com.wcg.chargen.backend.model.FeaturesRequest;
+import com.wcg.chargen.backend.model.WarmUpStatus;
+import com.wcg.chargen.backend.service.*;
+import com.wcg.chargen.backend.worker.SkillsProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.wcg.chargen.backend.service.impl.DefaultFeaturesService.CUMULATIVE_TIER_1_FEATURES_PER_LEVEL;
+import static com.wcg.chargen.backend.service.impl.DefaultFeaturesService.CUMULATIVE_TIER_2_FEATURES_PER_LEVEL;
+
+/**
+ * Warms up the JIT compiler once the application has started, so that the first real requests
+ * after a deploy don't run through PDFBox, Jackson and the character sheet code in the interpreter.
+ *
+ * Each round renders a fillable and a flattened PDF for every class at several levels and for several
+ * commoners, builds and serializes (but doesn't send) a Google Sheets spreadsheet for each class character,
+ * and looks up and serializes the data returned by each of the reference data endpoints.  This runs on a background
+ * thread, and the readiness probe reports OUT_OF_SERVICE until every round has run or the time budget has been used up.
+ *
+ * Everything is called in-process rather than over HTTP, so none of it passes through the request filters or
+ * shows up in the HTTP server metrics.  The synthetic characters go through the same services as real requests,
+ * but aren't recorded in the character creation metrics or Flight Recorder events either, so warm-up doesn't
+ * skew any of them.  Warm-up is skipped when the application isn't running a web server, e.g. in tests that use
+ * a mock servlet environment, since there are no real requests to warm up for.
+ */
+@Service
+public class DefaultWarmUpService implements WarmUpService {
+    private static final String CHARACTER_NAME = "Warm-up";
+    private static final List<Integer> CLASS_LEVELS = List.of(1, 4, 7);
+    private static final int NUM_COMMONERS = 3;
+    private static final Map<String, Integer> ATTRIBUTES_MAP = buildAttributesMap();
+
+    private final Logger logger = LoggerFactory.getLogger(DefaultWarmUpService.class);
+
+    private final PdfCharacterCreateService pdfCharacterCreateService;
+    private final GoogleSheetsCharacterCreateService googleSheetsCharacterCreateService;
+    private final CharacterCreateRequestValidatorService characterCreateRequestValidatorService;
+    private final CharacterCreateMetricsService characterCreateMetricsService;
+    private final CharClassesService charClassesService;
+    private final SpeciesService speciesService;
+    private final ProfessionsService professionsService;
+    private final SkillsService skillsService;
+    private final FeaturesService featuresService;
+    private final SkillsProvider skillsProvider;
+    private final ObjectMapper objectMapper;
+    private final boolean isEnabled;
+    private final int rounds;
+    private final Duration timeBudget;
+
+    private volatile WarmUpStatus status = WarmUpStatus.NOT_STARTED;
+
+    @Autowired
+    public DefaultWarmUpService(PdfCharacterCreateService pdfCharacterCreateService,
+                                GoogleSheetsCharacterCreateService googleSheetsCharacterCreateService,
+                                CharacterCreateRequestValidatorService characterCreateRequestValidatorService,
+                                CharacterCreateMetricsService characterCreateMetricsService,
+                                CharClassesService charClassesService,
+                                SpeciesService speciesService,
+                                ProfessionsService professionsService,
+                                SkillsService skillsService,
+                                FeaturesService featuresService,
+                                SkillsProvider skillsProvider,
+                                ObjectMapper objectMapper,
+                                @Value("${wcg.warm-up.enabled}") boolean isEnabled,
+                                @Value("${wcg.warm-up.rounds}") int rounds,
+                                @Value("${wcg.warm-up.time-budget}") Duration timeBudget) {
+        this.pdfCharacterCreateService = pdfCharacterCreateService;
+        this.googleSheetsCharacterCreateService = googleSheetsCharacterCreateService;
+        this.characterCreateRequestValidatorService = characterCreateRequestValidatorService;
+        this.characterCreateMetricsService = characterCreateMetricsService;
+        this.charClassesService = charClassesService;
+        this.speciesService = speciesService;
+        this.professionsService = professionsService;
+        this.skillsService = skillsService;
+        this.featuresService = featuresService;
+        this.skillsProvider = skillsProvider;
+        this.objectMapper = objectMapper;
+        this.isEnabled = isEnabled;
+        this.rounds = rounds;
+        this.timeBudget = timeBudget;
+    }
+
+    @Override
+    public WarmUpStatus getStatus() {
+        return status;
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        var port = event.getApplicationContext().getEnvironment().getProperty("local.server.port", Integer.class);
+        if (!isEnabled || port == null) {
+            status = WarmUpStatus.SKIPPED;
+            return;
+        }
+
+        Thread.ofPlatform()
+                .name("warm-up")
+                .daemon()
+                .start(this::warmUp);
+    }
+
+    /**
+     * Run the warm-up rounds.
+     * This always ends by marking warm-up complete, even if it fails, so that a problem here
+     * can never keep the application out of service.
+     */
+    void warmUp() {
+        var startNanos = System.nanoTime();
+        var deadlineNanos = startNanos + timeBudget.toNanos();
+        var roundsCompleted = 0;
+        var charactersRendered = 0;
+        var isTimedOut = false;
+
+        try {
+            var requestList = buildRequests();
+            logger.info("Starting warm-up with {} characters and {} rounds", requestList.size(), rounds);
+
+            roundLoop:
+            for (var round = 0; round < rounds; round++) {
+                for (var request : requestList) {
+                    if (System.nanoTime() - deadlineNanos > 0) {
+                        isTimedOut = true;
+                        break roundLoop;
+                    }
+
+                    characterCreateMetricsService.runUnrecorded(() -> {
+                        renderCharacter(request);
+                        return null;
+                    });
+                    charactersRendered++;
+                }
+
+                lookUpReferenceData(round);
+                roundsCompleted++;
+            }
+        }
+        catch (Exception e) {
+            logger.warn("Warm-up failed, reporting ready anyway", e);
+        }
+
+        var elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        status = new WarmUpStatus(true, roundsCompleted, charactersRendered, elapsedMillis, isTimedOut);
+        if (isTimedOut) {
+            logger.warn("Warm-up stopped after time budget of {} with {} of {} rounds completed",
+                    timeBudget, roundsCompleted, rounds);
+        }
+        else {
+            logger.info("Warm-up completed {} rounds in {} ms", roundsCompleted, elapsedMillis);
+        }
+    }
+
+    private void renderCharacter(CharacterCreateRequest request) throws IOException {
+        var pdfStatus = pdfCharacterCreateService.createCharacter(request);
+        if (pdfStatus.errMsg() != null) {
+            logger.warn("Warm-up PDF for {} failed: {}", request.characterName(), pdfStatus.errMsg());
+        }
+        var printPdfStatus = pdfCharacterCreateService.createCharacter(request, true);
+        if (printPdfStatus.errMsg() != null) {
+            logger.warn("Warm-up flattened PDF for {} failed: {}", request.characterName(), printPdfStatus.errMsg());
+        }
+
+        // Only class characters can be created as Google Sheets
+        if (request.isCommoner()) {
+            return;
+        }
+
+        // Build the spreadsheet exactly as a real request would, with its sheets built concurrently,
+        // and serialize it as the API service would, but don't send it anywhere
+        var spreadsheet = googleSheetsCharacterCreateService.buildSpreadsheet(request);
+        objectMapper.writeValueAsBytes(spreadsheet);
+    }
+
+    private void lookUpReferenceData(int round) {
+        var speciesTypes = SpeciesType.values();
+        var charTypes = CharType.values();
+        for (var i = 0; i < charTypes.length; i++) {
+            // Vary the species and level from class to class and round to round
+            var charType = charTypes[i];
+            var speciesType = speciesTypes[(i + round) % speciesTypes.length];
+            var level = (i + round) % CUMULATIVE_TIER_1_FEATURES_PER_LEVEL.length + 1;
+
+            lookUp("skills", () -> skillsService.getSkills(charType, speciesType));
+            lookUp("features", () -> featuresService.getFeatures(charType, level));
+        }
+
+        lookUp("professions", professionsService::getAllProfessions);
+        lookUp("random professions", professionsService::generateRandomProfessions);
+    }
+
+    private void lookUp(String name, Supplier<Object> supplier) {
+        // Serialize the result as the endpoint would, so that Jackson's serializers for it are warmed up too
+        try {
+            objectMapper.writeValueAsBytes(supplier.get());
+        }
+        catch (Exception e) {
+            // A lookup that fails has still run its code, so this isn't a reason to stop
+            logger.warn("Warm-up lookup of {} failed: {}", name, e.toString());
+        }
+    }
+
+    /**
+     * Build a valid character for every class at each of the warm-up levels, plus a few commoners,
+     * spreading them across the species.  Characters that aren't valid (which would only happen if
+     * the game data changed in a way this doesn't allow for) are left out, since they'd only
+     * exercise the validation.
+     */
+    List<CharacterCreateRequest> buildRequests() {
+        var requestList = new ArrayList<CharacterCreateRequest>();
+        var speciesTypes = SpeciesType.values();
+
+        var charTypes = CharType.values();
+        for (var i = 0; i < charTypes.length; i++) {
+            for (var level : CLASS_LEVELS) {
+                requestList.add(buildClassRequest(charTypes[i], speciesTypes[i % speciesTypes.length], level));
+            }
+        }
+
+        var professionList = professionsService.getAllProfessions().professions();
+        for (var i = 0; i < Math.min(NUM_COMMONERS, professionList.size()); i++) {
+            requestList.add(buildCommonerRequest(professionList.get(i).name(), speciesTypes[i % speciesTypes.length]));
+        }
+
+        return requestList.stream()
+                .filter(request -> {
+                    var status = characterCreateRequestValidatorService.validate(request);
+                    if (!status.isSuccess()) {
+                        logger.warn("Leaving warm-up character out: {}", status.message());
+                    }
+                    return status.isSuccess();
+                })
+                .toList();
+    }
+
+    private CharacterCreateRequest buildClassRequest(CharType charType, SpeciesType speciesType, int level) {
+        var species = speciesService.getSpeciesByType(speciesType);
+        var isHuman = speciesType.isHuman();
+        var bonusSkills = skillsProvider.getSkillNameSet().stream()
+                .sorted()
+                .limit(isHuman ? 2 : 1)
+                .toList();
+
+        FeaturesRequest featuresRequest = null;
+        if (level > 1) {
+            var features = charClassesService.getCharClassByType(charType).features();
+            featuresRequest = new FeaturesRequest(
+                    features.tier1().stream()
+                            .map(Feature::description)
+                            .limit(CUMULATIVE_TIER_1_FEATURES_PER_LEVEL[level - 1])
+                            .toList(),
+                    features.tier2().stream()
+                            .map(Feature::description)
+                            .limit(CUMULATIVE_TIER_2_FEATURES_PER_LEVEL[level - 1])
+                            .toList());
+        }
+
+        return new CharacterCreateRequest(CHARACTER_NAME, charType, speciesType, null, level, ATTRIBUTES_MAP,
+                isHuman ? AttributeType.STR.name() : species.strengths().getFirst(),
+                isHuman ? null : species.weaknesses().getFirst(),
+                isHuman ? null : species.skills().getFirst(),
+                bonusSkills, true, featuresRequest);
+    }
+
+    private CharacterCreateRequest buildCommonerRequest(String profession, SpeciesType speciesType) {
+        var species = speciesService.getSpeciesByType(speciesType);
+        var isHuman = speciesType.isHuman();
+
+        return new CharacterCreateRequest(CHARACTER_NAME, null, speciesType, profession, 0, ATTRIBUTES_MAP,
+                isHuman ? AttributeType.STR.name() : species.strengths().getFirst(),
+                isHuman ? null : species.weaknesses().getFirst(),
+                null, null, null, null);
+    }
+
+    private static Map<String, Integer> buildAttributesMap() {
+        // The heroic attribute array, which is valid for both class characters and commoners
+        var attributeValues = List.of(-1, 0, 0, 0, 1, 2, 2);
+        var attributesMap = new LinkedHashMap<String, Integer>();
+        var attributeTypes = AttributeType.values();
+        for (var i = 0; i < attributeTypes.length; i++) {
+            attributesMap.put(attributeTypes[i].name(), attributeValues.get(i));
+        }
+
+        return Collections.unmodifiableMap(attributesMap);
+    }
+}
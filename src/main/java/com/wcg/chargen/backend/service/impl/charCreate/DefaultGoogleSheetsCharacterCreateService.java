@@ -1,18 +1,30 @@
 package com.wcg.chargen.backend.service.impl.charCreate;
 
 import com.google.api.services.sheets.v4.model.*;
+import com.wcg.chargen.backend.enums.CharacterCreateStage;
+import com.wcg.chargen.backend.enums.JobStage;
+import com.wcg.chargen.backend.enums.OutputType;
 import com.wcg.chargen.backend.model.CharacterCreateRequest;
 import com.wcg.chargen.backend.model.CharacterCreateStatus;
+import com.wcg.chargen.backend.model.PartyCreateRequest;
 
 import com.wcg.chargen.backend.service.*;
+import com.wcg.chargen.backend.util.ConcurrencyUtil;
 import com.wcg.chargen.backend.worker.CharacterSheetWorker;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
 @Service
 public class DefaultGoogleSheetsCharacterCreateService implements GoogleSheetsCharacterCreateService {
@@ -27,19 +39,44 @@ public class DefaultGoogleSheetsCharacterCreateService implements GoogleSheetsCh
     CharacterCreateRequestValidatorService characterCreateRequestValidatorService;
     @Autowired
     CharacterSheetWorker characterSheetWorker;
+    @Autowired
+    CharacterCreateMetricsService characterCreateMetricsService;
+
+    private static final String PARTY_NAME_PREFIX = "Party_";
+    private static final DateTimeFormatter PARTY_NAME_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final int MAX_TAB_PREFIX_LENGTH = 50;
 
     @Override
     public CharacterCreateStatus createCharacter(CharacterCreateRequest characterCreateRequest, String bearerToken) {
+        return createCharacter(characterCreateRequest, bearerToken, CharacterCreateListener.NONE);
+    }
+
+    @Override
+    public CharacterCreateStatus createCharacter(CharacterCreateRequest characterCreateRequest, String bearerToken,
+                                                 CharacterCreateListener listener) {
         try {
-            var status = characterCreateRequestValidatorService.validate(characterCreateRequest);
+            var status = characterCreateMetricsService.timeStage(OutputType.GOOGLE_SHEETS,
+                    CharacterCreateStage.VALIDATE, characterCreateRequest,
+                    () -> characterCreateRequestValidatorService.validate(characterCreateRequest),
+                    CharacterCreateStatus::isSuccess);
             if (!status.isSuccess()) {
                 // If the request isn't valid, abort here
                 return status;
             }
+            listener.onStage(JobStage.VALIDATED);
 
-            var spreadsheet = buildSpreadsheet(characterCreateRequest);
+            var spreadsheet = characterCreateMetricsService.timeStage(OutputType.GOOGLE_SHEETS,
+                    CharacterCreateStage.BUILD, characterCreateRequest,
+                    () -> buildSpreadsheet(characterCreateRequest));
             logger.debug("Spreadsheet to create = {}", spreadsheet);
-            var spreadsheetId = googleSheetsApiService.createSpreadsheet(spreadsheet, bearerToken);
+            listener.onStage(JobStage.BUILT);
+
+            // Serialization and the call to Google are timed separately by the API service
+            listener.onStage(JobStage.UPLOADING);
+            var spreadsheetId = characterCreateMetricsService.timeStage(OutputType.GOOGLE_SHEETS,
+                    CharacterCreateStage.UPLOAD, characterCreateRequest,
+                    () -> googleSheetsApiService.createSpreadsheet(spreadsheet, bearerToken),
+                    Objects::nonNull);
 
             if (spreadsheetId == null) {
                 logger.error("Error when creating Google Sheet");
@@ -48,6 +85,7 @@ public class DefaultGoogleSheetsCharacterCreateService implements GoogleSheetsCh
             else {
                 logger.info("Spreadsheet ID {} created for spreadsheet {}",
                         spreadsheetId, spreadsheet.getProperties().getTitle());
+                listener.onSpreadsheetCreated(spreadsheetId);
             }
 
             return CharacterCreateStatus.SUCCESS;
@@ -58,7 +96,54 @@ public class DefaultGoogleSheetsCharacterCreateService implements GoogleSheetsCh
         }
     }
 
-    private Spreadsheet buildSpreadsheet(CharacterCreateRequest characterCreateRequest) {
+    @Override
+    public CharacterCreateStatus createParty(PartyCreateRequest partyCreateRequest, String bearerToken) {
+        try {
+            var characterList = partyCreateRequest.characters();
+            for (var i = 0; i < characterList.size(); i++) {
+                var characterCreateRequest = characterList.get(i);
+                var status = characterCreateMetricsService.timeStage(OutputType.GOOGLE_SHEETS_PARTY,
+                        CharacterCreateStage.VALIDATE, characterCreateRequest,
+                        () -> characterCreateRequestValidatorService.validate(characterCreateRequest),
+                        CharacterCreateStatus::isSuccess);
+                if (!status.isSuccess()) {
+                    // If any character isn't valid, abort here, identifying the character at fault
+                    return new CharacterCreateStatus(false,
+                            String.format("Character %d: %s", i + 1, status.message()));
+                }
+            }
+
+            // The party as a whole isn't a single character, so the build and upload aren't tagged with one
+            var spreadsheet = characterCreateMetricsService.timeStage(OutputType.GOOGLE_SHEETS_PARTY,
+                    CharacterCreateStage.BUILD, null,
+                    () -> buildPartySpreadsheet(characterList));
+            logger.debug("Party spreadsheet to create = {}", spreadsheet);
+
+            // Serialization, the call to Google and any chunking are timed separately by the API service
+            var spreadsheetId = characterCreateMetricsService.timeStage(OutputType.GOOGLE_SHEETS_PARTY,
+                    CharacterCreateStage.UPLOAD, null,
+                    () -> googleSheetsApiService.createSpreadsheet(spreadsheet, bearerToken),
+                    Objects::nonNull);
+
+            if (spreadsheetId == null) {
+                logger.error("Error when creating Google Sheet for party");
+                return new CharacterCreateStatus(false, "Error creating Google Sheet");
+            }
+            else {
+                logger.info("Spreadsheet ID {} created for party spreadsheet {} with {} characters",
+                        spreadsheetId, spreadsheet.getProperties().getTitle(), characterList.size());
+            }
+
+            return CharacterCreateStatus.SUCCESS;
+        }
+        catch (Exception e) {
+            logger.error("Exception thrown when creating Google Sheet for party", e);
+            return new CharacterCreateStatus(false, e.getMessage());
+        }
+    }
+
+    @Override
+    public Spreadsheet buildSpreadsheet(CharacterCreateRequest characterCreateRequest) {
         var title = characterSheetWorker.generateName(characterCreateRequest);
 
         var spreadsheet = new Spreadsheet()
@@ -69,23 +154,61 @@ public class DefaultGoogleSheetsCharacterCreateService implements GoogleSheetsCh
         return spreadsheet;
     }
 
+    private Spreadsheet buildPartySpreadsheet(List<CharacterCreateRequest> characterList) {
+        var title = PARTY_NAME_PREFIX + LocalDateTime.now().format(PARTY_NAME_DATE_TIME_FORMATTER);
+
+        // Every sheet for every character is built concurrently; each character's tabs
+        // are grouped together and prefixed with the character's name
+        var sheetTaskList = new ArrayList<Callable<Sheet>>();
+        var usedTabPrefixes = new HashSet<String>();
+        for (var characterCreateRequest : characterList) {
+            var tabPrefix = getUniqueTabPrefix(characterCreateRequest.characterName(), usedTabPrefixes);
+            for (var sheetTask : getSheetTasks(characterCreateRequest)) {
+                sheetTaskList.add(() -> {
+                    var sheet = sheetTask.call();
+                    var sheetProperties = sheet.getProperties();
+                    sheetProperties.setTitle(tabPrefix + " - " + sheetProperties.getTitle());
+                    return sheet;
+                });
+            }
+        }
+
+        return new Spreadsheet()
+                .setProperties(new SpreadsheetProperties()
+                        .setTitle(title))
+                .setSheets(ConcurrencyUtil.invokeAll(sheetTaskList));
+    }
+
+    private static String getUniqueTabPrefix(String characterName, Set<String> usedTabPrefixes) {
+        // Sheet titles must be unique within a spreadsheet, so characters with the same name
+        // get a numeric suffix
+        var baseTabPrefix = StringUtils.truncate(characterName, MAX_TAB_PREFIX_LENGTH);
+        var tabPrefix = baseTabPrefix;
+        for (var i = 2; !usedTabPrefixes.add(tabPrefix); i++) {
+            tabPrefix = String.format("%s (%d)", baseTabPrefix, i);
+        }
+
+        return tabPrefix;
+    }
+
     private List<Sheet> buildSheets(CharacterCreateRequest characterCreateRequest) {
-        var sheetList = new ArrayList<Sheet>();
+        return ConcurrencyUtil.invokeAll(getSheetTasks(characterCreateRequest));
+    }
 
-        var statsSheet = googleSheetBuilderService.buildStatsSheet(characterCreateRequest);
-        sheetList.add(statsSheet);
+    private List<Callable<Sheet>> getSheetTasks(CharacterCreateRequest characterCreateRequest) {
+        // The sheets are independent of each other, so they can be built concurrently;
+        // the task order determines the tab order in the spreadsheet
+        var sheetTaskList = new ArrayList<Callable<Sheet>>();
+
+        sheetTaskList.add(() -> googleSheetBuilderService.buildStatsSheet(characterCreateRequest));
 
         if(characterSheetWorker.hasMagic(characterCreateRequest)) {
-            var spellsSheet = googleSheetBuilderService.buildSpellsSheet(characterCreateRequest);
-            sheetList.add(spellsSheet);
+            sheetTaskList.add(() -> googleSheetBuilderService.buildSpellsSheet(characterCreateRequest));
         }
 
-        var featuresSheet = googleSheetBuilderService.buildFeaturesSheet(characterCreateRequest);
-        sheetList.add(featuresSheet);
-
-        var gearSheet = googleSheetBuilderService.buildGearSheet(characterCreateRequest);
-        sheetList.add(gearSheet);
+        sheetTaskList.add(() -> googleSheetBuilderService.buildFeaturesSheet(characterCreateRequest));
+        sheetTaskList.add(() -> googleSheetBuilderService.buildGearSheet(characterCreateRequest));
 
-        return sheetList;
+        return sheetTaskList;
     }
 }
@@ -3,24 +3,40 @@ package com.wcg.chargen.backend.service.impl.charCreate;
 import com.wcg.chargen.backend.constants.CharacterSheetConstants;
 import com.wcg.chargen.backend.constants.PdfFieldConstants;
 import com.wcg.chargen.backend.enums.AttributeType;
+import com.wcg.chargen.backend.enums.CharType;
+import com.wcg.chargen.backend.enums.CharacterCreateStage;
+import com.wcg.chargen.backend.enums.OutputType;
+import com.wcg.chargen.backend.enums.PdfAppearanceMode;
+import com.wcg.chargen.backend.enums.PdfOutputProfile;
+import com.wcg.chargen.backend.enums.SpeciesType;
+import com.wcg.chargen.backend.jfr.PdfFillFieldsEvent;
+import com.wcg.chargen.backend.model.CharClass;
 import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.CharacterCreateStatus;
 import com.wcg.chargen.backend.model.PdfCharacterCreateStatus;
+import com.wcg.chargen.backend.model.Species;
 import com.wcg.chargen.backend.service.CharClassesService;
+import com.wcg.chargen.backend.service.CharacterCreateMetricsService;
 import com.wcg.chargen.backend.service.CharacterCreateRequestValidatorService;
 import com.wcg.chargen.backend.service.PdfCharacterCreateService;
 import com.wcg.chargen.backend.service.SpeciesService;
 import com.wcg.chargen.backend.util.PdfUtil;
 import com.wcg.chargen.backend.worker.CharacterSheetWorker;
 import com.wcg.chargen.backend.worker.impl.DefaultCharacterSheetWorker;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -41,125 +57,99 @@ public class DefaultPdfCharacterCreateService implements PdfCharacterCreateServi
     CharacterSheetWorker characterSheetWorker;
     @Autowired
     CharClassesService charClassesService;
+    @Autowired
+    CharacterCreateMetricsService characterCreateMetricsService;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Value("${wcg.pdf.template-cache.max-entries}")
+    int templateCacheMaxEntries;
+    @Value("${wcg.pdf.template-cache.max-size}")
+    DataSize templateCacheMaxSize;
+    @Value("${wcg.pdf.appearance-mode}")
+    PdfAppearanceMode appearanceMode;
+    @Value("${wcg.pdf.output-profile}")
+    PdfOutputProfile outputProfile;
+
+    private byte[] templateBytes;
+    private PdfTemplateCache templateCache;
+
+    // Text that only depends on the species or class, which is the same for every character that has them
+    private final SheetTextCache<Species> speciesTraitsCache = new SheetTextCache<>(SpeciesType.values().length,
+            DefaultPdfCharacterCreateService::buildSpeciesTraits);
+    private final SheetTextCache<CharClass> classFeaturesCache = new SheetTextCache<>(CharType.values().length,
+            DefaultPdfCharacterCreateService::buildClassFeatures);
+    // Indexed by character class, with commoners after the last class
+    private final SheetTextCache<List<String>> equipmentCache = new SheetTextCache<>(CharType.values().length + 1,
+            DefaultPdfCharacterCreateService::buildEquipmentString);
+
+    @PostConstruct
+    private void postConstruct() throws IOException {
+        try (var inputStream = getClass().getClassLoader().getResourceAsStream(PDF_FILE_NAME)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Error loading PDF character sheet template");
+            }
+            templateBytes = inputStream.readAllBytes();
+        }
+
+        // Every sheet is built from the template, so anything the profile saves on it is saved on every sheet
+        if (outputProfile.isOptimizeTemplate()) {
+            var originalSize = templateBytes.length;
+            templateBytes = PdfUtil.optimize(templateBytes, outputProfile);
+            logger.debug("Rewrote PDF character sheet template with {} profile: {} bytes to {} bytes",
+                    outputProfile, originalSize, templateBytes.length);
+        }
+
+        // Parse the template once up front, so that a broken template fails startup rather than
+        // the first request, and so that PDFBox is already loaded when that request arrives
+        try (var pdfDocument = loadTemplate()) {
+            logger.debug("Loaded PDF character sheet template with {} pages", pdfDocument.getNumberOfPages());
+        }
+
+        templateCache = new PdfTemplateCache(templateBytes, templateCacheMaxEntries, templateCacheMaxSize.toBytes(),
+                meterRegistry);
+    }
 
     @Override
     public PdfCharacterCreateStatus createCharacter(CharacterCreateRequest request) {
-        var status = characterCreateRequestValidatorService.validate(request);
+        return createCharacter(request, false);
+    }
+
+    @Override
+    public PdfCharacterCreateStatus createCharacter(CharacterCreateRequest request, boolean flatten) {
+        // Flattened sheets are measured separately, so they can be compared with fillable ones
+        var outputType = flatten ? OutputType.PDF_PRINT : OutputType.PDF;
+        var status = characterCreateMetricsService.timeStage(outputType, CharacterCreateStage.VALIDATE, request,
+                () -> characterCreateRequestValidatorService.validate(request), CharacterCreateStatus::isSuccess);
         if (!status.isSuccess()) {
             // If the request isn't valid, abort here
             return PdfCharacterCreateStatus.error(status.message());
         }
 
-        try (var inputStream = getClass().getClassLoader().getResourceAsStream(PDF_FILE_NAME);
-             var pdfDocument = Loader.loadPDF(new RandomAccessReadBuffer(inputStream));
+        try (var pdfDocument = characterCreateMetricsService.timeStage(outputType,
+                CharacterCreateStage.LOAD_TEMPLATE, request, () -> loadTemplate(request));
              var outputStream = new ByteArrayOutputStream()) {
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.CHARACTER_NAME, request.characterName());
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.LEVEL, String.valueOf(request.level()));
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.SPECIES, request.species().toCharSheetString());
-
-            if (request.isCommoner()) {
-                PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.PROFESSION, request.profession());
-            }
-            else {
-                PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.CHARACTER_CLASS,
-                        request.characterClass().toCharSheetString());
-            }
-
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.SPECIES_TRAITS,
-                    getSpeciesTraits(request));
-
-            var attributeScores = calculateAttributeScores(request);
-            for (var attributeType : AttributeType.values()) {
-                var attributeValue = getModifierRepresentation(attributeScores.get(attributeType));
-                attributeValue += getAdvOrDadvModifierString(request, attributeType.name());
-                PdfUtil.setFieldValue(pdfDocument, attributeType.name(), attributeValue);
-            }
-
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.FORTUNE_POINTS,
-                    String.valueOf(characterSheetWorker.getFortunePoints(request)));
-
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.EVASION,
-                    getEvasion(request));
-
-            var initiativeStr = getInitiative(request);
-            initiativeStr += getAdvOrDadvModifierString(request, CharacterSheetConstants.INITIATIVE);
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.INITIATIVE,
-                    initiativeStr);
-
-            for (var i = 0; i < NUM_WEAPONS_ROWS; i++) {
-                // The field names in the PDF are 1-based, not 0-based
-                var weaponPdfIndex = i + 1;
-
-                var weaponName = characterSheetWorker.getWeaponName(request, i);
-                var weaponType = characterSheetWorker.getWeaponType(request, i);
-                var weaponAttackMod = getWeaponAttackModifier(request, weaponType);
-                var weaponDamage = characterSheetWorker.getWeaponDamage(request, i);
-                // This will never be null when processing actual requests, but could be
-                // null in unit test scenarios
-                if (weaponDamage != null) {
-                    weaponDamage += getAdvOrDadvModifierString(request, weaponType);
-                }
-
-                PdfUtil.setFieldValue(pdfDocument,
-                        PdfFieldConstants.WEAPON + weaponPdfIndex,
-                        weaponName);
-                PdfUtil.setFieldValue(pdfDocument,
-                        PdfFieldConstants.WEAPON_TYPE + weaponPdfIndex,
-                        weaponType);
-                PdfUtil.setFieldValue(pdfDocument,
-                        PdfFieldConstants.WEAPON_ATTACK + weaponPdfIndex,
-                        weaponAttackMod);
-                PdfUtil.setFieldValue(pdfDocument,
-                        PdfFieldConstants.WEAPON_DAMAGE + weaponPdfIndex,
-                        weaponDamage);
-            }
-
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.ARMOR_TYPE,
-                    characterSheetWorker.getArmorType(request, 0));
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.ARMOR_STYLE,
-                    characterSheetWorker.getArmorName(request, 0));
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.DAMAGE_ABSORPTION,
-                    characterSheetWorker.getArmorDa(request, 0));
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.OFF_HAND_ITEM,
-                    getOffHandItem(request));
-
-            var hitPointsStr = String.valueOf(characterSheetWorker.getHitPoints(request));
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.MAX_HIT_POINTS, hitPointsStr);
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.CURRENT_HIT_POINTS, hitPointsStr);
-
-            var equipmentStr = getEquipmentString(request);
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.EQUIPMENT, equipmentStr);
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.CP,
-                    String.valueOf(characterSheetWorker.getCopper(request)));
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.SP,
-                    String.valueOf(characterSheetWorker.getSilver(request)));
-
-            var spellMod = getSpellMod(request, attributeScores);
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.SPELL_MOD, spellMod);
-
-            var classFeatures = getClassFeatures(request);
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.CLASS_FEATURES, classFeatures);
-
-            var advancedFeatures = getAdvancedFeatures(request);
-            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.TIER_I_II_FEATURES, advancedFeatures);
-
-            for (var j = 0; j < NUM_SKILLS_ROWS; j++) {
-                // The field names in the PDF are 1-based, not 0-based
-                var skillPdfIndex = j + 1;
-
-                var skillName = getSkillName(request, j);
-                var skillModifier = getSkillModifier(request, attributeScores, j);
-
-                PdfUtil.setFieldValue(pdfDocument,
-                        PdfFieldConstants.SKILL_BASE + skillPdfIndex,
-                        skillName);
-                PdfUtil.setFieldValue(pdfDocument,
-                        PdfFieldConstants.SKILL_MODIFIER_BASE + skillPdfIndex,
-                        skillModifier);
-            }
+            // The stage results are the field count and PDF size, which are recorded in the stage events.
+            // The fields have to be counted before the form is flattened, and are only counted at all
+            // if the event is being recorded.
+            characterCreateMetricsService.timeStage(outputType, CharacterCreateStage.FILL_FIELDS, request,
+                    () -> {
+                        fillCharacterFields(pdfDocument, request);
+                        var numFilledFields = PdfFillFieldsEvent.isRecording() ?
+                                PdfUtil.countFilledFields(pdfDocument) : null;
+                        if (flatten) {
+                            PdfUtil.flattenForm(pdfDocument);
+                        }
+
+                        return numFilledFields;
+                    });
 
             // Construct and return object representing modified PDF
-            pdfDocument.save(outputStream);
+            var pdfSize = characterCreateMetricsService.timeStage(outputType, CharacterCreateStage.SAVE, request,
+                    () -> {
+                        PdfUtil.save(pdfDocument, outputStream, outputProfile);
+                        return outputStream.size();
+                    });
+            characterCreateMetricsService.recordOutputSize(outputType, request, pdfSize);
             var returnInputStream = new ByteArrayInputStream(outputStream.toByteArray());
             var pdfFileName = characterSheetWorker.generateName(request) + ".pdf";
 
@@ -171,6 +161,174 @@ public class DefaultPdfCharacterCreateService implements PdfCharacterCreateServi
         }
     }
 
+    /**
+     * Load a fresh copy of the blank character sheet template.
+     *
+     * @return Character sheet template, which the caller is responsible for closing
+     * @throws IOException If the template can't be read
+     */
+    PDDocument loadTemplate() throws IOException {
+        return Loader.loadPDF(templateBytes);
+    }
+
+    /**
+     * Load a fresh copy of the character sheet template with the fields that don't depend on
+     * the individual character already filled in, from the template cache if possible.
+     *
+     * @param request Validated character create request
+     * @return Partly filled character sheet template, which the caller is responsible for closing
+     * @throws IOException If the template can't be read
+     */
+    PDDocument loadTemplate(CharacterCreateRequest request) throws IOException {
+        return templateCache.load(getStaticFieldValues(request));
+    }
+
+    /**
+     * Populate all the fields of the character sheet template from the request.
+     *
+     * This and the other methods that load and fill the template are package-private so that
+     * each stage of rendering can be benchmarked separately.
+     *
+     * @param pdfDocument Character sheet template
+     * @param request Validated character create request
+     */
+    void fillCharacterSheet(PDDocument pdfDocument, CharacterCreateRequest request) {
+        var fieldValueMap = getStaticFieldValues(request);
+        fieldValueMap.putAll(getCharacterFieldValues(request));
+        PdfUtil.setFieldValues(pdfDocument, fieldValueMap, appearanceMode);
+    }
+
+    /**
+     * Get the values of the fields that only depend on the character's class (or being a commoner),
+     * species and quick gear, which are filled in by the template cache.
+     *
+     * @param request Validated character create request
+     * @return Map from field name to value, in the order the fields should be filled in
+     */
+    Map<String, String> getStaticFieldValues(CharacterCreateRequest request) {
+        var fieldValueMap = new LinkedHashMap<String, String>();
+        fieldValueMap.put(PdfFieldConstants.SPECIES, request.species().toCharSheetString());
+        if (!request.isCommoner()) {
+            fieldValueMap.put(PdfFieldConstants.CHARACTER_CLASS, request.characterClass().toCharSheetString());
+        }
+        fieldValueMap.put(PdfFieldConstants.SPECIES_TRAITS, getSpeciesTraits(request));
+
+        for (var i = 0; i < NUM_WEAPONS_ROWS; i++) {
+            // The field names in the PDF are 1-based, not 0-based
+            var weaponPdfIndex = i + 1;
+
+            fieldValueMap.put(PdfFieldConstants.WEAPON + weaponPdfIndex,
+                    characterSheetWorker.getWeaponName(request, i));
+            fieldValueMap.put(PdfFieldConstants.WEAPON_TYPE + weaponPdfIndex,
+                    characterSheetWorker.getWeaponType(request, i));
+        }
+
+        fieldValueMap.put(PdfFieldConstants.ARMOR_TYPE, characterSheetWorker.getArmorType(request, 0));
+        fieldValueMap.put(PdfFieldConstants.ARMOR_STYLE, characterSheetWorker.getArmorName(request, 0));
+        fieldValueMap.put(PdfFieldConstants.OFF_HAND_ITEM, getOffHandItem(request));
+        fieldValueMap.put(PdfFieldConstants.EQUIPMENT, getEquipmentString(request));
+        fieldValueMap.put(PdfFieldConstants.CLASS_FEATURES, getClassFeatures(request));
+
+        return fieldValueMap;
+    }
+
+    /**
+     * Populate the fields of the character sheet template that depend on the individual character,
+     * i.e. the ones not returned by getStaticFieldValues.
+     *
+     * @param pdfDocument Character sheet template
+     * @param request Validated character create request
+     */
+    void fillCharacterFields(PDDocument pdfDocument, CharacterCreateRequest request) {
+        PdfUtil.setFieldValues(pdfDocument, getCharacterFieldValues(request), appearanceMode);
+    }
+
+    /**
+     * Get the values of the fields that depend on the individual character.
+     *
+     * @param request Validated character create request
+     * @return Map from field name to value, in the order the fields should be filled in
+     */
+    Map<String, String> getCharacterFieldValues(CharacterCreateRequest request) {
+        var fieldValueMap = new LinkedHashMap<String, String>();
+        fieldValueMap.put(PdfFieldConstants.CHARACTER_NAME, request.characterName());
+        fieldValueMap.put(PdfFieldConstants.LEVEL, String.valueOf(request.level()));
+
+        if (request.isCommoner()) {
+            fieldValueMap.put(PdfFieldConstants.PROFESSION, request.profession());
+        }
+
+        var attributeScores = calculateAttributeScores(request);
+        for (var attributeType : AttributeType.values()) {
+            var attributeValue = getModifierRepresentation(attributeScores.get(attributeType));
+            attributeValue += getAdvOrDadvModifierString(request, attributeType.name());
+            fieldValueMap.put(attributeType.name(), attributeValue);
+        }
+
+        fieldValueMap.put(PdfFieldConstants.FORTUNE_POINTS,
+                String.valueOf(characterSheetWorker.getFortunePoints(request)));
+
+        fieldValueMap.put(PdfFieldConstants.EVASION,
+                getEvasion(request));
+
+        var initiativeStr = getInitiative(request);
+        initiativeStr += getAdvOrDadvModifierString(request, CharacterSheetConstants.INITIATIVE);
+        fieldValueMap.put(PdfFieldConstants.INITIATIVE,
+                initiativeStr);
+
+        for (var i = 0; i < NUM_WEAPONS_ROWS; i++) {
+            // The field names in the PDF are 1-based, not 0-based
+            var weaponPdfIndex = i + 1;
+
+            var weaponType = characterSheetWorker.getWeaponType(request, i);
+            var weaponAttackMod = getWeaponAttackModifier(request, weaponType);
+            var weaponDamage = characterSheetWorker.getWeaponDamage(request, i);
+            // This will never be null when processing actual requests, but could be
+            // null in unit test scenarios
+            if (weaponDamage != null) {
+                weaponDamage += getAdvOrDadvModifierString(request, weaponType);
+            }
+
+            fieldValueMap.put(PdfFieldConstants.WEAPON_ATTACK + weaponPdfIndex,
+                    weaponAttackMod);
+            fieldValueMap.put(PdfFieldConstants.WEAPON_DAMAGE + weaponPdfIndex,
+                    weaponDamage);
+        }
+
+        fieldValueMap.put(PdfFieldConstants.DAMAGE_ABSORPTION,
+                characterSheetWorker.getArmorDa(request, 0));
+
+        var hitPointsStr = String.valueOf(characterSheetWorker.getHitPoints(request));
+        fieldValueMap.put(PdfFieldConstants.MAX_HIT_POINTS, hitPointsStr);
+        fieldValueMap.put(PdfFieldConstants.CURRENT_HIT_POINTS, hitPointsStr);
+
+        fieldValueMap.put(PdfFieldConstants.CP,
+                String.valueOf(characterSheetWorker.getCopper(request)));
+        fieldValueMap.put(PdfFieldConstants.SP,
+                String.valueOf(characterSheetWorker.getSilver(request)));
+
+        var spellMod = getSpellMod(request, attributeScores);
+        fieldValueMap.put(PdfFieldConstants.SPELL_MOD, spellMod);
+
+        var advancedFeatures = getAdvancedFeatures(request);
+        fieldValueMap.put(PdfFieldConstants.TIER_I_II_FEATURES, advancedFeatures);
+
+        for (var j = 0; j < NUM_SKILLS_ROWS; j++) {
+            // The field names in the PDF are 1-based, not 0-based
+            var skillPdfIndex = j + 1;
+
+            var skillName = getSkillName(request, j);
+            var skillModifier = getSkillModifier(request, attributeScores, j);
+
+            fieldValueMap.put(PdfFieldConstants.SKILL_BASE + skillPdfIndex,
+                    skillName);
+            fieldValueMap.put(PdfFieldConstants.SKILL_MODIFIER_BASE + skillPdfIndex,
+                    skillModifier);
+        }
+
+        return fieldValueMap;
+    }
+
     private Map<AttributeType, Integer> calculateAttributeScores(CharacterCreateRequest request) {
         var attributeScores = new HashMap<AttributeType, Integer>();
 
@@ -184,6 +342,11 @@ public class DefaultPdfCharacterCreateService implements PdfCharacterCreateServi
 
     private String getSpeciesTraits(CharacterCreateRequest request) {
         var species = speciesService.getSpeciesByType(request.species());
+
+        return speciesTraitsCache.get(request.species().ordinal(), species);
+    }
+
+    private static String buildSpeciesTraits(Species species) {
         // We need to add an entry to the species traits list for languages,
         // so make a mutable copy of the traits list
         var speciesTraitsList = species.traits() != null ?
@@ -285,6 +448,11 @@ public class DefaultPdfCharacterCreateService implements PdfCharacterCreateServi
             return "";
         }
 
+        var index = request.isCommoner() ? CharType.values().length : request.characterClass().ordinal();
+        return equipmentCache.get(index, equipmentList);
+    }
+
+    private static String buildEquipmentString(List<String> equipmentList) {
         return String.join("\n", equipmentList);
     }
 
@@ -352,6 +520,10 @@ public class DefaultPdfCharacterCreateService implements PdfCharacterCreateServi
             return "";
         }
 
+        return classFeaturesCache.get(request.characterClass().ordinal(), charClass);
+    }
+
+    private static String buildClassFeatures(CharClass charClass) {
         return String.join(("\n"), charClass.abilities());
     }
 
@@ -401,21 +573,8 @@ public class DefaultPdfCharacterCreateService implements PdfCharacterCreateServi
             var skill = skillsList.get(index);
 
             var advOrDadv = getAdvOrDadvModifierString(request, skill.name());
-            var fullSkillName = skill.name();
-
-            if (skill.attributes().length > 1) {
-                var attributeJoiner = new StringJoiner("/", " (", ")");
-                for (var attribute : skill.attributes()) {
-                    attributeJoiner.add(attribute);
-                }
-                fullSkillName += attributeJoiner.toString();
-            }
-
-            if (!advOrDadv.isEmpty()) {
-                fullSkillName += advOrDadv;
-            }
 
-            return fullSkillName;
+            return advOrDadv.isEmpty() ? skill.displayName() : skill.displayName() + advOrDadv;
         }
         else {
             return "";
@@ -442,10 +601,9 @@ public class DefaultPdfCharacterCreateService implements PdfCharacterCreateServi
         var skillsList = characterSheetWorker.getSkillsList(request);
         if (index < skillsList.size()) {
             var skill = skillsList.get(index);
-            if (skill.attributes().length > 1) {
+            if (skill.attributeTypes().length > 1) {
                 var attributeJoiner = new StringJoiner("/");
-                for (var attribute : skill.attributes()) {
-                    var attrType = AttributeType.valueOf(attribute);
+                for (var attrType : skill.attributeTypes()) {
                     var modifier = calculateSkillModifier(level, attrType, attributeScoreMap);
                     attributeJoiner.add(modifier);
                 }
@@ -453,9 +611,7 @@ public class DefaultPdfCharacterCreateService implements PdfCharacterCreateServi
                 return attributeJoiner.toString();
             }
             else {
-                var attribute = skill.attributes()[0];
-                var attrType = AttributeType.valueOf(attribute);
-                return calculateSkillModifier(level, attrType, attributeScoreMap);
+                return calculateSkillModifier(level, skill.attributeTypes()[0], attributeScoreMap);
             }
         }
         else {
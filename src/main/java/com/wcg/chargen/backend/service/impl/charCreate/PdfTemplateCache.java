@@ -0,0 +1,142 @@
+package com.wcg.chargen.backend.service.impl.charCreate;
+
+import com.wcg.chargen.backend.enums.PdfAppearanceMode;
+import com.wcg.chargen.backend.util.PdfUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Copies of the PDF character sheet template with some of their fields already filled in.
+ *
+ * Filling in a field makes PDFBox generate its appearance, which is most of the cost of filling
+ * a sheet.  Many fields only depend on the class, species and quick gear, so rather than filling
+ * them in for every character, each combination of their values is filled in once and saved.
+ * Templates are keyed by the field values themselves, so a change to the game data that changes
+ * a value can never return a template with the old one.
+ *
+ * The saved templates are held in an LRU map, which is bounded both by the number of templates
+ * and by their total size in bytes.  The number of templates, their size, hits, misses and
+ * evictions are published as metrics.
+ */
+final class PdfTemplateCache {
+    private static final String METRIC_PREFIX = "chargen.pdf.template.cache.";
+
+    private final byte[] blankTemplateBytes;
+    private final int maxEntries;
+    private final long maxBytes;
+    // Access-ordered, so the eldest entry is always the least recently used one
+    private final LinkedHashMap<Map<String, String>, byte[]> templateMap = new LinkedHashMap<>(16, 0.75f, true);
+    // Read by the gauges without taking the lock
+    private volatile int numEntries;
+    private volatile long totalBytes;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    /**
+     * @param blankTemplateBytes Blank character sheet template
+     * @param maxEntries Maximum number of templates to keep, or 0 to not keep any
+     * @param maxBytes Maximum total size of the templates kept
+     * @param meterRegistry Registry for the cache metrics
+     */
+    PdfTemplateCache(byte[] blankTemplateBytes, int maxEntries, long maxBytes, MeterRegistry meterRegistry) {
+        this.blankTemplateBytes = blankTemplateBytes;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+
+        Gauge.builder(METRIC_PREFIX + "size", this, x -> x.numEntries)
+                .description("Number of pre-filled PDF templates held")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "bytes", this, x -> x.totalBytes)
+                .description("Total size of the pre-filled PDF templates held")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        hitCounter = Counter.builder(METRIC_PREFIX + "gets")
+                .description("Requests for a pre-filled PDF template")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        missCounter = Counter.builder(METRIC_PREFIX + "gets")
+                .description("Requests for a pre-filled PDF template")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        evictionCounter = Counter.builder(METRIC_PREFIX + "evictions")
+                .description("Pre-filled PDF templates dropped to stay within the cache limits")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load a fresh copy of the template with the given fields filled in.
+     *
+     * @param fieldValueMap Values of the fields to fill in, in the order to fill them.  This is used as
+     *                      a cache key, so mustn't be modified afterwards.
+     * @return Template with the fields filled in, which the caller is responsible for closing
+     * @throws IOException If the template can't be read
+     */
+    PDDocument load(Map<String, String> fieldValueMap) throws IOException {
+        if (maxEntries <= 0) {
+            var pdfDocument = Loader.loadPDF(blankTemplateBytes);
+            fillFields(pdfDocument, fieldValueMap);
+            return pdfDocument;
+        }
+
+        byte[] templateBytes;
+        synchronized (templateMap) {
+            templateBytes = templateMap.get(fieldValueMap);
+        }
+        if (templateBytes != null) {
+            hitCounter.increment();
+            return Loader.loadPDF(templateBytes);
+        }
+
+        // If two threads miss at once, they'll both build the same template
+        missCounter.increment();
+        try (var pdfDocument = Loader.loadPDF(blankTemplateBytes);
+             var outputStream = new ByteArrayOutputStream()) {
+            fillFields(pdfDocument, fieldValueMap);
+            pdfDocument.save(outputStream);
+            templateBytes = outputStream.toByteArray();
+        }
+        put(fieldValueMap, templateBytes);
+
+        return Loader.loadPDF(templateBytes);
+    }
+
+    private void put(Map<String, String> fieldValueMap, byte[] templateBytes) {
+        if (templateBytes.length > maxBytes) {
+            return;
+        }
+
+        synchronized (templateMap) {
+            var previousBytes = templateMap.put(fieldValueMap, templateBytes);
+            var newTotalBytes = totalBytes + templateBytes.length -
+                    ((previousBytes != null) ? previousBytes.length : 0);
+
+            var iterator = templateMap.values().iterator();
+            while (templateMap.size() > maxEntries || newTotalBytes > maxBytes) {
+                newTotalBytes -= iterator.next().length;
+                iterator.remove();
+                evictionCounter.increment();
+            }
+
+            numEntries = templateMap.size();
+            totalBytes = newTotalBytes;
+        }
+    }
+
+    /**
+     * Templates are filled in once and then reused, so their fields always get real appearances,
+     * whichever mode is used for the fields filled in for each character
+     */
+    private static void fillFields(PDDocument pdfDocument, Map<String, String> fieldValueMap) {
+        PdfUtil.setFieldValues(pdfDocument, fieldValueMap, PdfAppearanceMode.DEFERRED);
+    }
+}
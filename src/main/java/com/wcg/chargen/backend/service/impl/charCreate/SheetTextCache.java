@@ -0,0 +1,45 @@
+package com.wcg.chargen.backend.service.impl.charCreate;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Text for a character sheet field that only depends on one piece of game data, such as a species'
+ * traits, which is built the first time it's needed and reused after that.
+ *
+ * Each entry remembers the game data it was built from, and is rebuilt if it's asked for with
+ * different data, so replacing the game data invalidates the entries built from it.
+ *
+ * @param <S> Type of the game data the text is built from
+ */
+final class SheetTextCache<S> {
+    private record Entry<S>(S source, String text) {}
+
+    private final AtomicReferenceArray<Entry<S>> entries;
+    private final Function<S, String> textBuilder;
+
+    /**
+     * @param size Number of entries, e.g. the number of species
+     * @param textBuilder Builds the text for the given game data
+     */
+    SheetTextCache(int size, Function<S, String> textBuilder) {
+        this.entries = new AtomicReferenceArray<>(size);
+        this.textBuilder = textBuilder;
+    }
+
+    /**
+     * @param index Index of the entry, e.g. the ordinal of a species
+     * @param source Game data the text is built from, which is compared by identity
+     * @return Text built from the game data
+     */
+    String get(int index, S source) {
+        var entry = entries.get(index);
+        if (entry == null || entry.source() != source) {
+            // If two threads get here at once, they'll both build the same text
+            entry = new Entry<>(source, textBuilder.apply(source));
+            entries.set(index, entry);
+        }
+
+        return entry.text();
+    }
+}
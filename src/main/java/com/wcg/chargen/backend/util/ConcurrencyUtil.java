@@ -0,0 +1,59 @@
+package com.wcg.chargen.backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ConcurrencyUtil {
+    /**
+     * Run each task on its own virtual thread and wait for all of them to finish.
+     * Results are returned in the same order as the tasks, regardless of completion order.
+     * If any task fails, the remaining tasks are cancelled and the failure is rethrown:
+     * unchecked exceptions as-is, checked exceptions wrapped in a RuntimeException
+     * with the same message.
+     */
+    public static <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var completionService = new ExecutorCompletionService<T>(executor);
+            var futureList = new ArrayList<Future<T>>(tasks.size());
+            for (var task : tasks) {
+                futureList.add(completionService.submit(task));
+            }
+
+            try {
+                for (var i = 0; i < futureList.size(); i++) {
+                    // Futures are taken in completion order so that the first failure is seen immediately
+                    completionService.take().get();
+                }
+            }
+            catch (ExecutionException e) {
+                futureList.forEach(future -> future.cancel(true));
+                throw unwrap(e.getCause());
+            }
+            catch (InterruptedException e) {
+                futureList.forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for tasks to complete", e);
+            }
+
+            return futureList.stream()
+                    .map(Future::resultNow)
+                    .toList();
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+
+        return new RuntimeException(cause.getMessage(), cause);
+    }
+}
@@ -36,6 +36,36 @@ public class GoogleSheetsUtil {
 
     private static final String WRAP_TEXT = "WRAP";
 
+    // Cell formats are immutable once built, so they are shared by every cell that uses them
+    // rather than allocated per cell
+    private static final CellFormat HEADER_CELL_FORMAT = new CellFormat()
+            .setBackgroundColor(LIGHT_GREEN_3)
+            .setBorders(TOP_BOTTOM_BORDERS)
+            .setTextFormat(COMMON_TEXT_FORMAT_BOLD)
+            .setWrapStrategy(WRAP_TEXT);
+    private static final CellFormat SECONDARY_HEADER_CELL_FORMAT = new CellFormat()
+            .setBackgroundColor(LIGHT_BLUE_3)
+            .setBorders(ALL_BORDERS)
+            .setTextFormat(COMMON_TEXT_FORMAT_BOLD)
+            .setWrapStrategy(WRAP_TEXT);
+    // Default to all borders and Georgia font for cells with no other particular format
+    private static final CellFormat DEFAULT_CELL_FORMAT = new CellFormat()
+            .setBorders(ALL_BORDERS)
+            .setTextFormat(COMMON_TEXT_FORMAT_REGULAR)
+            .setWrapStrategy(WRAP_TEXT);
+    private static final CellFormat LIGHT_YELLOW_3_CELL_FORMAT = buildCellFormatWithColor(LIGHT_YELLOW_3);
+    private static final CellFormat LIGHT_YELLOW_2_CELL_FORMAT = buildCellFormatWithColor(LIGHT_YELLOW_2);
+    private static final CellFormat LIGHT_GREEN_1_CELL_FORMAT = buildCellFormatWithColor(LIGHT_GREEN_1);
+    private static final CellFormat LIGHT_CYAN_1_CELL_FORMAT = buildCellFormatWithColor(LIGHT_CYAN_1);
+
+    private static CellFormat buildCellFormatWithColor(Color color) {
+        return new CellFormat()
+                .setBackgroundColor(color)
+                .setBorders(ALL_BORDERS)
+                .setTextFormat(COMMON_TEXT_FORMAT_REGULAR)
+                .setWrapStrategy(WRAP_TEXT);
+    }
+
     public static class RowBuilder {
         private final RowData row;
         private final List<CellData> rowCells;
@@ -49,25 +79,15 @@ public class GoogleSheetsUtil {
         }
 
         public RowBuilder addHeaderCell(String cellText) {
-            var cellFormat = new CellFormat().setBackgroundColor(LIGHT_GREEN_3);
-            cellFormat.setBorders(TOP_BOTTOM_BORDERS);
-            cellFormat.setTextFormat(COMMON_TEXT_FORMAT_BOLD);
-            cellFormat.setWrapStrategy(WRAP_TEXT);
-
             addCellToList(new ExtendedValue().setStringValue(cellText),
-                    cellFormat, null, null);
+                    HEADER_CELL_FORMAT, null, null);
 
             return this;
         }
 
         public RowBuilder addSecondaryHeaderCell(String cellText) {
-            var cellFormat = new CellFormat().setBackgroundColor(LIGHT_BLUE_3);
-            cellFormat.setBorders(ALL_BORDERS);
-            cellFormat.setTextFormat(COMMON_TEXT_FORMAT_BOLD);
-            cellFormat.setWrapStrategy(WRAP_TEXT);
-
             addCellToList(new ExtendedValue().setStringValue(cellText),
-                    cellFormat,null, null);
+                    SECONDARY_HEADER_CELL_FORMAT, null, null);
 
             return this;
         }
@@ -142,7 +162,7 @@ public class GoogleSheetsUtil {
 
         public RowBuilder addHighlightedCellWithText(String cellText) {
             addCellToList(new ExtendedValue().setStringValue(cellText),
-                    getCellFormatWithColor(LIGHT_YELLOW_3),
+                    LIGHT_YELLOW_3_CELL_FORMAT,
                     null, null);
 
             return this;
@@ -166,12 +186,12 @@ public class GoogleSheetsUtil {
             switch (featureAttributeType) {
                 case ADV:
                     addCellToList(cellValueFunc.apply(cellText),
-                            getCellFormatWithColor(LIGHT_GREEN_1),
+                            LIGHT_GREEN_1_CELL_FORMAT,
                             null, "Roll with Advantage");
                     break;
                 case DADV:
                     addCellToList(cellValueFunc.apply(cellText),
-                            getCellFormatWithColor(LIGHT_CYAN_1),
+                            LIGHT_CYAN_1_CELL_FORMAT,
                             null, "Roll with Double Advantage");
                     break;
                 default:
@@ -183,7 +203,7 @@ public class GoogleSheetsUtil {
 
         public RowBuilder addBaseFeatureCell(String cellText) {
             addCellToList(new ExtendedValue().setStringValue(cellText),
-                    getCellFormatWithColor(LIGHT_YELLOW_2),
+                    LIGHT_YELLOW_2_CELL_FORMAT,
                     null, null);
 
             return this;
@@ -191,7 +211,7 @@ public class GoogleSheetsUtil {
 
         public RowBuilder addTier1FeatureCell(String cellText) {
             addCellToList(new ExtendedValue().setStringValue(cellText),
-                    getCellFormatWithColor(LIGHT_GREEN_1),
+                    LIGHT_GREEN_1_CELL_FORMAT,
                     null, null);
 
             return this;
@@ -199,7 +219,7 @@ public class GoogleSheetsUtil {
 
         public RowBuilder addTier2FeatureCell(String cellText) {
             addCellToList(new ExtendedValue().setStringValue(cellText),
-                    getCellFormatWithColor(LIGHT_CYAN_1),
+                    LIGHT_CYAN_1_CELL_FORMAT,
                     null, null);
 
             return this;
@@ -211,33 +231,11 @@ public class GoogleSheetsUtil {
             return this;
         }
 
-        private CellFormat getCellFormatWithColor(Color color) {
-            var cellFormat = new CellFormat();
-            cellFormat.setBackgroundColor(color);
-            cellFormat.setBorders(ALL_BORDERS);
-            cellFormat.setTextFormat(COMMON_TEXT_FORMAT_REGULAR);
-            cellFormat.setWrapStrategy(WRAP_TEXT);
-
-            return cellFormat;
-        }
-
         private void addCellToList(ExtendedValue cellValue, CellFormat cellFormat,
                                    DataValidationRule dataValidationRule, String note) {
             var newCell = new CellData().setUserEnteredValue(cellValue);
 
-            CellFormat formatToApply;
-            if (cellFormat == null) {
-                formatToApply = new CellFormat();
-                // Default to all borders and Georgia font for cells with no other particular format
-                formatToApply.setBorders(ALL_BORDERS);
-                formatToApply.setTextFormat(COMMON_TEXT_FORMAT_REGULAR);
-                formatToApply.setWrapStrategy(WRAP_TEXT);
-            }
-            else {
-                formatToApply = cellFormat;
-            }
-
-            newCell.setUserEnteredFormat(formatToApply);
+            newCell.setUserEnteredFormat((cellFormat != null) ? cellFormat : DEFAULT_CELL_FORMAT);
             newCell.setDataValidation(dataValidationRule);
             newCell.setNote(note);
 
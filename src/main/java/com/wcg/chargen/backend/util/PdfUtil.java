@@ -1,10 +1,34 @@
 package com.wcg.chargen.backend.util;
 
+import com.wcg.chargen.backend.enums.PdfAppearanceMode;
+import com.wcg.chargen.backend.enums.PdfOutputProfile;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationWidget;
 import org.apache.pdfbox.pdmodel.interactive.form.PDField;
+import org.apache.pdfbox.pdmodel.interactive.form.PDTerminalField;
+import org.apache.pdfbox.pdmodel.interactive.form.PDTextField;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
 public class PdfUtil {
     private static final Logger logger = LoggerFactory.getLogger(PdfUtil.class);
 
@@ -23,14 +47,310 @@ public class PdfUtil {
     public static void setFieldValue(PDDocument document, String fieldName, String value) {
         var field = lookUpField(document, fieldName);
         if (field != null) {
+            setFieldValue(field, value);
+        }
+    }
+
+    private static void setFieldValue(PDField field, String value) {
+        try {
+            field.setValue(value);
+        } catch (Exception e) {
+            logger.error("Error setting field {} to value {}", field.getFullyQualifiedName(), value, e);
+        }
+    }
+
+    /**
+     * Set the values of several fields, generating their appearances as the given mode says.
+     *
+     * Setting a field's value makes PDFBox generate its appearance straight away, and looking a field up
+     * by name re-checks the form's resources and walks the whole field tree, so filling in a form one field
+     * at a time repeats a lot of work.
+     *
+     * @param document Document containing the fields
+     * @param fieldValueMap Map from field name to value
+     * @param appearanceMode How to generate the appearances of the fields
+     */
+    public static void setFieldValues(PDDocument document, Map<String, String> fieldValueMap,
+                                      PdfAppearanceMode appearanceMode) {
+        if (appearanceMode == PdfAppearanceMode.IMMEDIATE) {
+            for (var entry : fieldValueMap.entrySet()) {
+                setFieldValue(document, entry.getKey(), entry.getValue());
+            }
+            return;
+        }
+
+        // Every call to getAcroForm() runs PDFBox's form fixups again, which check the default resources
+        // and then build a new form object, so get the form once and do all the lookups through it.
+        // Index its fields by name as well, rather than walking the field tree for every lookup.
+        var acroForm = document.getDocumentCatalog().getAcroForm();
+        acroForm.setCacheFields(true);
+
+        var changedFieldList = new ArrayList<PDField>(fieldValueMap.size());
+        for (var entry : fieldValueMap.entrySet()) {
+            var field = acroForm.getField(entry.getKey());
+            if (field == null) {
+                logger.warn("No field found with name {}", entry.getKey());
+            }
+            else if (field instanceof PDTextField) {
+                // This is what PDTextField.setValue does, apart from generating the appearance
+                field.getCOSObject().setString(COSName.V, entry.getValue());
+                changedFieldList.add(field);
+            }
+            else {
+                // The character sheet only has text fields, so don't bother deferring any others
+                setFieldValue(field, entry.getValue());
+            }
+        }
+
+        if (appearanceMode == PdfAppearanceMode.NEED_APPEARANCES) {
+            // Once this is set, the fixups run by getAcroForm() generate the appearance of every field,
+            // so anything that looks at the form afterwards should use getAcroForm(null)
+            acroForm.setNeedAppearances(true);
+            return;
+        }
+
+        // The fonts these use are resolved once and cached by the form and the document,
+        // so each field after the first only has to lay out its own text
+        for (var field : changedFieldList) {
             try {
-                field.setValue(value);
+                // One field at a time, so a field that can't be drawn doesn't stop the others
+                acroForm.refreshAppearances(Collections.singletonList(field));
             } catch (Exception e) {
-                logger.error("Error setting field {} to value {}", fieldName, value, e);
+                logger.error("Error generating appearance of field {}", field.getFullyQualifiedName(), e);
+            }
+        }
+    }
+
+    /**
+     * Draw the document's filled-in form fields into the page content and remove the form, leaving a document
+     * that can only be printed or viewed.  Empty fields would draw nothing, so their widgets are dropped
+     * rather than flattened.  The form's default resources are only reachable through the form, so they're
+     * left out when the document is saved.
+     *
+     * @param document Document with a filled-in form
+     * @throws IOException If the fields can't be drawn
+     */
+    public static void flattenForm(PDDocument document) throws IOException {
+        var catalog = document.getDocumentCatalog();
+        // Use the form as it is, for the same reason as countFilledFields
+        var acroForm = catalog.getAcroForm(null);
+        if (acroForm == null) {
+            return;
+        }
+
+        var filledFieldList = new ArrayList<PDField>();
+        for (var field : acroForm.getFieldTree()) {
+            if (field instanceof PDTerminalField && !field.getValueAsString().isEmpty()) {
+                filledFieldList.add(field);
+            }
+        }
+        // Fields filled in with NEED_APPEARANCES have no appearances to draw yet
+        acroForm.flatten(filledFieldList, acroForm.getNeedAppearances());
+
+        for (var page : document.getPages()) {
+            // The only widgets left are those of the empty fields
+            var annotationList = page.getAnnotations();
+            if (annotationList.removeIf(annotation -> annotation instanceof PDAnnotationWidget)) {
+                if (annotationList.isEmpty()) {
+                    page.getCOSObject().removeItem(COSName.ANNOTS);
+                }
+                else {
+                    page.setAnnotations(annotationList);
+                }
+            }
+
+            mergeContentStreams(document, page);
+        }
+        catalog.setAcroForm(null);
+    }
+
+    /**
+     * PDFBox adds a content stream to the page for every field it flattens, each of which has the overhead
+     * of a separate object, so join them and the page's own content into one stream
+     */
+    private static void mergeContentStreams(PDDocument document, PDPage page) throws IOException {
+        if (!(page.getCOSObject().getDictionaryObject(COSName.CONTENTS) instanceof COSArray)) {
+            return;
+        }
+
+        var mergedStream = document.getDocument().createCOSStream();
+        try (var outputStream = mergedStream.createOutputStream(COSName.FLATE_DECODE)) {
+            var contentStreams = page.getContentStreams();
+            while (contentStreams.hasNext()) {
+                try (var inputStream = contentStreams.next().createInputStream()) {
+                    inputStream.transferTo(outputStream);
+                }
+                // Content can only be split between tokens, so it's always safe to separate the streams
+                outputStream.write('\n');
+            }
+        }
+        page.getCOSObject().setItem(COSName.CONTENTS, mergedStream);
+    }
+
+    /**
+     * Save the document as the given profile says, compressing any uncompressed streams first if the profile
+     * has a compression level.  These are mostly the field appearances, which PDFBox never compresses.
+     *
+     * @param document Document to save
+     * @param outputStream Stream to save the document to
+     * @param outputProfile How to write the document
+     * @throws IOException If the document can't be written
+     */
+    public static void save(PDDocument document, OutputStream outputStream, PdfOutputProfile outputProfile)
+            throws IOException {
+        if (outputProfile.getDeflateLevel() != Deflater.NO_COMPRESSION) {
+            compressStreams(document, outputProfile, false);
+        }
+        document.save(outputStream, outputProfile.getCompressParameters());
+    }
+
+    /**
+     * Rewrite a PDF file as the given profile says.  Only the objects that the document still uses are
+     * written, so anything left over from earlier revisions of the file is dropped.  If the profile has
+     * a compression level, streams that are only compressed with Flate are also re-compressed at that
+     * level, where that makes them smaller.
+     *
+     * This is much slower than save, so is meant for files that are rewritten once and then reused.
+     *
+     * @param pdfBytes PDF file to rewrite
+     * @param outputProfile How to write the file
+     * @return Rewritten PDF file
+     * @throws IOException If the file can't be read or written
+     */
+    public static byte[] optimize(byte[] pdfBytes, PdfOutputProfile outputProfile) throws IOException {
+        try (var document = Loader.loadPDF(pdfBytes);
+             var outputStream = new ByteArrayOutputStream()) {
+            if (outputProfile.getDeflateLevel() != Deflater.NO_COMPRESSION) {
+                compressStreams(document, outputProfile, true);
             }
+            document.save(outputStream, outputProfile.getCompressParameters());
+
+            return outputStream.toByteArray();
         }
     }
 
+    /**
+     * Compress every stream reachable from the document's trailer that isn't compressed yet and, if recompress
+     * is set, re-compress the ones that are only compressed with Flate.  Streams are only replaced if that
+     * makes them smaller.
+     */
+    private static void compressStreams(PDDocument document, PdfOutputProfile outputProfile, boolean recompress)
+            throws IOException {
+        var visitedSet = Collections.newSetFromMap(new IdentityHashMap<COSBase, Boolean>());
+        var pendingDeque = new ArrayDeque<COSBase>();
+        pendingDeque.push(document.getDocument().getTrailer());
+
+        var streamCompressor = new StreamCompressor(outputProfile, recompress);
+        try {
+            while (!pendingDeque.isEmpty()) {
+                var base = pendingDeque.pop();
+                if (base instanceof COSObject cosObject) {
+                    base = cosObject.getObject();
+                }
+                if (base == null || !visitedSet.add(base)) {
+                    continue;
+                }
+
+                if (base instanceof COSDictionary dictionary) {
+                    if (dictionary instanceof COSStream stream) {
+                        streamCompressor.compress(stream);
+                    }
+                    pendingDeque.addAll(dictionary.getValues());
+                }
+                else if (base instanceof COSArray array) {
+                    for (var item : array) {
+                        // Arrays can have gaps, which ArrayDeque can't hold
+                        if (item != null) {
+                            pendingDeque.add(item);
+                        }
+                    }
+                }
+            }
+        }
+        finally {
+            streamCompressor.close();
+        }
+    }
+
+    /**
+     * Compresses streams one after another, reusing the same deflater and buffers for all of them
+     */
+    private static final class StreamCompressor {
+        // Most field appearances are shorter than this, and compressing them saves less than the
+        // Filter entry that has to be added to their dictionaries
+        private static final int MIN_STREAM_LENGTH = 256;
+
+        private final boolean compressMetadata;
+        private final boolean recompress;
+        private final Deflater deflater;
+        private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        private final byte[] buffer = new byte[8192];
+
+        StreamCompressor(PdfOutputProfile outputProfile, boolean recompress) {
+            this.compressMetadata = outputProfile.isCompressMetadata();
+            this.recompress = recompress;
+            this.deflater = new Deflater(outputProfile.getDeflateLevel());
+        }
+
+        void compress(COSStream stream) throws IOException {
+            if (stream.getLength() < MIN_STREAM_LENGTH ||
+                    (!compressMetadata && COSName.METADATA.equals(stream.getCOSName(COSName.TYPE)))) {
+                return;
+            }
+
+            var filters = stream.getFilters();
+            var isFlateOnly = COSName.FLATE_DECODE.equals(filters) && stream.getItem(COSName.DECODE_PARMS) == null;
+            if (filters != null && !(recompress && isFlateOnly)) {
+                return;
+            }
+
+            deflater.reset();
+            outputStream.reset();
+            // Closing this finishes the deflater, but doesn't end it, as it was passed in
+            try (var inputStream = stream.createInputStream();
+                 var deflaterOutputStream = new DeflaterOutputStream(outputStream, deflater)) {
+                int numBytesRead;
+                while ((numBytesRead = inputStream.read(buffer)) != -1) {
+                    deflaterOutputStream.write(buffer, 0, numBytesRead);
+                }
+            }
+
+            if (outputStream.size() >= stream.getLength()) {
+                return;
+            }
+
+            try (var rawOutputStream = stream.createRawOutputStream()) {
+                outputStream.writeTo(rawOutputStream);
+            }
+            stream.setItem(COSName.FILTER, COSName.FLATE_DECODE);
+        }
+
+        void close() {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @return Number of fields in the document's form that have a non-empty value
+     */
+    public static int countFilledFields(PDDocument document) {
+        // Use the form as it is, without running PDFBox's fixups, which would generate appearances
+        // for every field if the NeedAppearances flag is set
+        var acroForm = document.getDocumentCatalog().getAcroForm(null);
+        if (acroForm == null) {
+            return 0;
+        }
+
+        var numFilledFields = 0;
+        for (var field : acroForm.getFieldTree()) {
+            if (field instanceof PDTerminalField && !field.getValueAsString().isEmpty()) {
+                numFilledFields++;
+            }
+        }
+
+        return numFilledFields;
+    }
+
     public static String getFieldValue(PDDocument document, String fieldName) {
         var field = lookUpField(document, fieldName);
 
@@ -0,0 +1,70 @@
+package com.wcg.chargen.backend.util;
+
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.PartyCreateRequest;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Checks for the fields that every character creation request must have, which are made by
+ * the controller before anything else is done with a request.
+ *
+ * These used to be Bean Validation annotations on the request records, but validating those
+ * reflectively on every request cost more than the checks themselves.  The rest of the
+ * validation is done by CharacterCreateRequestValidatorService.
+ */
+public class RequestValidationUtil {
+    /**
+     * @param request Character creation request
+     * @return A message describing the first required field that's missing, or null if none are
+     */
+    public static String getMissingFieldMessage(CharacterCreateRequest request) {
+        if (request == null) {
+            return "Invalid object";
+        }
+        if (StringUtils.isEmpty(request.characterName())) {
+            return "Missing character name";
+        }
+        if (request.species() == null) {
+            return "Missing species";
+        }
+        if (request.level() == null) {
+            return "Missing level";
+        }
+        if (request.attributes() == null) {
+            return "Missing attributes";
+        }
+        if (StringUtils.isEmpty(request.speciesStrength())) {
+            return "Missing species strength";
+        }
+
+        return null;
+    }
+
+    /**
+     * @param request Party creation request
+     * @return A message describing the first problem with the size of the party or a required field
+     * of one of its characters, or null if there isn't one
+     */
+    public static String getMissingFieldMessage(PartyCreateRequest request) {
+        if (request == null) {
+            return "Invalid object";
+        }
+
+        var characterList = request.characters();
+        if (characterList == null || characterList.isEmpty()) {
+            return "Party must have at least one character";
+        }
+        if (characterList.size() > PartyCreateRequest.MAX_PARTY_SIZE) {
+            return String.format("Party cannot have more than %d characters", PartyCreateRequest.MAX_PARTY_SIZE);
+        }
+
+        for (var i = 0; i < characterList.size(); i++) {
+            var message = getMissingFieldMessage(characterList.get(i));
+            if (message != null) {
+                return String.format("Character %d: %s", i + 1, message);
+            }
+        }
+
+        return null;
+    }
+}
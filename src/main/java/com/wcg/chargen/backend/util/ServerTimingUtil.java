@@ -0,0 +1,73 @@
+package com.wcg.chargen.backend.util;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Collects the durations that are reported in the Server-Timing header of the current request.
+ *
+ * Collection is only active between start and finish, which are called by ServerTimingFilter
+ * on the thread handling the request.  Outside of that (e.g. in background jobs, or when the
+ * filter is turned off), recording a duration does nothing.
+ */
+public class ServerTimingUtil {
+    private static final ThreadLocal<Map<String, Long>> DURATION_MAP_THREAD_LOCAL = new ThreadLocal<>();
+
+    public static void start() {
+        DURATION_MAP_THREAD_LOCAL.set(new LinkedHashMap<>());
+    }
+
+    /**
+     * Stop collecting durations for the current request.
+     *
+     * @return Value for the Server-Timing header, or an empty string if nothing was recorded
+     */
+    public static String finish() {
+        var durationMap = DURATION_MAP_THREAD_LOCAL.get();
+        DURATION_MAP_THREAD_LOCAL.remove();
+        if (durationMap == null) {
+            return "";
+        }
+
+        var stringBuilder = new StringBuilder();
+        for (var entry : durationMap.entrySet()) {
+            if (!stringBuilder.isEmpty()) {
+                stringBuilder.append(", ");
+            }
+            stringBuilder.append(format(entry.getKey(), entry.getValue()));
+        }
+
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Record a duration for the current request.
+     * Durations recorded more than once under the same name (e.g. several calls to Google) are added together.
+     *
+     * @param name Name of the stage, which must be a valid HTTP token
+     * @param durationNanos Duration of the stage in nanoseconds
+     */
+    public static void record(String name, long durationNanos) {
+        var durationMap = DURATION_MAP_THREAD_LOCAL.get();
+        if (durationMap != null) {
+            durationMap.merge(name, durationNanos, Long::sum);
+        }
+    }
+
+    public static <T> T time(String name, Supplier<T> supplier) {
+        var startNanos = System.nanoTime();
+        try {
+            return supplier.get();
+        }
+        finally {
+            record(name, System.nanoTime() - startNanos);
+        }
+    }
+
+    public static String format(String name, long durationNanos) {
+        // Server-Timing durations are in milliseconds
+        return String.format(Locale.ROOT, "%s;dur=%.2f", name, durationNanos / 1_000_000.0);
+    }
+}
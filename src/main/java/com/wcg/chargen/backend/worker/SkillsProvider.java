@@ -2,9 +2,44 @@ package com.wcg.chargen.backend.worker;
 
 import com.wcg.chargen.backend.model.Skill;
 
+import java.util.Collection;
 import java.util.Set;
 
+/**
+ * Provides the skills defined in the game data.
+ *
+ * Each skill is given an integer id when the data is loaded, from 0 up in alphabetical order of name,
+ * so a set of skills can be held as a long with the bit for each skill's id set.  Iterating over
+ * the set bits from lowest to highest then gives the skills in alphabetical order.
+ */
 public interface SkillsProvider {
+    /**
+     * Maximum number of skills, which is the number of bits in a skill mask
+     */
+    int MAX_SKILLS = Long.SIZE;
+
     Skill getByName(String name);
+
+    /**
+     * @return Names of all skills, in alphabetical order.  The set can't be modified.
+     */
     Set<String> getSkillNameSet();
+
+    /**
+     * @return Id of the skill with the given name, or -1 if there isn't one
+     */
+    int getSkillId(String name);
+
+    Skill getById(int id);
+
+    /**
+     * @return Mask with the bit set for every skill
+     */
+    long getAllSkillsMask();
+
+    /**
+     * @return Mask with the bit set for each of the named skills
+     * @throws IllegalArgumentException if any of the names isn't a skill
+     */
+    long getSkillMask(Collection<String> names);
 }
@@ -585,21 +585,34 @@ public class DefaultCharacterSheetWorker implements CharacterSheetWorker {
 
         // First, get all the class skills
         var charClass = charClassesService.getCharClassByType(characterCreateRequest.characterClass());
-        // Wrap with ArrayList so we can mutate the list to add species and bonus skills
-        var skillsList = new ArrayList<>(charClass.skills().stream()
-                .map(x -> skillsProvider.getByName(x))
-                .toList());
+        var skillsList = new ArrayList<Skill>(charClass.skills().size() + 1 +
+                characterCreateRequest.bonusSkills().size());
+        for (var skillName : charClass.skills()) {
+            addSkill(skillsList, skillName);
+        }
 
         // Then add the species skill (if applicable) and bonus skills
         if (!StringUtils.isEmpty(characterCreateRequest.speciesSkill())) {
-            skillsList.add(skillsProvider.getByName(characterCreateRequest.speciesSkill()));
+            addSkill(skillsList, characterCreateRequest.speciesSkill());
         }
         for (var bonusSkill : characterCreateRequest.bonusSkills()) {
-            skillsList.add(skillsProvider.getByName(bonusSkill));
+            addSkill(skillsList, bonusSkill);
+        }
+
+        // Sort the skills by name, keeping a skill that was given more than once
+        skillsList.sort(Comparator.comparing(Skill::name));
+
+        return skillsList;
+    }
+
+    private void addSkill(List<Skill> skillsList, String skillName) {
+        var skill = skillsProvider.getByName(skillName);
+        if (skill == null) {
+            // The request validator rejects unknown skills, so this can only happen if it's bypassed
+            logger.warn("Skipping unknown skill {}", skillName);
+            return;
         }
 
-        return skillsList.stream()
-                .sorted((Comparator.comparing(Skill::name)))
-                .toList();
+        skillsList.add(skill);
     }
 }
@@ -8,15 +8,16 @@ import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.*;
 
 @Component
 public class DefaultSkillsProvider implements SkillsProvider {
     private final YamlLoaderService<Skills> yamlLoaderService;
 
-    private final HashMap<String, Skill> skillsMap = new HashMap<>();
+    private final HashMap<String, Integer> skillIdMap = new HashMap<>();
+    // Indexed by skill id
+    private Skill[] skills = new Skill[0];
+    private Set<String> skillNameSet = Collections.emptySortedSet();
 
     @Autowired
     public DefaultSkillsProvider(YamlLoaderService<Skills> yamlLoaderService) {
@@ -25,24 +26,67 @@ public class DefaultSkillsProvider implements SkillsProvider {
 
     @PostConstruct
     private void postConstruct() {
-        var skills = yamlLoaderService.loadFromYaml();
-        if (skills == null) {
+        var skillsObj = yamlLoaderService.loadFromYaml();
+        if (skillsObj == null) {
             throw new IllegalStateException("Error loading skills YAML file");
         }
 
-        // Initialize map from skill name to skill object
-        for (var skill : skills.skills()) {
-            skillsMap.put(skill.name(), skill);
+        // Sort the skills by name so that iterating over a skill mask gives them in alphabetical order
+        var sortedSkillMap = new TreeMap<String, Skill>();
+        for (var skill : skillsObj.skills()) {
+            sortedSkillMap.put(skill.name(), skill);
         }
+        if (sortedSkillMap.size() > MAX_SKILLS) {
+            throw new IllegalStateException("Skills YAML file has more than " + MAX_SKILLS + " skills");
+        }
+
+        // Initialize map from skill name to skill id
+        skillIdMap.clear();
+        for (var skillName : sortedSkillMap.keySet()) {
+            skillIdMap.put(skillName, skillIdMap.size());
+        }
+        skills = sortedSkillMap.values().toArray(new Skill[0]);
+        skillNameSet = Collections.unmodifiableSortedSet(new TreeSet<>(sortedSkillMap.keySet()));
     }
 
     @Override
     public Skill getByName(String name) {
-        return skillsMap.get(name);
+        var id = getSkillId(name);
+        return (id < 0) ? null : skills[id];
     }
 
     @Override
     public Set<String> getSkillNameSet() {
-        return new TreeSet<>(skillsMap.keySet());
+        return skillNameSet;
+    }
+
+    @Override
+    public int getSkillId(String name) {
+        return (name == null) ? -1 : skillIdMap.getOrDefault(name, -1);
+    }
+
+    @Override
+    public Skill getById(int id) {
+        return skills[id];
+    }
+
+    @Override
+    public long getAllSkillsMask() {
+        // Shifting by 64 leaves the value unchanged, so a full mask has to be handled separately
+        return (skills.length == MAX_SKILLS) ? -1L : (1L << skills.length) - 1;
+    }
+
+    @Override
+    public long getSkillMask(Collection<String> names) {
+        var mask = 0L;
+        for (var name : names) {
+            var id = getSkillId(name);
+            if (id < 0) {
+                throw new IllegalArgumentException("Unknown skill " + name);
+            }
+            mask |= 1L << id;
+        }
+
+        return mask;
     }
 }
@@ -0,0 +1,61 @@
+package com.wcg.chargen.backend.aot;
+
+import com.google.api.services.sheets.v4.model.CellFormat;
+import com.google.api.services.sheets.v4.model.Spreadsheet;
+import com.wcg.chargen.backend.model.CharClass;
+import com.wcg.chargen.backend.model.Feature;
+import com.wcg.chargen.backend.model.GoogleSheetsApiResponse;
+import com.wcg.chargen.backend.model.Species;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BackendRuntimeHintsTests {
+    private RuntimeHints hints;
+
+    @BeforeEach
+    public void beforeTest() {
+        hints = new RuntimeHints();
+        new BackendRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "charSheet.pdf",
+            "yaml/skills.yml",
+            "yaml/charClasses/mage.yml",
+            "yaml/species/elf.yml",
+            "org/apache/pdfbox/resources/afm/Helvetica.afm",
+            "org/apache/pdfbox/resources/glyphlist/glyphlist.txt",
+            "org/apache/fontbox/unicode/Scripts.txt"
+    })
+    public void registerHints_RegistersResource(String resource) {
+        assertTrue(RuntimeHintsPredicates.resource().forResource(resource).test(hints));
+    }
+
+    @Test
+    public void registerHints_RegistersYamlModelRecordsAndTheirComponents() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CharClass.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Species.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        // Only reachable as a component of another record
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Feature.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(GoogleSheetsApiResponse.class).test(hints));
+    }
+
+    @Test
+    public void registerHints_RegistersGoogleSheetsModelFields() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Spreadsheet.class)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CellFormat.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+    }
+}
@@ -0,0 +1,122 @@
+package com.wcg.chargen.backend.aot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wcg.chargen.backend.constants.PdfFieldConstants;
+import com.wcg.chargen.backend.enums.CharType;
+import com.wcg.chargen.backend.enums.SpeciesType;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.GoogleSheetsApiResponse;
+import com.wcg.chargen.backend.service.*;
+import com.wcg.chargen.backend.testUtil.CharacterCreateRequestBuilder;
+import com.wcg.chargen.backend.util.PdfUtil;
+import com.wcg.chargen.backend.worker.SkillsProvider;
+import org.apache.pdfbox.Loader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the paths that depend on BackendRuntimeHints end to end, through the real beans and without mocks,
+ * so that they also run when the suite is run as a native executable: loading the YAML game data,
+ * filling in and flattening the PDF template, and serializing a Google Sheets spreadsheet.
+ */
+@SpringBootTest
+public class NativeImageSmokeTests {
+    @Autowired
+    private CharClassesService charClassesService;
+    @Autowired
+    private SpeciesService speciesService;
+    @Autowired
+    private SkillsProvider skillsProvider;
+    @Autowired
+    private CharacterCreateRequestValidatorService characterCreateRequestValidatorService;
+    @Autowired
+    private PdfCharacterCreateService pdfCharacterCreateService;
+    @Autowired
+    private GoogleSheetsCharacterCreateService googleSheetsCharacterCreateService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private CharacterCreateRequest getRequest() {
+        var bonusSkills = skillsProvider.getSkillNameSet().stream()
+                .limit(2)
+                .toList();
+
+        return CharacterCreateRequestBuilder.getBuilder()
+                .withCharacterName("SomeName")
+                .withCharacterType(CharType.MAGE)
+                .withSpeciesType(SpeciesType.HUMAN)
+                .withLevel(1)
+                .withAttributes(CharacterCreateRequestBuilder.VALID_ATTRIBUTES_MAP)
+                .withSpeciesStrength("STR")
+                .withBonusSkills(bonusSkills)
+                .withUseQuickGear(true)
+                .build();
+    }
+
+    @ParameterizedTest
+    @EnumSource(CharType.class)
+    public void gameData_IsLoadedForEveryClass(CharType charType) {
+        var charClass = charClassesService.getCharClassByType(charType);
+
+        assertNotNull(charClass);
+        assertFalse(charClass.skills().isEmpty());
+        assertFalse(charClass.features().tier1().isEmpty());
+    }
+
+    @ParameterizedTest
+    @EnumSource(SpeciesType.class)
+    public void gameData_IsLoadedForEverySpecies(SpeciesType speciesType) {
+        assertNotNull(speciesService.getSpeciesByType(speciesType));
+    }
+
+    @Test
+    public void validate_AcceptsRequest() {
+        assertTrue(characterCreateRequestValidatorService.validate(getRequest()).isSuccess());
+    }
+
+    @Test
+    public void createCharacter_FillsInPdfTemplate() throws IOException {
+        var status = pdfCharacterCreateService.createCharacter(getRequest());
+
+        assertNull(status.errMsg());
+        try (var pdfDocument = Loader.loadPDF(status.pdfStream().readAllBytes())) {
+            assertEquals("SomeName", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.CHARACTER_NAME));
+        }
+    }
+
+    @Test
+    public void createCharacter_FlattensPdf() throws IOException {
+        var status = pdfCharacterCreateService.createCharacter(getRequest(), true);
+
+        assertNull(status.errMsg());
+        try (var pdfDocument = Loader.loadPDF(status.pdfStream().readAllBytes())) {
+            assertNull(pdfDocument.getDocumentCatalog().getAcroForm());
+            assertTrue(pdfDocument.getNumberOfPages() > 0);
+        }
+    }
+
+    @Test
+    public void buildSpreadsheet_IsSerializedWithEverySheet() throws IOException {
+        var spreadsheet = googleSheetsCharacterCreateService.buildSpreadsheet(getRequest());
+
+        var json = objectMapper.readTree(objectMapper.writeValueAsBytes(spreadsheet));
+
+        assertEquals(spreadsheet.getProperties().getTitle(), json.at("/properties/title").asText());
+        assertEquals(spreadsheet.getSheets().size(), json.get("sheets").size());
+        assertFalse(json.at("/sheets/0/data/0/rowData").isEmpty());
+    }
+
+    @Test
+    public void googleSheetsApiResponse_IsDeserialized() throws IOException {
+        var response = objectMapper.readValue("{\"spreadsheetId\":\"abc\"}", GoogleSheetsApiResponse.class);
+
+        assertEquals("abc", response.spreadsheetId());
+    }
+}
@@ -2,12 +2,18 @@ package com.wcg.chargen.backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wcg.chargen.backend.enums.CharType;
+import com.wcg.chargen.backend.enums.JobStage;
 import com.wcg.chargen.backend.enums.SpeciesType;
+import com.wcg.chargen.backend.exception.JobQueueFullException;
 import com.wcg.chargen.backend.model.CharacterCreateRequest;
 import com.wcg.chargen.backend.model.CharacterCreateStatus;
+import com.wcg.chargen.backend.model.JobStatus;
+import com.wcg.chargen.backend.model.PartyCreateRequest;
 import com.wcg.chargen.backend.model.PdfCharacterCreateStatus;
 import com.wcg.chargen.backend.service.GoogleSheetsCharacterCreateService;
+import com.wcg.chargen.backend.service.GoogleSheetsJobService;
 import com.wcg.chargen.backend.service.PdfCharacterCreateService;
+import com.wcg.chargen.backend.service.impl.DefaultIdempotencyService;
 import com.wcg.chargen.backend.testUtil.CharacterCreateRequestBuilder;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -18,27 +24,47 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(CharacterCreateController.class)
+@Import(DefaultIdempotencyService.class)
+@DisabledInAotMode
 public class CharacterCreateControllerTests {
     @MockBean
     private GoogleSheetsCharacterCreateService googleSheetsCharacterCreateService;
     @MockBean
     private PdfCharacterCreateService pdfCharacterCreateService;
+    @MockBean
+    private GoogleSheetsJobService googleSheetsJobService;
     @Autowired
     private MockMvc mockMvc;
 
@@ -79,6 +105,10 @@ public class CharacterCreateControllerTests {
     private static final String DUMMY_BEARER_TOKEN = "some token";
     private static final String GOOGLE_SHEETS_URL = "/api/v1/createcharacter/googlesheets";
     private static final String PDF_URL = "/api/v1/createcharacter/pdf";
+    private static final String GOOGLE_SHEETS_PARTY_URL = "/api/v1/createcharacter/googlesheets/party";
+    private static final String GOOGLE_SHEETS_JOBS_URL = "/api/v1/createcharacter/googlesheets/jobs";
+    private static final String JOBS_URL = "/api/v1/createcharacter/jobs";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
 
     @ParameterizedTest
     @ValueSource(strings = {GOOGLE_SHEETS_URL, PDF_URL})
@@ -361,7 +391,7 @@ public class CharacterCreateControllerTests {
         var status = PdfCharacterCreateStatus.error(expectedErrMsg);
 
         Mockito.when(
-                pdfCharacterCreateService.createCharacter(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS))
+                pdfCharacterCreateService.createCharacter(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS, false))
                 .thenReturn(status);
 
         try {
@@ -404,7 +434,7 @@ public class CharacterCreateControllerTests {
     @Test
     public void createCharacterPdf_Returns500IfPdfServiceThrowsException() {
         Mockito.when(
-                pdfCharacterCreateService.createCharacter(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS))
+                pdfCharacterCreateService.createCharacter(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS, false))
                 .thenThrow(new RuntimeException());
 
         try {
@@ -451,7 +481,7 @@ public class CharacterCreateControllerTests {
         var testInputStream = new ByteArrayInputStream("test".getBytes(StandardCharsets.UTF_8));
         var pdfSuccessStatus = new PdfCharacterCreateStatus(testInputStream, "test.pdf", null);
         Mockito.when(
-                pdfCharacterCreateService.createCharacter(validRequest))
+                pdfCharacterCreateService.createCharacter(validRequest, false))
                 .thenReturn(pdfSuccessStatus);
 
         try {
@@ -461,6 +491,316 @@ public class CharacterCreateControllerTests {
                             .content(objectMapper.writeValueAsString(validRequest))
                             .contentType(MediaType.APPLICATION_JSON)
                             .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Server-Timing", containsString("total;dur=")))
+                    .andExpect(content().string("test"));
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    public void createPartyGoogle_Returns200OnSuccessIfRequestIsValid() {
+        var partyRequest = new PartyCreateRequest(List.of(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS,
+                VALID_CHARACTER_CREATE_REQUEST_WITH_PROFESSION));
+        Mockito.when(
+                googleSheetsCharacterCreateService.createParty(partyRequest, DUMMY_BEARER_TOKEN))
+                .thenReturn(CharacterCreateStatus.SUCCESS);
+
+        try {
+            mockMvc.perform(MockMvcRequestBuilders
+                            .post(GOOGLE_SHEETS_PARTY_URL)
+                            .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
+                            .content(objectMapper.writeValueAsString(partyRequest))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    public void createPartyGoogle_Returns500WithErrorMessageIfGoogleServiceReturnsFailureStatus() {
+        var expectedErrMsg = "Character 2: Some error message";
+        var partyRequest = new PartyCreateRequest(List.of(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS,
+                VALID_CHARACTER_CREATE_REQUEST_WITH_PROFESSION));
+        Mockito.when(
+                googleSheetsCharacterCreateService.createParty(partyRequest, DUMMY_BEARER_TOKEN))
+                .thenReturn(new CharacterCreateStatus(false, expectedErrMsg));
+
+        try {
+            mockMvc.perform(MockMvcRequestBuilders
+                            .post(GOOGLE_SHEETS_PARTY_URL)
+                            .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
+                            .content(objectMapper.writeValueAsString(partyRequest))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isInternalServerError())
+                    .andExpect(content().string(expectedErrMsg));
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidPartyCreateRequests")
+    public void createPartyGoogle_Returns400IfPartyIsInvalid(PartyCreateRequest partyRequest) {
+        try {
+            mockMvc.perform(MockMvcRequestBuilders
+                            .post(GOOGLE_SHEETS_PARTY_URL)
+                            .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
+                            .content(objectMapper.writeValueAsString(partyRequest))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    static Stream<Arguments> invalidPartyCreateRequests() {
+        var characterWithoutName = CharacterCreateRequestBuilder.getBuilder()
+                .withCharacterName(null)
+                .withCharacterType(CharType.MAGE)
+                .withSpeciesType(SpeciesType.DWARF)
+                .withLevel(1)
+                .withAttributes(ATTRIBUTES)
+                .withSpeciesStrength(SPECIES_STRENGTH_ATTRIBUTE)
+                .build();
+        var tooLargeParty = Collections.nCopies(PartyCreateRequest.MAX_PARTY_SIZE + 1,
+                VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS);
+
+        return Stream.of(
+                Arguments.arguments(new PartyCreateRequest(null)),
+                Arguments.arguments(new PartyCreateRequest(List.of())),
+                Arguments.arguments(new PartyCreateRequest(tooLargeParty)),
+                Arguments.arguments(new PartyCreateRequest(List.of(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS,
+                        characterWithoutName)))
+        );
+    }
+
+    @Test
+    public void createCharacterGoogleJob_Returns202WithJobStatusAndLocation() {
+        var jobStatus = new JobStatus("some-job-id", JobStage.QUEUED, null, null);
+        Mockito.when(
+                googleSheetsJobService.submit(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS, DUMMY_BEARER_TOKEN))
+                .thenReturn(jobStatus);
+
+        try {
+            mockMvc.perform(MockMvcRequestBuilders
+                            .post(GOOGLE_SHEETS_JOBS_URL)
+                            .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
+                            .content(objectMapper.writeValueAsString(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string(HttpHeaders.LOCATION, endsWith(JOBS_URL + "/some-job-id")))
+                    .andExpect(jsonPath("$.jobId").value("some-job-id"))
+                    .andExpect(jsonPath("$.stage").value("QUEUED"));
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    public void createCharacterGoogleJob_Returns503IfJobQueueIsFull() {
+        Mockito.when(
+                googleSheetsJobService.submit(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS, DUMMY_BEARER_TOKEN))
+                .thenThrow(new JobQueueFullException(100));
+
+        try {
+            mockMvc.perform(MockMvcRequestBuilders
+                            .post(GOOGLE_SHEETS_JOBS_URL)
+                            .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
+                            .content(objectMapper.writeValueAsString(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isServiceUnavailable());
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    public void createCharacterGoogleJob_Returns400IfRequestIsInvalid() {
+        var invalidRequest = CharacterCreateRequestBuilder.getBuilder()
+                .withCharacterName(null)
+                .withCharacterType(CharType.MAGE)
+                .withSpeciesType(SpeciesType.DWARF)
+                .withLevel(1)
+                .withAttributes(ATTRIBUTES)
+                .withSpeciesStrength(SPECIES_STRENGTH_ATTRIBUTE)
+                .build();
+
+        try {
+            mockMvc.perform(MockMvcRequestBuilders
+                            .post(GOOGLE_SHEETS_JOBS_URL)
+                            .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
+                            .content(objectMapper.writeValueAsString(invalidRequest))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    public void getJobStatus_Returns200WithStatusForKnownJob() {
+        var jobStatus = new JobStatus("some-job-id", JobStage.DONE, "aaa-bbb-ccc", null);
+        Mockito.when(googleSheetsJobService.getStatus("some-job-id")).thenReturn(jobStatus);
+
+        try {
+            mockMvc.perform(MockMvcRequestBuilders
+                            .get(JOBS_URL + "/some-job-id")
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.stage").value("DONE"))
+                    .andExpect(jsonPath("$.spreadsheetId").value("aaa-bbb-ccc"))
+                    .andExpect(header().doesNotExist("Server-Timing"));
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "/events"})
+    public void jobEndpoints_Return404ForUnknownJob(String suffix) {
+        try {
+            mockMvc.perform(MockMvcRequestBuilders
+                            .get(JOBS_URL + "/unknown" + suffix))
+                    .andExpect(status().isNotFound());
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void getJobEvents_StreamsStatusUpdatesUntilJobFinishes() {
+        Mockito.when(googleSheetsJobService.subscribe(eq("some-job-id"), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<JobStatus> subscriber = invocation.getArgument(1);
+                    subscriber.accept(new JobStatus("some-job-id", JobStage.UPLOADING, null, null));
+                    subscriber.accept(new JobStatus("some-job-id", JobStage.DONE, "aaa-bbb-ccc", null));
+                    return true;
+                });
+
+        try {
+            var mvcResult = mockMvc.perform(MockMvcRequestBuilders
+                            .get(JOBS_URL + "/some-job-id/events")
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("event:UPLOADING")))
+                    .andExpect(content().string(containsString("event:DONE")))
+                    .andExpect(content().string(containsString("\"spreadsheetId\":\"aaa-bbb-ccc\"")));
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    public void createCharacterGoogle_RepeatedIdempotencyKeyReturnsOriginalOutcomeWithoutCallingServiceAgain() {
+        Mockito.when(
+                googleSheetsCharacterCreateService.createCharacter(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS,
+                        DUMMY_BEARER_TOKEN))
+                .thenReturn(CharacterCreateStatus.SUCCESS);
+
+        try {
+            for (var i = 0; i < 2; i++) {
+                mockMvc.perform(MockMvcRequestBuilders
+                                .post(GOOGLE_SHEETS_URL)
+                                .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
+                                .header(IDEMPOTENCY_KEY_HEADER, "google-key")
+                                .content(objectMapper.writeValueAsString(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk());
+            }
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+
+        verify(googleSheetsCharacterCreateService, times(1))
+                .createCharacter(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS, DUMMY_BEARER_TOKEN);
+    }
+
+    @Test
+    public void createCharacterGoogle_IdempotencyKeyIsScopedToBearerToken() {
+        Mockito.when(googleSheetsCharacterCreateService.createCharacter(any(), any()))
+                .thenReturn(CharacterCreateStatus.SUCCESS);
+
+        try {
+            for (var bearerToken : List.of(DUMMY_BEARER_TOKEN, "other token")) {
+                mockMvc.perform(MockMvcRequestBuilders
+                                .post(GOOGLE_SHEETS_URL)
+                                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                                .header(IDEMPOTENCY_KEY_HEADER, "scoped-key")
+                                .content(objectMapper.writeValueAsString(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk());
+            }
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+
+        verify(googleSheetsCharacterCreateService, times(2)).createCharacter(any(), any());
+    }
+
+    @Test
+    public void createCharacterGoogle_FailedOutcomeIsNotReplayed() {
+        Mockito.when(
+                googleSheetsCharacterCreateService.createCharacter(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS,
+                        DUMMY_BEARER_TOKEN))
+                .thenReturn(new CharacterCreateStatus(false, "Some error message"))
+                .thenReturn(CharacterCreateStatus.SUCCESS);
+
+        try {
+            mockMvc.perform(MockMvcRequestBuilders
+                            .post(GOOGLE_SHEETS_URL)
+                            .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
+                            .header(IDEMPOTENCY_KEY_HEADER, "retry-key")
+                            .content(objectMapper.writeValueAsString(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isInternalServerError());
+            mockMvc.perform(MockMvcRequestBuilders
+                            .post(GOOGLE_SHEETS_URL)
+                            .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
+                            .header(IDEMPOTENCY_KEY_HEADER, "retry-key")
+                            .content(objectMapper.writeValueAsString(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON))
                     .andExpect(status().isOk());
         }
         catch (Exception e) {
@@ -469,6 +809,107 @@ public class CharacterCreateControllerTests {
         }
     }
 
+    @Test
+    public void createCharacterPdf_RepeatedIdempotencyKeyStreamsCachedBytes() {
+        var pdfContent = "test pdf";
+        Mockito.when(pdfCharacterCreateService.createCharacter(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS, false))
+                .thenAnswer(invocation -> new PdfCharacterCreateStatus(
+                        new ByteArrayInputStream(pdfContent.getBytes(StandardCharsets.UTF_8)), "test.pdf", null));
+
+        try {
+            for (var i = 0; i < 2; i++) {
+                mockMvc.perform(MockMvcRequestBuilders
+                                .post(PDF_URL)
+                                .header(IDEMPOTENCY_KEY_HEADER, "pdf-key")
+                                .content(objectMapper.writeValueAsString(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS))
+                                .contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=test.pdf"))
+                        .andExpect(content().string(pdfContent));
+            }
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+
+        verify(pdfCharacterCreateService, times(1)).createCharacter(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS, false);
+    }
+
+    @Test
+    public void createCharacterPdf_Returns422IfIdempotencyKeyIsReusedWithDifferentRequest() {
+        Mockito.when(pdfCharacterCreateService.createCharacter(any(), anyBoolean()))
+                .thenAnswer(invocation -> new PdfCharacterCreateStatus(
+                        new ByteArrayInputStream("test".getBytes(StandardCharsets.UTF_8)), "test.pdf", null));
+
+        try {
+            mockMvc.perform(MockMvcRequestBuilders
+                            .post(PDF_URL)
+                            .header(IDEMPOTENCY_KEY_HEADER, "reused-key")
+                            .content(objectMapper.writeValueAsString(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+            mockMvc.perform(MockMvcRequestBuilders
+                            .post(PDF_URL)
+                            .header(IDEMPOTENCY_KEY_HEADER, "reused-key")
+                            .content(objectMapper.writeValueAsString(VALID_CHARACTER_CREATE_REQUEST_WITH_PROFESSION))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isUnprocessableEntity());
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    public void createCharacterPdf_PassesFlattenToPdfService() {
+        var pdfContent = "flattened pdf";
+        Mockito.when(pdfCharacterCreateService.createCharacter(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS, true))
+                .thenAnswer(invocation -> new PdfCharacterCreateStatus(
+                        new ByteArrayInputStream(pdfContent.getBytes(StandardCharsets.UTF_8)), "test.pdf", null));
+
+        try {
+            mockMvc.perform(MockMvcRequestBuilders
+                            .post(PDF_URL)
+                            .param("flatten", "true")
+                            .content(objectMapper.writeValueAsString(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(pdfContent));
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    public void createCharacterPdf_SameIdempotencyKeyCreatesFlattenedAndFillableSheetsSeparately() {
+        Mockito.when(pdfCharacterCreateService.createCharacter(any(), anyBoolean()))
+                .thenAnswer(invocation -> new PdfCharacterCreateStatus(
+                        new ByteArrayInputStream("test".getBytes(StandardCharsets.UTF_8)), "test.pdf", null));
+
+        try {
+            for (var flatten : List.of("false", "true")) {
+                mockMvc.perform(MockMvcRequestBuilders
+                                .post(PDF_URL)
+                                .param("flatten", flatten)
+                                .header(IDEMPOTENCY_KEY_HEADER, "print-key")
+                                .content(objectMapper.writeValueAsString(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS))
+                                .contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk());
+            }
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+
+        verify(pdfCharacterCreateService, times(1)).createCharacter(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS, false);
+        verify(pdfCharacterCreateService, times(1)).createCharacter(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS, true);
+    }
+
     static Stream<Arguments> validCharacterCreateRequests() {
         return Stream.of(
                 Arguments.arguments(VALID_CHARACTER_CREATE_REQUEST_WITH_CLASS),
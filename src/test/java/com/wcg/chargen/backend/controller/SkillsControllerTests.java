@@ -2,6 +2,7 @@ package com.wcg.chargen.backend.controller;
 
 import com.wcg.chargen.backend.enums.CharType;
 import com.wcg.chargen.backend.enums.SpeciesType;
+import com.wcg.chargen.backend.model.Skill;
 import com.wcg.chargen.backend.model.SkillsResponse;
 import com.wcg.chargen.backend.service.impl.DefaultSkillsService;
 
@@ -11,15 +12,21 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(SkillsController.class)
+@DisabledInAotMode
 public class SkillsControllerTests {
     @MockBean
     private DefaultSkillsService skillsService;
@@ -112,4 +119,40 @@ public class SkillsControllerTests {
             fail();
         }
     }
+
+    @Test
+    void Successful_Request_Has_Server_Timing_Header() {
+        when(skillsService.getSkills(any(CharType.class), any(SpeciesType.class)))
+                .thenReturn(new SkillsResponse());
+
+        try {
+            mockMvc.perform(get("/api/v1/skills?charClass=warrior&species=dwarf"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Server-Timing", matchesPattern(
+                            "resolve;dur=[0-9.]+, total;dur=[0-9.]+")));
+        }
+        catch (Exception e) {
+            fail();
+        }
+    }
+
+    @Test
+    void Skills_Are_Returned_With_Only_Name_And_Attributes() {
+        var skillsResponse = new SkillsResponse();
+        skillsResponse.addClassSkill(new Skill("Athletics", new String[] {"STR", "COR", "STA"}));
+        when(skillsService.getSkills(any(CharType.class), any(SpeciesType.class)))
+                .thenReturn(skillsResponse);
+
+        try {
+            mockMvc.perform(get("/api/v1/skills?charClass=warrior&species=dwarf"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.classSkills[0].name").value("Athletics"))
+                    .andExpect(jsonPath("$.classSkills[0].attributes", contains("STR", "COR", "STA")))
+                    .andExpect(jsonPath("$.classSkills[0].attributeTypes").doesNotExist())
+                    .andExpect(jsonPath("$.classSkills[0].displayName").doesNotExist());
+        }
+        catch (Exception e) {
+            fail();
+        }
+    }
 }
@@ -0,0 +1,82 @@
+package com.wcg.chargen.backend.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+
+@DisabledInNativeImage
+public class AllocationFilterTests {
+    private static final String ALLOCATION_METRIC = "chargen.http.server.allocation";
+    private static final int ALLOCATION_SIZE = 4 * 1024 * 1024;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AllocationFilter allocationFilter;
+    // Kept in a field so that the allocation can't be optimized away
+    private byte[] allocatedBytes;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void beforeTest() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObjectProvider<MeterRegistry> meterRegistryProvider = Mockito.mock(ObjectProvider.class);
+        Mockito.when(meterRegistryProvider.getIfAvailable(any())).thenReturn(meterRegistry);
+
+        allocationFilter = new AllocationFilter(meterRegistryProvider, DataSize.ofMegabytes(1));
+    }
+
+    private FilterChain getAllocatingFilterChain(String uriPattern) {
+        return (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, uriPattern);
+            allocatedBytes = new byte[ALLOCATION_SIZE];
+        };
+    }
+
+    @Test
+    public void doFilter_RecordsBytesAllocatedByRequestAgainstRoute() throws Exception {
+        var request = new MockHttpServletRequest("POST", "/api/v1/createcharacter/pdf");
+
+        allocationFilter.doFilter(request, new MockHttpServletResponse(),
+                getAllocatingFilterChain("/api/v1/createcharacter/pdf"));
+
+        var summary = meterRegistry.get(ALLOCATION_METRIC)
+                .tag("method", "POST")
+                .tag("uri", "/api/v1/createcharacter/pdf")
+                .summary();
+        assertEquals(1, summary.count());
+        assertTrue(summary.totalAmount() >= ALLOCATION_SIZE);
+        assertNotNull(allocatedBytes);
+    }
+
+    @Test
+    public void doFilter_UnmatchedRequestIsRecordedAsUnknown() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/v1/nothing");
+
+        allocationFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {});
+
+        assertEquals(1, meterRegistry.get(ALLOCATION_METRIC)
+                .tag("uri", "UNKNOWN")
+                .summary()
+                .count());
+    }
+
+    @Test
+    public void doFilter_DoesNotRecordNonApiRequests() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/index.html");
+
+        allocationFilter.doFilter(request, new MockHttpServletResponse(), getAllocatingFilterChain("/**"));
+
+        assertNull(meterRegistry.find(ALLOCATION_METRIC).summary());
+    }
+}
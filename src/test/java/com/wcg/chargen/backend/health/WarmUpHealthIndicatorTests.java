@@ -0,0 +1,52 @@
+package com.wcg.chargen.backend.health;
+
+import com.wcg.chargen.backend.model.WarmUpStatus;
+import com.wcg.chargen.backend.service.WarmUpService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisabledInNativeImage
+public class WarmUpHealthIndicatorTests {
+    private final WarmUpService warmUpService = mock(WarmUpService.class);
+    private final WarmUpHealthIndicator healthIndicator = new WarmUpHealthIndicator(warmUpService);
+
+    @Test
+    public void health_IsOutOfServiceBeforeWarmUpCompletes() {
+        when(warmUpService.getStatus()).thenReturn(WarmUpStatus.NOT_STARTED);
+
+        assertEquals(Status.OUT_OF_SERVICE, healthIndicator.health().getStatus());
+    }
+
+    @Test
+    public void health_IsUpAfterWarmUpCompletes() {
+        when(warmUpService.getStatus()).thenReturn(new WarmUpStatus(true, 5, 135, 12000, false));
+
+        var health = healthIndicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(5, health.getDetails().get("roundsCompleted"));
+        assertEquals(135, health.getDetails().get("charactersRendered"));
+    }
+
+    @Test
+    public void health_IsUpAfterWarmUpTimesOut() {
+        when(warmUpService.getStatus()).thenReturn(new WarmUpStatus(true, 2, 54, 45000, true));
+
+        var health = healthIndicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(true, health.getDetails().get("timedOut"));
+    }
+
+    @Test
+    public void health_IsUpWhenWarmUpIsSkipped() {
+        when(warmUpService.getStatus()).thenReturn(WarmUpStatus.SKIPPED);
+
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+    }
+}
@@ -0,0 +1,299 @@
+package com.wcg.chargen.backend.service.impl;
+
+import com.wcg.chargen.backend.enums.AttributeType;
+import com.wcg.chargen.backend.enums.CharType;
+import com.wcg.chargen.backend.enums.SpeciesType;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.Feature;
+import com.wcg.chargen.backend.model.FeaturesRequest;
+import com.wcg.chargen.backend.model.Profession;
+import com.wcg.chargen.backend.service.*;
+import com.wcg.chargen.backend.testUtil.ReferenceCharacterCreateRequestValidator;
+import com.wcg.chargen.backend.worker.SkillsProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.*;
+
+import static com.wcg.chargen.backend.service.impl.DefaultFeaturesService.CUMULATIVE_TIER_1_FEATURES_PER_LEVEL;
+import static com.wcg.chargen.backend.service.impl.DefaultFeaturesService.CUMULATIVE_TIER_2_FEATURES_PER_LEVEL;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class CharacterCreateValidationTableTests {
+    private static final int REQUESTS_PER_SEED = 2000;
+    private static final String INVALID_VALUE = "Invalid";
+
+    @Autowired
+    CharacterCreateRequestValidatorService characterCreateRequestValidatorService;
+    @Autowired
+    CharClassesService charClassesService;
+    @Autowired
+    SpeciesService speciesService;
+    @Autowired
+    ProfessionsService professionsService;
+    @Autowired
+    SkillsProvider skillsProvider;
+
+    private CharacterCreateValidationTable table;
+
+    @BeforeEach
+    public void setup() {
+        table = CharacterCreateValidationTable.build(charClassesService, speciesService, professionsService,
+                skillsProvider);
+    }
+
+    @ParameterizedTest
+    @EnumSource(CharType.class)
+    public void getRule_FeatureCountsMatchCumulativeFeaturesPerLevel(CharType charType) {
+        for (var speciesType : SpeciesType.values()) {
+            assertEquals(0, table.getRule(charType, speciesType, 1).tier1FeatureCount());
+            assertEquals(0, table.getRule(charType, speciesType, 1).tier2FeatureCount());
+
+            for (var level = 2; level <= CharacterCreateValidationTable.MAX_LEVEL; level++) {
+                var rule = table.getRule(charType, speciesType, level);
+                assertEquals(CUMULATIVE_TIER_1_FEATURES_PER_LEVEL[level - 1], rule.tier1FeatureCount());
+                assertEquals(CUMULATIVE_TIER_2_FEATURES_PER_LEVEL[level - 1], rule.tier2FeatureCount());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(SpeciesType.class)
+    public void getRule_BonusSkillCountDependsOnSpecies(SpeciesType speciesType) {
+        var expectedBonusSkills = speciesType.isHuman() ? 2 : 1;
+
+        assertEquals(0, table.getRule(null, speciesType, 0).bonusSkillCount());
+        for (var charType : CharType.values()) {
+            assertEquals(expectedBonusSkills, table.getRule(charType, speciesType, 1).bonusSkillCount());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(SpeciesType.class)
+    public void getRule_AllowsSpeciesStrengthsWeaknessesAndSkillsFromGameData(SpeciesType speciesType) {
+        var species = speciesService.getSpeciesByType(speciesType);
+        var rule = table.getRule(CharType.MAGE, speciesType, 1);
+
+        for (var attributeType : AttributeType.values()) {
+            var attributeIndex = CharacterCreateValidationTable.getAttributeIndex(attributeType.name());
+            assertEquals(contains(species.strengths(), attributeType.name()), rule.isStrengthAllowed(attributeIndex));
+            assertEquals(contains(species.weaknesses(), attributeType.name()), rule.isWeaknessAllowed(attributeIndex));
+        }
+        for (var skillName : skillsProvider.getSkillNameSet()) {
+            assertEquals(contains(species.skills(), skillName), rule.isSpeciesSkillAllowed(table.getSkillIndex(skillName)));
+        }
+        assertFalse(rule.isSpeciesSkillAllowed(table.getSkillIndex(INVALID_VALUE)));
+        assertFalse(rule.isSpeciesSkillAllowed(table.getSkillIndex(null)));
+    }
+
+    private static boolean contains(List<String> list, String value) {
+        // Humans have no species weaknesses or skills
+        return list != null && list.contains(value);
+    }
+
+    @Test
+    public void getAttributeIndex_ReturnsMinusOneForNonAttributes() {
+        assertEquals(-1, CharacterCreateValidationTable.getAttributeIndex(INVALID_VALUE));
+        assertEquals(-1, CharacterCreateValidationTable.getAttributeIndex("str"));
+        assertEquals(-1, CharacterCreateValidationTable.getAttributeIndex(""));
+        assertEquals(-1, CharacterCreateValidationTable.getAttributeIndex(null));
+    }
+
+    /**
+     * Property: for any request, the table-driven validator returns exactly the same status as
+     * the reference validator, which checks the request directly against the game data.
+     *
+     * The requests are random, but mostly built from the game data so that they get past the
+     * early checks, with each field having some chance of being wrong or missing.
+     */
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3, 4, 5})
+    public void validate_AgreesWithReferenceValidatorForRandomRequests(long seed) {
+        var referenceValidator = new ReferenceCharacterCreateRequestValidator(professionsService, speciesService,
+                skillsProvider, charClassesService);
+        var generator = new RequestGenerator(new Random(seed));
+        var messageSet = new HashSet<String>();
+        var numSuccesses = 0;
+
+        for (var i = 0; i < REQUESTS_PER_SEED; i++) {
+            var request = generator.nextRequest();
+
+            var expectedStatus = referenceValidator.validate(request);
+            var status = characterCreateRequestValidatorService.validate(request);
+
+            assertEquals(expectedStatus, status, "Seed " + seed + ", request " + i + ": " + request);
+            if (status.isSuccess()) {
+                numSuccesses++;
+            }
+            else {
+                messageSet.add(status.message().replaceAll("[^A-Za-z ]", ""));
+            }
+        }
+
+        // Make sure the requests actually exercise the validator, rather than all failing the same way
+        assertTrue(numSuccesses > REQUESTS_PER_SEED / 20, "Only " + numSuccesses + " valid requests");
+        assertTrue(messageSet.size() >= 15, "Only " + messageSet.size() + " distinct failures: " + messageSet);
+    }
+
+    private class RequestGenerator {
+        private static final List<Integer> CHALLENGING_ATTRIBUTE_VALUES = List.of(-2, -1, 0, 0, 1, 1, 2);
+        private static final List<Integer> HEROIC_ATTRIBUTE_VALUES = List.of(-1, 0, 0, 0, 1, 2, 2);
+
+        private final Random random;
+        private final List<String> skillNameList;
+        private final List<String> professionNameList;
+
+        RequestGenerator(Random random) {
+            this.random = random;
+            this.skillNameList = skillsProvider.getSkillNameSet().stream().sorted().toList();
+            this.professionNameList = professionsService.getAllProfessions().professions().stream()
+                    .map(Profession::name)
+                    .toList();
+        }
+
+        CharacterCreateRequest nextRequest() {
+            var level = chance(5) ? random.nextInt(-1, 9) : random.nextInt(0, 8);
+            CharType charType = null;
+            if (level != 0 ? !chance(3) : chance(3)) {
+                charType = pick(Arrays.asList(CharType.values()));
+            }
+            var speciesType = chance(2) ? null : pick(Arrays.asList(SpeciesType.values()));
+            var species = speciesService.getSpeciesByType(speciesType == null ? SpeciesType.HUMAN : speciesType);
+            var isHuman = speciesType == null || speciesType.isHuman();
+
+            String profession = null;
+            if (level == 0 || chance(10)) {
+                profession = chance(90) ? pick(professionNameList) : pickInvalid();
+            }
+
+            var bonusSkillCount = isHuman ? 2 : 1;
+            if (chance(5)) {
+                bonusSkillCount = random.nextInt(0, 4);
+            }
+            List<String> bonusSkills = null;
+            if (!chance(3)) {
+                bonusSkills = new ArrayList<>();
+                for (var i = 0; i < bonusSkillCount; i++) {
+                    bonusSkills.add(chance(95) ? pick(skillNameList) : pickInvalid());
+                }
+            }
+
+            return new CharacterCreateRequest(
+                    chance(2) ? pickInvalid() : "Name",
+                    charType,
+                    speciesType,
+                    profession,
+                    chance(1) ? null : level,
+                    nextAttributes(),
+                    nextAttributeName(species.strengths()),
+                    nextAttributeName(species.weaknesses()),
+                    nextSpeciesSkill(species.skills()),
+                    bonusSkills,
+                    chance(3) ? null : random.nextBoolean(),
+                    nextFeatures(charType, level));
+        }
+
+        private Map<String, Integer> nextAttributes() {
+            if (chance(2)) {
+                return null;
+            }
+
+            List<Integer> valueList;
+            if (chance(80)) {
+                valueList = new ArrayList<>(random.nextBoolean() ? HEROIC_ATTRIBUTE_VALUES : CHALLENGING_ATTRIBUTE_VALUES);
+                Collections.shuffle(valueList, random);
+            }
+            else {
+                valueList = new ArrayList<>();
+                for (var i = 0; i < AttributeType.values().length; i++) {
+                    valueList.add(random.nextInt(-4, 5));
+                }
+            }
+
+            var attributesMap = new LinkedHashMap<String, Integer>();
+            for (var attributeType : AttributeType.values()) {
+                attributesMap.put(attributeType.name(), valueList.get(attributeType.ordinal()));
+            }
+            if (chance(3)) {
+                attributesMap.remove(pick(Arrays.asList(AttributeType.values())).name());
+            }
+            if (chance(3)) {
+                attributesMap.put(INVALID_VALUE, 0);
+            }
+            if (chance(2)) {
+                attributesMap.put(pick(Arrays.asList(AttributeType.values())).name(), null);
+            }
+
+            return attributesMap;
+        }
+
+        private String nextAttributeName(List<String> speciesAttributeNames) {
+            if (speciesAttributeNames != null && chance(80)) {
+                return pick(speciesAttributeNames);
+            }
+            if (chance(70)) {
+                return pick(Arrays.asList(AttributeType.values())).name();
+            }
+
+            return pickInvalid();
+        }
+
+        private String nextSpeciesSkill(List<String> speciesSkills) {
+            if (speciesSkills != null && chance(90)) {
+                return pick(speciesSkills);
+            }
+
+            return chance(50) ? pick(skillNameList) : pickInvalid();
+        }
+
+        private FeaturesRequest nextFeatures(CharType charType, int level) {
+            if (level <= 1 || level > CharacterCreateValidationTable.MAX_LEVEL) {
+                return chance(5) ? new FeaturesRequest(List.of(), List.of()) : null;
+            }
+            if (chance(3)) {
+                return null;
+            }
+
+            // Features for a class character of the wrong level, or from the wrong class
+            var featureLevel = chance(90) ? level : random.nextInt(2, 8);
+            var featureCharType = (charType != null && chance(95)) ? charType : pick(Arrays.asList(CharType.values()));
+            var features = charClassesService.getCharClassByType(featureCharType).features();
+
+            return new FeaturesRequest(
+                    chance(2) ? null : nextFeatureList(features.tier1(),
+                            CUMULATIVE_TIER_1_FEATURES_PER_LEVEL[featureLevel - 1]),
+                    chance(2) ? null : nextFeatureList(features.tier2(),
+                            CUMULATIVE_TIER_2_FEATURES_PER_LEVEL[featureLevel - 1]));
+        }
+
+        private List<String> nextFeatureList(List<Feature> classFeatureList, int count) {
+            var descriptionList = new ArrayList<>(classFeatureList.stream().map(Feature::description).toList());
+            Collections.shuffle(descriptionList, random);
+
+            var featureList = new ArrayList<>(descriptionList.subList(0, Math.min(count, descriptionList.size())));
+            if (!featureList.isEmpty() && chance(5)) {
+                featureList.set(random.nextInt(featureList.size()), chance(50) ? INVALID_VALUE : null);
+            }
+
+            return featureList;
+        }
+
+        private String pickInvalid() {
+            return pick(Arrays.asList(INVALID_VALUE, "", null));
+        }
+
+        private <T> T pick(List<T> list) {
+            return list.get(random.nextInt(list.size()));
+        }
+
+        private boolean chance(int percent) {
+            return random.nextInt(100) < percent;
+        }
+    }
+}
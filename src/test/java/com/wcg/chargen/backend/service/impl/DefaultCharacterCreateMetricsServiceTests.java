@@ -0,0 +1,178 @@
+package com.wcg.chargen.backend.service.impl;
+
+import com.wcg.chargen.backend.enums.CharType;
+import com.wcg.chargen.backend.enums.CharacterCreateStage;
+import com.wcg.chargen.backend.enums.OutputType;
+import com.wcg.chargen.backend.enums.SpeciesType;
+import com.wcg.chargen.backend.jfr.PdfSaveEvent;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.testUtil.CharacterCreateRequestBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DefaultCharacterCreateMetricsServiceTests {
+    private static final String STAGE_METRIC = "chargen.charcreate.stage";
+    private static final String OUTPUT_SIZE_METRIC = "chargen.charcreate.output.size";
+
+    private static final CharacterCreateRequest MYSTIC_REQUEST = CharacterCreateRequestBuilder
+            .getBuilder()
+            .withCharacterName("SomeName")
+            .withCharacterType(CharType.MYSTIC)
+            .withSpeciesType(SpeciesType.HUMAN)
+            .withLevel(3)
+            .build();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DefaultCharacterCreateMetricsService characterCreateMetricsService =
+            new DefaultCharacterCreateMetricsService(meterRegistry);
+
+    private long getStageCount(String charClass, String level, String outcome) {
+        return meterRegistry.get(STAGE_METRIC)
+                .tag("output", "pdf")
+                .tag("stage", "validate")
+                .tag("class", charClass)
+                .tag("level", level)
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+
+    @Test
+    public void timeStage_ReturnsResultAndRecordsSuccess() {
+        var result = characterCreateMetricsService.timeStage(OutputType.PDF, CharacterCreateStage.VALIDATE,
+                MYSTIC_REQUEST, () -> "result");
+
+        assertEquals("result", result);
+        assertEquals(1, getStageCount("mystic", "3", "success"));
+    }
+
+    @Test
+    public void runUnrecorded_RunsStagesWithoutRecordingThem() {
+        var result = characterCreateMetricsService.runUnrecorded(() -> {
+            characterCreateMetricsService.recordOutputSize(OutputType.PDF, MYSTIC_REQUEST, 1234);
+            return characterCreateMetricsService.timeStage(OutputType.PDF, CharacterCreateStage.VALIDATE,
+                    MYSTIC_REQUEST, () -> "result");
+        });
+
+        assertEquals("result", result);
+        assertNull(meterRegistry.find(STAGE_METRIC).timer());
+        assertNull(meterRegistry.find(OUTPUT_SIZE_METRIC).summary());
+
+        // Stages are recorded again once the call has finished
+        characterCreateMetricsService.timeStage(OutputType.PDF, CharacterCreateStage.VALIDATE,
+                MYSTIC_REQUEST, () -> "result");
+        assertEquals(1, getStageCount("mystic", "3", "success"));
+    }
+
+    @Test
+    public void timeStage_RecordsFailureIfResultIsNotSuccessful() {
+        characterCreateMetricsService.timeStage(OutputType.PDF, CharacterCreateStage.VALIDATE,
+                MYSTIC_REQUEST, () -> "result", result -> false);
+
+        assertEquals(1, getStageCount("mystic", "3", "failure"));
+    }
+
+    @Test
+    public void timeStage_RecordsErrorAndRethrowsIfStageThrows() {
+        assertThrows(IOException.class, () ->
+                characterCreateMetricsService.runStage(OutputType.PDF, CharacterCreateStage.VALIDATE,
+                        MYSTIC_REQUEST, () -> {
+                            throw new IOException("Failed");
+                        }));
+
+        assertEquals(1, getStageCount("mystic", "3", "error"));
+    }
+
+    @Test
+    public void timeStage_CommonerIsTaggedAsCommoner() {
+        var request = CharacterCreateRequestBuilder
+                .getBuilder()
+                .withCharacterName("SomeName")
+                .withSpeciesType(SpeciesType.HUMAN)
+                .withLevel(0)
+                .build();
+
+        characterCreateMetricsService.timeStage(OutputType.PDF, CharacterCreateStage.VALIDATE,
+                request, () -> "result");
+
+        assertEquals(1, getStageCount("commoner", "0", "success"));
+    }
+
+    @Test
+    public void timeStage_NullRequestIsTaggedAsUnknown() {
+        characterCreateMetricsService.timeStage(OutputType.PDF, CharacterCreateStage.VALIDATE,
+                null, () -> "result");
+
+        assertEquals(1, getStageCount("unknown", "unknown", "success"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 8, 1000})
+    public void timeStage_LevelOutOfRangeIsTaggedAsUnknown(int level) {
+        var request = CharacterCreateRequestBuilder
+                .getBuilder()
+                .withCharacterName("SomeName")
+                .withCharacterType(CharType.MYSTIC)
+                .withSpeciesType(SpeciesType.HUMAN)
+                .withLevel(level)
+                .build();
+
+        characterCreateMetricsService.timeStage(OutputType.PDF, CharacterCreateStage.VALIDATE,
+                request, () -> "result");
+
+        assertEquals(1, getStageCount("mystic", "unknown", "success"));
+    }
+
+    @Test
+    public void recordOutputSize_RecordsSizeWithTags() {
+        characterCreateMetricsService.recordOutputSize(OutputType.GOOGLE_SHEETS, MYSTIC_REQUEST, 1234);
+
+        var summary = meterRegistry.get(OUTPUT_SIZE_METRIC)
+                .tag("output", "google_sheets")
+                .tag("class", "mystic")
+                .tag("level", "3")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(1234, summary.totalAmount());
+    }
+
+    @Test
+    public void timeStage_EmitsFlightRecorderEventWithCharacterAndResult() throws Exception {
+        var recordingFile = Files.createTempFile("chargen", ".jfr");
+        try (var recording = new Recording()) {
+            recording.enable(PdfSaveEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            characterCreateMetricsService.timeStage(OutputType.PDF, CharacterCreateStage.SAVE,
+                    MYSTIC_REQUEST, () -> 1234);
+
+            recording.stop();
+            recording.dump(recordingFile);
+
+            var eventList = RecordingFile.readAllEvents(recordingFile).stream()
+                    .filter(event -> event.getEventType().getName().equals("com.wcg.chargen.PdfSave"))
+                    .toList();
+            assertEquals(1, eventList.size());
+            var event = eventList.getFirst();
+            assertEquals("pdf", event.getString("outputType"));
+            assertEquals("mystic", event.getString("characterClass"));
+            assertEquals("human", event.getString("species"));
+            assertEquals(3, event.getInt("level"));
+            assertEquals("success", event.getString("outcome"));
+            assertEquals(1234, event.getLong("size"));
+        }
+        finally {
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+}
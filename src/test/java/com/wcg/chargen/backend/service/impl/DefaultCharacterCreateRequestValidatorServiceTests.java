@@ -22,11 +22,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 
 import java.util.*;
 import java.util.stream.Stream;
+import org.springframework.test.context.aot.DisabledInAotMode;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 
 @SpringBootTest
+@DisabledInAotMode
 public class DefaultCharacterCreateRequestValidatorServiceTests {
     private static final int RANDOM_STRING_LENGTH = 16;
     private static final String VALID_PROFESSION = "Forester";
@@ -294,6 +296,108 @@ public class DefaultCharacterCreateRequestValidatorServiceTests {
         assertEquals("Attribute values do not match challenging or heroic attribute arrays", status.message());
     }
 
+    @Test
+    public void validate_ReturnsFailureIfAttributesAreNull() {
+        var request = CharacterCreateRequestBuilder.getBuilder()
+                .withCharacterType(CharType.BERZERKER)
+                .withSpeciesType(SpeciesType.DWARF)
+                .withCharacterName(getRandomString())
+                .withLevel(1)
+                .withNullAttributes()
+                .build();
+
+        var status = characterCreateRequestValidatorService.validate(request);
+
+        assertNotNull(status);
+        assertFalse(status.isSuccess());
+        assertEquals("Missing attributes", status.message());
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidClassAttributeMaps")
+    public void validate_ReturnsFailureIfClassCharacterAttributeValuesAreNotAnAttributeArray(
+            Map<String, Integer> attributesMap) {
+        var request = CharacterCreateRequestBuilder.getBuilder()
+                .withCharacterType(CharType.BERZERKER)
+                .withSpeciesType(SpeciesType.DWARF)
+                .withCharacterName(getRandomString())
+                .withLevel(1)
+                .withAttributes(attributesMap)
+                .build();
+
+        var status = characterCreateRequestValidatorService.validate(request);
+
+        assertNotNull(status);
+        assertFalse(status.isSuccess());
+        assertEquals("Attribute values do not match challenging or heroic attribute arrays", status.message());
+    }
+
+    static Stream<Map<String, Integer>> invalidClassAttributeMaps() {
+        // Same counts as the heroic array, apart from one value that's out of range
+        var outOfRangeMap = CharacterCreateRequestBuilder.getAttributesMap(-1, 0, 0, 0, 1, 2, 3);
+        // A valid array, plus an extra attribute
+        var extraAttributeMap = CharacterCreateRequestBuilder.getAttributesMap(-1, 0, 0, 0, 1, 2, 2);
+        extraAttributeMap.put("EXTRA", 0);
+        var nullValueMap = CharacterCreateRequestBuilder.getAttributesMap(-1, 0, 0, 0, 1, 2, 2);
+        nullValueMap.put(AttributeType.LUC.name(), null);
+
+        return Stream.of(
+                outOfRangeMap,
+                extraAttributeMap,
+                nullValueMap,
+                // Each value from the two arrays, but not all from either one
+                CharacterCreateRequestBuilder.getAttributesMap(-2, -1, 0, 0, 0, 1, 2)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("validClassAttributeMaps")
+    public void validate_AcceptsAttributeArraysInAnyOrder(Map<String, Integer> attributesMap) {
+        // The request is missing the species strength, which is checked right after the attributes
+        var request = CharacterCreateRequestBuilder.getBuilder()
+                .withCharacterType(CharType.BERZERKER)
+                .withSpeciesType(SpeciesType.DWARF)
+                .withCharacterName(getRandomString())
+                .withLevel(1)
+                .withAttributes(attributesMap)
+                .build();
+
+        var status = characterCreateRequestValidatorService.validate(request);
+
+        assertNotNull(status);
+        assertFalse(status.isSuccess());
+        assertEquals("Missing species strength", status.message());
+    }
+
+    static Stream<Map<String, Integer>> validClassAttributeMaps() {
+        return Stream.of(
+                CharacterCreateRequestBuilder.getAttributesMap(2, 1, 1, 0, 0, -1, -2),
+                CharacterCreateRequestBuilder.getAttributesMap(-2, -1, 0, 0, 1, 1, 2),
+                CharacterCreateRequestBuilder.getAttributesMap(0, 2, -1, 1, 0, 2, 0),
+                CharacterCreateRequestBuilder.getAttributesMap(-1, 0, 0, 0, 1, 2, 2)
+        );
+    }
+
+    @Test
+    public void validate_ReturnsFailureIfCommonerCharacterAttributeValueIsNull() {
+        var attributesMap = CharacterCreateRequestBuilder.getAttributesMap(0, 0, 0 , 0, 0, 0 ,0);
+        attributesMap.put(AttributeType.STR.name(), null);
+
+        var request = CharacterCreateRequestBuilder.getBuilder()
+                .withSpeciesType(SpeciesType.DWARF)
+                .withCharacterName(getRandomString())
+                .withProfession(VALID_PROFESSION)
+                .withLevel(0)
+                .withAttributes(attributesMap)
+                .build();
+
+        var status = characterCreateRequestValidatorService.validate(request);
+
+        assertNotNull(status);
+        assertFalse(status.isSuccess());
+        assertEquals("Attribute STR has invalid value null which is not between -3 and 3", status.message());
+    }
+
     @Test
     public void validate_ReturnsFailureIfSpeciesStrengthIsSetToInvalidValue() {
         var invalidSpeciesStrength = "Not an attribute";
@@ -431,6 +535,34 @@ public class DefaultCharacterCreateRequestValidatorServiceTests {
         assertEquals(expectedMsg, status.message());
     }
 
+    @Test
+    public void validate_UsesReplacedSpeciesData() {
+        var request = CharacterCreateRequestBuilder.getBuilder()
+                .withCharacterType(CharType.BERZERKER)
+                .withSpeciesType(SpeciesType.DWARF)
+                .withCharacterName(getRandomString())
+                .withLevel(1)
+                .withAttributes(CharacterCreateRequestBuilder.VALID_ATTRIBUTES_MAP)
+                .withSpeciesStrength("STA")
+                .withSpeciesWeakness("LUC")
+                .withSpeciesSkill("Athletics")
+                .withBonusSkills(List.of("Healing"))
+                .withUseQuickGear(true)
+                .build();
+        assertTrue(characterCreateRequestValidatorService.validate(request).isSuccess());
+
+        // Replace the species with one that no longer has the skill, as reloading the game data would
+        var species = new Species("dwarf", Arrays.asList("STR", "STA"), Arrays.asList("PRS", "LUC"),
+                List.of("Appraisal"), null, Collections.emptyList());
+        Mockito.when(speciesService.getSpeciesByType(any())).thenReturn(species);
+
+        var status = characterCreateRequestValidatorService.validate(request);
+
+        assertNotNull(status);
+        assertFalse(status.isSuccess());
+        assertEquals("Species skill Athletics is not valid for species dwarf", status.message());
+    }
+
     @Test
     public void validate_ReturnsFailureIfSpeciesSkillIsNotInSpeciesSkillsListForNonHumanSpecies() {
         var invalidSkill = "Invalid";
@@ -7,6 +7,7 @@ import com.wcg.chargen.backend.model.Features;
 import com.wcg.chargen.backend.service.CharClassesService;
 import com.wcg.chargen.backend.service.FeaturesService;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -23,6 +24,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
+@DisabledInNativeImage
 public class DefaultFeaturesServiceTests {
     @Mock
     CharClassesService charClassesServiceMock;
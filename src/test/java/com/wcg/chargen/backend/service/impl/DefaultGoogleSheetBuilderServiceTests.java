@@ -25,12 +25,14 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 
 import java.util.*;
 import java.util.stream.Stream;
+import org.springframework.test.context.aot.DisabledInAotMode;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 
 @SpringBootTest
+@DisabledInAotMode
 public class DefaultGoogleSheetBuilderServiceTests {
     @Autowired
     GoogleSheetBuilderService googleSheetBuilderService;
@@ -0,0 +1,355 @@
+package com.wcg.chargen.backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.services.sheets.v4.model.CellData;
+import com.google.api.services.sheets.v4.model.DimensionProperties;
+import com.google.api.services.sheets.v4.model.ExtendedValue;
+import com.google.api.services.sheets.v4.model.GridData;
+import com.google.api.services.sheets.v4.model.RowData;
+import com.google.api.services.sheets.v4.model.Sheet;
+import com.google.api.services.sheets.v4.model.SheetProperties;
+import com.google.api.services.sheets.v4.model.Spreadsheet;
+import com.google.api.services.sheets.v4.model.SpreadsheetProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DefaultGoogleSheetsApiServiceTests {
+    private static final String SPREADSHEET_ID = "test-spreadsheet-id";
+    private static final String BEARER_TOKEN = "Bearer token";
+    private static final int GZIP_MIN_SIZE = 2048;
+    private static final int DEFAULT_MAX_REQUEST_SIZE = 2 * 1024 * 1024;
+
+    private record ReceivedRequest(String method, String path, String contentEncoding, String authorization,
+                                   String query, byte[] body) {}
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<ReceivedRequest> receivedRequests = Collections.synchronizedList(new ArrayList<>());
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+
+        // Stub of the Sheets API that decodes gzip request bodies the way Google's front end does
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            var contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            byte[] body;
+            try (InputStream inputStream = "gzip".equals(contentEncoding) ?
+                    new GZIPInputStream(exchange.getRequestBody()) : exchange.getRequestBody()) {
+                body = inputStream.readAllBytes();
+            }
+            receivedRequests.add(new ReceivedRequest(exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+                    contentEncoding,
+                    exchange.getRequestHeaders().getFirst("Authorization"),
+                    exchange.getRequestURI().getQuery(),
+                    body));
+
+            var response = ("{\"spreadsheetId\":\"" + SPREADSHEET_ID + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        server.stop(0);
+    }
+
+    private DefaultGoogleSheetsApiService getService(boolean isGzipEnabled) {
+        return getService(isGzipEnabled, DEFAULT_MAX_REQUEST_SIZE);
+    }
+
+    private DefaultGoogleSheetsApiService getService(boolean isGzipEnabled, int maxRequestSize) {
+        var baseUrl = "http://localhost:" + server.getAddress().getPort();
+
+        return new DefaultGoogleSheetsApiService(objectMapper, meterRegistry, baseUrl + "/v4/spreadsheets",
+                baseUrl + "/drive/v3/files", isGzipEnabled, GZIP_MIN_SIZE, maxRequestSize);
+    }
+
+    private Sheet getSheet(String title, int numRows) {
+        var rowDataList = new ArrayList<RowData>();
+        for (var i = 0; i < numRows; i++) {
+            var cellData = new CellData().setUserEnteredValue(new ExtendedValue().setStringValue("Row " + i));
+            rowDataList.add(new RowData().setValues(List.of(cellData)));
+        }
+
+        var gridData = new GridData()
+                .setRowData(rowDataList)
+                .setColumnMetadata(List.of(new DimensionProperties().setPixelSize(225), new DimensionProperties()));
+
+        return new Sheet()
+                .setProperties(new SheetProperties().setTitle(title))
+                .setData(List.of(gridData));
+    }
+
+    private Spreadsheet getSpreadsheet(int numRows) {
+        return new Spreadsheet()
+                .setProperties(new SpreadsheetProperties().setTitle("Test"))
+                .setSheets(List.of(getSheet("Stats", numRows)));
+    }
+
+    private double getTotalRecorded(String type) {
+        return meterRegistry.get("chargen.sheets.api.request.size")
+                .tag("type", type)
+                .summary()
+                .totalAmount();
+    }
+
+    @Test
+    public void createSpreadsheet_LargePayloadIsSentCompressed() throws Exception {
+        var spreadsheet = getSpreadsheet(500);
+        var expectedBody = objectMapper.writeValueAsBytes(spreadsheet);
+        assertTrue(expectedBody.length >= GZIP_MIN_SIZE);
+
+        var spreadsheetId = getService(true).createSpreadsheet(spreadsheet, BEARER_TOKEN);
+
+        assertEquals(SPREADSHEET_ID, spreadsheetId);
+        assertEquals(1, receivedRequests.size());
+        var request = receivedRequests.getFirst();
+        assertEquals("gzip", request.contentEncoding());
+        assertEquals(BEARER_TOKEN, request.authorization());
+        assertEquals("fields=spreadsheetId", request.query());
+        assertArrayEquals(expectedBody, request.body());
+    }
+
+    @Test
+    public void createSpreadsheet_SmallPayloadIsSentUncompressed() throws Exception {
+        var spreadsheet = getSpreadsheet(1);
+        var expectedBody = objectMapper.writeValueAsBytes(spreadsheet);
+        assertTrue(expectedBody.length < GZIP_MIN_SIZE);
+
+        var spreadsheetId = getService(true).createSpreadsheet(spreadsheet, BEARER_TOKEN);
+
+        assertEquals(SPREADSHEET_ID, spreadsheetId);
+        var request = receivedRequests.getFirst();
+        assertNull(request.contentEncoding());
+        assertArrayEquals(expectedBody, request.body());
+    }
+
+    @Test
+    public void createSpreadsheet_PayloadIsSentUncompressedWhenGzipDisabled() throws Exception {
+        var spreadsheet = getSpreadsheet(500);
+        var expectedBody = objectMapper.writeValueAsBytes(spreadsheet);
+
+        var spreadsheetId = getService(false).createSpreadsheet(spreadsheet, BEARER_TOKEN);
+
+        assertEquals(SPREADSHEET_ID, spreadsheetId);
+        var request = receivedRequests.getFirst();
+        assertNull(request.contentEncoding());
+        assertArrayEquals(expectedBody, request.body());
+    }
+
+    @Test
+    public void createSpreadsheet_RawAndCompressedSizesAreRecorded() throws Exception {
+        var spreadsheet = getSpreadsheet(500);
+        var rawSize = objectMapper.writeValueAsBytes(spreadsheet).length;
+
+        getService(true).createSpreadsheet(spreadsheet, BEARER_TOKEN);
+
+        assertEquals(rawSize, getTotalRecorded("raw"));
+        var compressedSize = getTotalRecorded("compressed");
+        assertTrue(compressedSize > 0);
+        assertTrue(compressedSize < rawSize);
+    }
+
+    @Test
+    public void createSpreadsheet_SerializationAndRequestTimesAreRecorded() {
+        getService(true).createSpreadsheet(getSpreadsheet(500), BEARER_TOKEN);
+
+        assertEquals(1, meterRegistry.get("chargen.sheets.api.serialize").timer().count());
+        assertEquals(1, meterRegistry.get("chargen.sheets.api.request")
+                .tag("outcome", "success")
+                .timer()
+                .count());
+    }
+
+    @Test
+    public void createSpreadsheet_FailedRequestIsRecordedAsError() {
+        server.removeContext("/");
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+
+        getService(true).createSpreadsheet(getSpreadsheet(500), BEARER_TOKEN);
+
+        assertEquals(1, meterRegistry.get("chargen.sheets.api.request")
+                .tag("outcome", "error")
+                .timer()
+                .count());
+    }
+
+    @Test
+    public void createSpreadsheet_NullIsReturnedOnServerError() {
+        server.removeContext("/");
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+
+        assertNull(getService(true).createSpreadsheet(getSpreadsheet(500), BEARER_TOKEN));
+    }
+
+    @Test
+    public void createSpreadsheet_LargeSpreadsheetIsCreatedWithChunkedBatchUpdates() throws Exception {
+        // arrange
+        var sheets = List.of(getSheet("A - Stats", 200), getSheet("A - Gear", 200),
+                getSheet("B - Stats", 200), getSheet("B - Gear", 200));
+        var spreadsheet = new Spreadsheet()
+                .setProperties(new SpreadsheetProperties().setTitle("Party"))
+                .setSheets(sheets);
+        var sheetSize = objectMapper.writeValueAsBytes(sheets.getFirst()).length;
+        // Allow roughly two tabs per request
+        var maxRequestSize = sheetSize * 5 / 2;
+
+        // act
+        var spreadsheetId = getService(true, maxRequestSize).createSpreadsheet(spreadsheet, BEARER_TOKEN);
+
+        // assert
+        assertEquals(SPREADSHEET_ID, spreadsheetId);
+        assertEquals(3, receivedRequests.size());
+
+        var createRequest = receivedRequests.getFirst();
+        assertEquals("/v4/spreadsheets", createRequest.path());
+        var createdSpreadsheet = objectMapper.readTree(createRequest.body());
+        assertEquals("Party", createdSpreadsheet.at("/properties/title").asText());
+        var createdSheets = createdSpreadsheet.get("sheets");
+        assertEquals(4, createdSheets.size());
+        for (var i = 0; i < 4; i++) {
+            var createdSheet = createdSheets.get(i);
+            assertEquals(sheets.get(i).getProperties().getTitle(), createdSheet.at("/properties/title").asText());
+            assertEquals(i + 1, createdSheet.at("/properties/sheetId").asInt());
+            assertFalse(createdSheet.has("data"));
+        }
+
+        var updatedSheetIds = new ArrayList<Integer>();
+        for (var request : receivedRequests.subList(1, 3)) {
+            assertEquals("/v4/spreadsheets/" + SPREADSHEET_ID + ":batchUpdate", request.path());
+            assertTrue(request.body().length <= maxRequestSize);
+            var batchUpdateRequest = objectMapper.readTree(request.body());
+            for (var updateRequest : batchUpdateRequest.get("requests")) {
+                if (updateRequest.has("updateCells")) {
+                    var updateCells = updateRequest.get("updateCells");
+                    assertEquals(200, updateCells.get("rows").size());
+                    assertEquals("*", updateCells.get("fields").asText());
+                    updatedSheetIds.add(updateCells.at("/start/sheetId").asInt());
+                }
+                else {
+                    var updateDimension = updateRequest.get("updateDimensionProperties");
+                    assertNotNull(updateDimension);
+                    assertEquals(225, updateDimension.at("/properties/pixelSize").asInt());
+                    assertEquals(0, updateDimension.at("/range/startIndex").asInt());
+                    assertEquals(1, updateDimension.at("/range/endIndex").asInt());
+                }
+            }
+        }
+        assertEquals(List.of(1, 2, 3, 4), updatedSheetIds);
+    }
+
+    @Test
+    public void createSpreadsheet_ChunkedRequestsAreRecorded() throws Exception {
+        // arrange
+        var sheets = List.of(getSheet("A - Stats", 200), getSheet("A - Gear", 200),
+                getSheet("B - Stats", 200), getSheet("B - Gear", 200));
+        var spreadsheet = new Spreadsheet()
+                .setProperties(new SpreadsheetProperties().setTitle("Party"))
+                .setSheets(sheets);
+        var maxRequestSize = objectMapper.writeValueAsBytes(sheets.getFirst()).length * 5 / 2;
+
+        // act
+        getService(true, maxRequestSize).createSpreadsheet(spreadsheet, BEARER_TOKEN);
+
+        // assert
+        assertEquals(1, meterRegistry.get("chargen.sheets.api.request")
+                .tag("request", "create")
+                .timer()
+                .count());
+        assertEquals(2, meterRegistry.get("chargen.sheets.api.request")
+                .tag("request", "batchUpdate")
+                .timer()
+                .count());
+        var batches = meterRegistry.get("chargen.sheets.api.batches").summary();
+        assertEquals(1, batches.count());
+        assertEquals(2, batches.totalAmount());
+        // The whole spreadsheet, the empty spreadsheet, each tab and each batch are all serialized
+        assertEquals(8, meterRegistry.get("chargen.sheets.api.serialize").timer().count());
+    }
+
+    @Test
+    public void createSpreadsheet_SpreadsheetIsDeletedIfBatchUpdateFails() throws Exception {
+        // arrange
+        var numBatchUpdates = new AtomicInteger();
+        server.removeContext("/");
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            var path = exchange.getRequestURI().getPath();
+            receivedRequests.add(new ReceivedRequest(exchange.getRequestMethod(), path, null,
+                    exchange.getRequestHeaders().getFirst("Authorization"), null, null));
+
+            if ("DELETE".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(204, -1);
+            }
+            else if (path.endsWith(":batchUpdate") && numBatchUpdates.incrementAndGet() == 2) {
+                exchange.sendResponseHeaders(500, -1);
+            }
+            else {
+                var response = ("{\"spreadsheetId\":\"" + SPREADSHEET_ID + "\"}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+                exchange.getResponseBody().write(response);
+            }
+            exchange.close();
+        });
+
+        var sheets = List.of(getSheet("A - Stats", 200), getSheet("A - Gear", 200),
+                getSheet("B - Stats", 200), getSheet("B - Gear", 200));
+        var spreadsheet = new Spreadsheet()
+                .setProperties(new SpreadsheetProperties().setTitle("Party"))
+                .setSheets(sheets);
+        var maxRequestSize = objectMapper.writeValueAsBytes(sheets.getFirst()).length * 5 / 2;
+
+        // act
+        var spreadsheetId = getService(true, maxRequestSize).createSpreadsheet(spreadsheet, BEARER_TOKEN);
+
+        // assert
+        assertNull(spreadsheetId);
+        assertEquals(4, receivedRequests.size());
+        var deleteRequest = receivedRequests.getLast();
+        assertEquals("DELETE", deleteRequest.method());
+        assertEquals("/drive/v3/files/" + SPREADSHEET_ID, deleteRequest.path());
+        assertEquals(BEARER_TOKEN, deleteRequest.authorization());
+        assertEquals(1, meterRegistry.get("chargen.sheets.api.request")
+                .tag("request", "delete")
+                .tag("outcome", "success")
+                .timer()
+                .count());
+    }
+
+    @Test
+    public void createSpreadsheet_SingleSheetIsNeverChunked() {
+        var spreadsheetId = getService(true, 100).createSpreadsheet(getSpreadsheet(500), BEARER_TOKEN);
+
+        assertEquals(SPREADSHEET_ID, spreadsheetId);
+        assertEquals(1, receivedRequests.size());
+    }
+}
@@ -6,6 +6,7 @@ import com.wcg.chargen.backend.enums.SpeciesType;
 import com.wcg.chargen.backend.model.*;
 import com.wcg.chargen.backend.service.*;
 import com.wcg.chargen.backend.testUtil.CharacterCreateRequestBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -19,13 +20,18 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.stream.Stream;
+import org.springframework.test.context.aot.DisabledInAotMode;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @SpringBootTest
+@DisabledInAotMode
 public class DefaultGoogleSheetsCharacterCreateServiceTests {
     @MockBean
     CharacterCreateRequestValidatorService characterCreateRequestValidatorService;
@@ -42,6 +48,9 @@ public class DefaultGoogleSheetsCharacterCreateServiceTests {
     @MockBean
     private SpeciesService speciesService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private static final CharacterCreateRequest DEFAULT_CLASS_CHARACTER_REQUEST = CharacterCreateRequestBuilder
             .getBuilder()
             .withCharacterName("SomeName")
@@ -207,6 +216,139 @@ public class DefaultGoogleSheetsCharacterCreateServiceTests {
         assertEquals(expectedNumSheets, spreadsheet.getSheets().size());
     }
 
+    @Test
+    public void createCharacter_GeneratesSheetsInExpectedOrder() {
+        var request = CharacterCreateRequestBuilder
+                .getBuilder()
+                .withCharacterName("SomeName")
+                .withCharacterType(CharType.MAGE)
+                .withSpeciesType(SpeciesType.HUMAN)
+                .withProfession(null)
+                .withLevel(1)
+                .build();
+
+        Mockito.when(characterCreateRequestValidatorService.validate(request))
+                .thenReturn(CharacterCreateStatus.SUCCESS);
+        Mockito.when(googleSheetsApiService.createSpreadsheet(any(), any()))
+                .thenReturn("");
+
+        googleSheetsCharacterCreateService.createCharacter(request, "");
+
+        final ArgumentCaptor<Spreadsheet> captor = ArgumentCaptor.forClass(Spreadsheet.class);
+        verify(googleSheetsApiService).createSpreadsheet(captor.capture(), any());
+        var sheetTitles = captor.getValue().getSheets().stream()
+                .map(sheet -> sheet.getProperties().getTitle())
+                .toList();
+
+        assertEquals(List.of("Stats", "Spells", "Class/Species Features", "Gear"), sheetTitles);
+    }
+
+    @Test
+    public void createParty_ReturnsFailureIdentifyingCharacterIfValidationFails() {
+        var invalidRequest = CharacterCreateRequestBuilder
+                .getBuilder()
+                .withCharacterName("OtherName")
+                .withCharacterType(CharType.WARRIOR)
+                .withSpeciesType(SpeciesType.HUMAN)
+                .withLevel(1)
+                .build();
+        Mockito.when(characterCreateRequestValidatorService.validate(DEFAULT_CLASS_CHARACTER_REQUEST))
+                .thenReturn(CharacterCreateStatus.SUCCESS);
+        Mockito.when(characterCreateRequestValidatorService.validate(invalidRequest))
+                .thenReturn(new CharacterCreateStatus(false, "Some error"));
+
+        var status = googleSheetsCharacterCreateService.createParty(
+                new PartyCreateRequest(List.of(DEFAULT_CLASS_CHARACTER_REQUEST, invalidRequest)), "");
+
+        assertFalse(status.isSuccess());
+        assertEquals("Character 2: Some error", status.message());
+        verify(googleSheetsApiService, never()).createSpreadsheet(any(), any());
+    }
+
+    @Test
+    public void createParty_ReturnsExpectedErrorIfGoogleSheetsApiServiceReturnsFailure() {
+        Mockito.when(characterCreateRequestValidatorService.validate(DEFAULT_CLASS_CHARACTER_REQUEST))
+                .thenReturn(CharacterCreateStatus.SUCCESS);
+        Mockito.when(googleSheetsApiService.createSpreadsheet(any(), any()))
+                .thenReturn(null);
+
+        var status = googleSheetsCharacterCreateService.createParty(
+                new PartyCreateRequest(List.of(DEFAULT_CLASS_CHARACTER_REQUEST)), "");
+
+        assertFalse(status.isSuccess());
+        assertEquals("Error creating Google Sheet", status.message());
+    }
+
+    @Test
+    public void createParty_GeneratesSingleSpreadsheetWithTabsGroupedByCharacter() {
+        var mageRequest = CharacterCreateRequestBuilder
+                .getBuilder()
+                .withCharacterName("Wizard")
+                .withCharacterType(CharType.MAGE)
+                .withSpeciesType(SpeciesType.HUMAN)
+                .withLevel(1)
+                .build();
+        var partyRequest = new PartyCreateRequest(
+                List.of(DEFAULT_CLASS_CHARACTER_REQUEST, mageRequest, DEFAULT_CLASS_CHARACTER_REQUEST));
+
+        Mockito.when(characterCreateRequestValidatorService.validate(any()))
+                .thenReturn(CharacterCreateStatus.SUCCESS);
+        Mockito.when(googleSheetsApiService.createSpreadsheet(any(), any()))
+                .thenReturn("aaa-bbb-ccc");
+
+        var status = googleSheetsCharacterCreateService.createParty(partyRequest, "");
+
+        final ArgumentCaptor<Spreadsheet> captor = ArgumentCaptor.forClass(Spreadsheet.class);
+        verify(googleSheetsApiService, times(1)).createSpreadsheet(captor.capture(), any());
+        final Spreadsheet spreadsheet = captor.getValue();
+
+        assertTrue(status.isSuccess());
+        assertTrue(spreadsheet.getProperties().getTitle().matches("Party_[0-9]{14}"));
+
+        var sheetTitles = spreadsheet.getSheets().stream()
+                .map(sheet -> sheet.getProperties().getTitle())
+                .toList();
+        assertEquals(List.of(
+                "SomeName - Stats", "SomeName - Class/Species Features", "SomeName - Gear",
+                "Wizard - Stats", "Wizard - Spells", "Wizard - Class/Species Features", "Wizard - Gear",
+                "SomeName (2) - Stats", "SomeName (2) - Class/Species Features", "SomeName (2) - Gear"),
+                sheetTitles);
+    }
+
+    @Test
+    public void createParty_RecordsEveryStage() {
+        // arrange
+        var partyRequest = new PartyCreateRequest(
+                List.of(DEFAULT_CLASS_CHARACTER_REQUEST, DEFAULT_CLASS_CHARACTER_REQUEST));
+        Mockito.when(characterCreateRequestValidatorService.validate(any()))
+                .thenReturn(CharacterCreateStatus.SUCCESS);
+        Mockito.when(googleSheetsApiService.createSpreadsheet(any(), any()))
+                .thenReturn("aaa-bbb-ccc");
+        var validateCount = getPartyStageCount("validate", "mystic");
+        var buildCount = getPartyStageCount("build", "unknown");
+        var uploadCount = getPartyStageCount("upload", "unknown");
+
+        // act
+        var status = googleSheetsCharacterCreateService.createParty(partyRequest, "");
+
+        // assert
+        assertTrue(status.isSuccess());
+        assertEquals(validateCount + 2, getPartyStageCount("validate", "mystic"));
+        assertEquals(buildCount + 1, getPartyStageCount("build", "unknown"));
+        assertEquals(uploadCount + 1, getPartyStageCount("upload", "unknown"));
+    }
+
+    private long getPartyStageCount(String stage, String charClass) {
+        var timer = meterRegistry.find("chargen.charcreate.stage")
+                .tag("output", "google_sheets_party")
+                .tag("stage", stage)
+                .tag("class", charClass)
+                .tag("outcome", "success")
+                .timer();
+
+        return (timer == null) ? 0 : timer.count();
+    }
+
     static Stream<Arguments> charTypesAndExpectedNumberOfSheets() {
         return Stream.of(
                 Arguments.arguments(null, 3),
@@ -0,0 +1,288 @@
+package com.wcg.chargen.backend.service.impl;
+
+import com.wcg.chargen.backend.enums.CharType;
+import com.wcg.chargen.backend.enums.JobStage;
+import com.wcg.chargen.backend.enums.SpeciesType;
+import com.wcg.chargen.backend.exception.JobQueueFullException;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.CharacterCreateStatus;
+import com.wcg.chargen.backend.model.JobStatus;
+import com.wcg.chargen.backend.service.CharacterCreateListener;
+import com.wcg.chargen.backend.service.GoogleSheetsCharacterCreateService;
+import com.wcg.chargen.backend.testUtil.CharacterCreateRequestBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+@DisabledInNativeImage
+public class DefaultGoogleSheetsJobServiceTests {
+    private static final String BEARER_TOKEN = "Bearer token";
+    private static final String SPREADSHEET_ID = "aaa-bbb-ccc";
+    private static final CharacterCreateRequest REQUEST = CharacterCreateRequestBuilder
+            .getBuilder()
+            .withCharacterName("SomeName")
+            .withCharacterType(CharType.MYSTIC)
+            .withSpeciesType(SpeciesType.HUMAN)
+            .withLevel(1)
+            .build();
+
+    private GoogleSheetsCharacterCreateService googleSheetsCharacterCreateService;
+    private DefaultGoogleSheetsJobService googleSheetsJobService;
+
+    @BeforeEach
+    public void beforeTest() {
+        googleSheetsCharacterCreateService = Mockito.mock(GoogleSheetsCharacterCreateService.class);
+        googleSheetsJobService = new DefaultGoogleSheetsJobService(googleSheetsCharacterCreateService,
+                2, 10, Duration.ofMinutes(15));
+    }
+
+    @AfterEach
+    public void afterTest() throws Exception {
+        var preDestroy = DefaultGoogleSheetsJobService.class.getDeclaredMethod("preDestroy");
+        preDestroy.setAccessible(true);
+        preDestroy.invoke(googleSheetsJobService);
+    }
+
+    private JobStatus waitForTerminalStatus(String jobId) throws InterruptedException {
+        var latch = new CountDownLatch(1);
+        var statusList = Collections.synchronizedList(new ArrayList<JobStatus>());
+        googleSheetsJobService.subscribe(jobId, status -> {
+            statusList.add(status);
+            if (status.stage().isTerminal()) {
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        return statusList.getLast();
+    }
+
+    @Test
+    public void submit_ReturnsQueuedStatusWithJobId() {
+        var jobStatus = googleSheetsJobService.submit(REQUEST, BEARER_TOKEN);
+
+        assertNotNull(jobStatus.jobId());
+        assertEquals(JobStage.QUEUED, jobStatus.stage());
+        assertNull(jobStatus.spreadsheetId());
+    }
+
+    @Test
+    public void submit_SuccessfulJobEndsWithSpreadsheetId() throws Exception {
+        Mockito.when(googleSheetsCharacterCreateService.createCharacter(eq(REQUEST), eq(BEARER_TOKEN), any()))
+                .thenAnswer(invocation -> {
+                    CharacterCreateListener listener = invocation.getArgument(2);
+                    listener.onStage(JobStage.VALIDATED);
+                    listener.onStage(JobStage.BUILT);
+                    listener.onStage(JobStage.UPLOADING);
+                    listener.onSpreadsheetCreated(SPREADSHEET_ID);
+                    return CharacterCreateStatus.SUCCESS;
+                });
+
+        var jobId = googleSheetsJobService.submit(REQUEST, BEARER_TOKEN).jobId();
+        var finalStatus = waitForTerminalStatus(jobId);
+
+        assertEquals(JobStage.DONE, finalStatus.stage());
+        assertEquals(SPREADSHEET_ID, finalStatus.spreadsheetId());
+        assertEquals(finalStatus, googleSheetsJobService.getStatus(jobId));
+    }
+
+    @Test
+    public void submit_FailedJobEndsWithErrorMessage() throws Exception {
+        Mockito.when(googleSheetsCharacterCreateService.createCharacter(eq(REQUEST), eq(BEARER_TOKEN), any()))
+                .thenReturn(new CharacterCreateStatus(false, "Some error"));
+
+        var jobId = googleSheetsJobService.submit(REQUEST, BEARER_TOKEN).jobId();
+        var finalStatus = waitForTerminalStatus(jobId);
+
+        assertEquals(JobStage.FAILED, finalStatus.stage());
+        assertEquals("Some error", finalStatus.message());
+    }
+
+    @Test
+    public void submit_JobThatThrowsEndsWithErrorMessage() throws Exception {
+        Mockito.when(googleSheetsCharacterCreateService.createCharacter(eq(REQUEST), eq(BEARER_TOKEN), any()))
+                .thenThrow(new RuntimeException("Exception error"));
+
+        var jobId = googleSheetsJobService.submit(REQUEST, BEARER_TOKEN).jobId();
+        var finalStatus = waitForTerminalStatus(jobId);
+
+        assertEquals(JobStage.FAILED, finalStatus.stage());
+        assertEquals("Exception error", finalStatus.message());
+    }
+
+    @Test
+    public void subscribe_SubscriberReceivesEveryStageInOrder() throws Exception {
+        var jobStarted = new CountDownLatch(1);
+        var subscribed = new CountDownLatch(1);
+        Mockito.when(googleSheetsCharacterCreateService.createCharacter(eq(REQUEST), eq(BEARER_TOKEN), any()))
+                .thenAnswer(invocation -> {
+                    jobStarted.countDown();
+                    subscribed.await();
+                    CharacterCreateListener listener = invocation.getArgument(2);
+                    listener.onStage(JobStage.VALIDATED);
+                    listener.onStage(JobStage.BUILT);
+                    listener.onStage(JobStage.UPLOADING);
+                    listener.onSpreadsheetCreated(SPREADSHEET_ID);
+                    return CharacterCreateStatus.SUCCESS;
+                });
+
+        var jobId = googleSheetsJobService.submit(REQUEST, BEARER_TOKEN).jobId();
+        assertTrue(jobStarted.await(5, TimeUnit.SECONDS));
+
+        var finished = new CountDownLatch(1);
+        var stageList = Collections.synchronizedList(new ArrayList<JobStage>());
+        assertTrue(googleSheetsJobService.subscribe(jobId, status -> {
+            stageList.add(status.stage());
+            if (status.stage().isTerminal()) {
+                finished.countDown();
+            }
+        }));
+        subscribed.countDown();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(JobStage.QUEUED, JobStage.VALIDATED, JobStage.BUILT, JobStage.UPLOADING, JobStage.DONE),
+                stageList);
+    }
+
+    @Test
+    public void subscribe_FailingSubscriberDoesNotAffectJob() throws Exception {
+        var subscribed = new CountDownLatch(1);
+        Mockito.when(googleSheetsCharacterCreateService.createCharacter(eq(REQUEST), eq(BEARER_TOKEN), any()))
+                .thenAnswer(invocation -> {
+                    subscribed.await();
+                    CharacterCreateListener listener = invocation.getArgument(2);
+                    listener.onStage(JobStage.VALIDATED);
+                    listener.onSpreadsheetCreated(SPREADSHEET_ID);
+                    return CharacterCreateStatus.SUCCESS;
+                });
+
+        var jobId = googleSheetsJobService.submit(REQUEST, BEARER_TOKEN).jobId();
+        googleSheetsJobService.subscribe(jobId, status -> {
+            if (status.stage() != JobStage.QUEUED) {
+                throw new IllegalStateException("Connection closed");
+            }
+        });
+        subscribed.countDown();
+
+        assertEquals(JobStage.DONE, waitForTerminalStatus(jobId).stage());
+    }
+
+    @Test
+    public void subscribe_SlowSubscriberDoesNotBlockOtherSubscribers() throws Exception {
+        var subscribed = new CountDownLatch(1);
+        Mockito.when(googleSheetsCharacterCreateService.createCharacter(eq(REQUEST), eq(BEARER_TOKEN), any()))
+                .thenAnswer(invocation -> {
+                    subscribed.await();
+                    CharacterCreateListener listener = invocation.getArgument(2);
+                    listener.onStage(JobStage.VALIDATED);
+                    listener.onSpreadsheetCreated(SPREADSHEET_ID);
+                    return CharacterCreateStatus.SUCCESS;
+                });
+
+        var jobId = googleSheetsJobService.submit(REQUEST, BEARER_TOKEN).jobId();
+        var slowSubscriberBlocked = new CountDownLatch(1);
+        var releaseSlowSubscriber = new CountDownLatch(1);
+        googleSheetsJobService.subscribe(jobId, status -> {
+            if (status.stage() == JobStage.VALIDATED) {
+                slowSubscriberBlocked.countDown();
+                try {
+                    releaseSlowSubscriber.await();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        subscribed.countDown();
+        assertTrue(slowSubscriberBlocked.await(5, TimeUnit.SECONDS));
+
+        // The job is waiting on the slow subscriber, but a new subscriber still gets the current status at once
+        var stageList = Collections.synchronizedList(new ArrayList<JobStage>());
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> googleSheetsJobService.subscribe(jobId, status -> stageList.add(status.stage())));
+        assertEquals(List.of(JobStage.VALIDATED), stageList);
+
+        releaseSlowSubscriber.countDown();
+        assertEquals(JobStage.DONE, waitForTerminalStatus(jobId).stage());
+    }
+
+    @Test
+    public void getStatus_ReturnsNullForUnknownJob() {
+        assertNull(googleSheetsJobService.getStatus("unknown"));
+        assertFalse(googleSheetsJobService.subscribe("unknown", status -> fail()));
+    }
+
+    @Test
+    public void submit_EvictsFinishedJobsAfterTtl() throws Exception {
+        afterTest();
+        googleSheetsJobService = new DefaultGoogleSheetsJobService(googleSheetsCharacterCreateService,
+                2, 10, Duration.ZERO);
+        Mockito.when(googleSheetsCharacterCreateService.createCharacter(any(), any(), any()))
+                .thenReturn(CharacterCreateStatus.SUCCESS);
+
+        var jobId = googleSheetsJobService.submit(REQUEST, BEARER_TOKEN).jobId();
+        waitForTerminalStatus(jobId);
+        assertNotNull(googleSheetsJobService.getStatus(jobId));
+
+        googleSheetsJobService.submit(REQUEST, BEARER_TOKEN);
+
+        assertNull(googleSheetsJobService.getStatus(jobId));
+    }
+
+    @Test
+    public void evictsFinishedJobsAfterTtlWithoutFurtherSubmissions() throws Exception {
+        afterTest();
+        googleSheetsJobService = new DefaultGoogleSheetsJobService(googleSheetsCharacterCreateService,
+                2, 10, Duration.ZERO);
+        Mockito.when(googleSheetsCharacterCreateService.createCharacter(any(), any(), any()))
+                .thenReturn(CharacterCreateStatus.SUCCESS);
+
+        var jobId = googleSheetsJobService.submit(REQUEST, BEARER_TOKEN).jobId();
+        waitForTerminalStatus(jobId);
+
+        var deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (googleSheetsJobService.getStatus(jobId) != null && System.nanoTime() < deadlineNanos) {
+            Thread.sleep(50);
+        }
+
+        assertNull(googleSheetsJobService.getStatus(jobId));
+    }
+
+    @Test
+    public void submit_ThrowsWhenQueueIsFull() throws Exception {
+        afterTest();
+        googleSheetsJobService = new DefaultGoogleSheetsJobService(googleSheetsCharacterCreateService,
+                1, 1, Duration.ofMinutes(15));
+        var jobStarted = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        Mockito.when(googleSheetsCharacterCreateService.createCharacter(any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    jobStarted.countDown();
+                    release.await();
+                    return CharacterCreateStatus.SUCCESS;
+                });
+
+        // One job running and one waiting fill the pool and the queue
+        googleSheetsJobService.submit(REQUEST, BEARER_TOKEN);
+        assertTrue(jobStarted.await(5, TimeUnit.SECONDS));
+        var queuedJobId = googleSheetsJobService.submit(REQUEST, BEARER_TOKEN).jobId();
+
+        assertThrows(JobQueueFullException.class, () -> googleSheetsJobService.submit(REQUEST, BEARER_TOKEN));
+        release.countDown();
+
+        assertEquals(JobStage.DONE, waitForTerminalStatus(queuedJobId).stage());
+    }
+}
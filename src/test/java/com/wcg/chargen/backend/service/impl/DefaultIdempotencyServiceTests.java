@@ -0,0 +1,160 @@
+package com.wcg.chargen.backend.service.impl;
+
+import com.wcg.chargen.backend.exception.IdempotencyKeyReusedException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DefaultIdempotencyServiceTests {
+    private static final String SCOPE = "scope";
+    private static final String KEY = "key";
+    private static final String REQUEST = "request";
+
+    private final AtomicInteger numCalls = new AtomicInteger();
+
+    private DefaultIdempotencyService getService() {
+        return new DefaultIdempotencyService(10, Duration.ofMinutes(10));
+    }
+
+    private String countedComputation() {
+        return "result" + numCalls.incrementAndGet();
+    }
+
+    @Test
+    public void execute_RunsComputationEveryTimeWithoutKey() {
+        var idempotencyService = getService();
+
+        idempotencyService.execute(SCOPE, null, REQUEST, this::countedComputation, x -> true);
+        idempotencyService.execute(SCOPE, null, REQUEST, this::countedComputation, x -> true);
+
+        assertEquals(2, numCalls.get());
+    }
+
+    @Test
+    public void execute_ReturnsCachedResultForRepeatedKey() {
+        var idempotencyService = getService();
+
+        var result1 = idempotencyService.execute(SCOPE, KEY, REQUEST, this::countedComputation, x -> true);
+        var result2 = idempotencyService.execute(SCOPE, KEY, REQUEST, this::countedComputation, x -> true);
+
+        assertEquals(1, numCalls.get());
+        assertEquals(result1, result2);
+    }
+
+    @Test
+    public void execute_KeysAreSeparatedByScope() {
+        var idempotencyService = getService();
+
+        idempotencyService.execute(SCOPE, KEY, REQUEST, this::countedComputation, x -> true);
+        idempotencyService.execute("otherScope", KEY, REQUEST, this::countedComputation, x -> true);
+
+        assertEquals(2, numCalls.get());
+    }
+
+    @Test
+    public void execute_ThrowsIfKeyIsReusedWithDifferentRequest() {
+        var idempotencyService = getService();
+
+        idempotencyService.execute(SCOPE, KEY, REQUEST, this::countedComputation, x -> true);
+
+        assertThrows(IdempotencyKeyReusedException.class, () ->
+                idempotencyService.execute(SCOPE, KEY, "otherRequest", this::countedComputation, x -> true));
+        assertEquals(1, numCalls.get());
+    }
+
+    @Test
+    public void execute_DoesNotCacheResultsThatAreNotCacheable() {
+        var idempotencyService = getService();
+
+        idempotencyService.execute(SCOPE, KEY, REQUEST, this::countedComputation, x -> false);
+        idempotencyService.execute(SCOPE, KEY, REQUEST, this::countedComputation, x -> false);
+
+        assertEquals(2, numCalls.get());
+    }
+
+    @Test
+    public void execute_DoesNotCacheExceptions() {
+        var idempotencyService = getService();
+
+        assertThrows(IllegalStateException.class, () ->
+                idempotencyService.execute(SCOPE, KEY, REQUEST, () -> {
+                    numCalls.incrementAndGet();
+                    throw new IllegalStateException("Failed");
+                }, x -> true));
+        idempotencyService.execute(SCOPE, KEY, REQUEST, this::countedComputation, x -> true);
+
+        assertEquals(2, numCalls.get());
+    }
+
+    @Test
+    public void execute_ExpiresResultsAfterTtl() {
+        var idempotencyService = new DefaultIdempotencyService(10, Duration.ZERO);
+
+        idempotencyService.execute(SCOPE, KEY, REQUEST, this::countedComputation, x -> true);
+        idempotencyService.execute(SCOPE, KEY, REQUEST, this::countedComputation, x -> true);
+
+        assertEquals(2, numCalls.get());
+    }
+
+    @Test
+    public void execute_EvictsLeastRecentlyUsedResultWhenFull() {
+        var idempotencyService = new DefaultIdempotencyService(2, Duration.ofMinutes(10));
+
+        idempotencyService.execute(SCOPE, "key1", REQUEST, this::countedComputation, x -> true);
+        idempotencyService.execute(SCOPE, "key2", REQUEST, this::countedComputation, x -> true);
+        // Use key1 again so that key2 becomes the least recently used
+        idempotencyService.execute(SCOPE, "key1", REQUEST, this::countedComputation, x -> true);
+        idempotencyService.execute(SCOPE, "key3", REQUEST, this::countedComputation, x -> true);
+        assertEquals(3, numCalls.get());
+
+        idempotencyService.execute(SCOPE, "key1", REQUEST, this::countedComputation, x -> true);
+        assertEquals(3, numCalls.get());
+        idempotencyService.execute(SCOPE, "key2", REQUEST, this::countedComputation, x -> true);
+        assertEquals(4, numCalls.get());
+    }
+
+    @Test
+    public void execute_ConcurrentCallsWithSameKeyShareOneComputation() throws Exception {
+        var idempotencyService = getService();
+        var numThreads = 8;
+        var computationStarted = new CountDownLatch(1);
+        var releaseComputation = new CountDownLatch(1);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futureList = new ArrayList<Future<String>>();
+            futureList.add(executor.submit(() -> idempotencyService.execute(SCOPE, KEY, REQUEST, () -> {
+                computationStarted.countDown();
+                try {
+                    releaseComputation.await();
+                }
+                catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return countedComputation();
+            }, x -> true)));
+            assertTrue(computationStarted.await(5, TimeUnit.SECONDS));
+
+            for (var i = 1; i < numThreads; i++) {
+                futureList.add(executor.submit(() ->
+                        idempotencyService.execute(SCOPE, KEY, REQUEST, this::countedComputation, x -> true)));
+            }
+            // Give the other callers time to join the call in flight
+            Thread.sleep(100);
+            releaseComputation.countDown();
+
+            for (var future : futureList) {
+                assertEquals("result1", future.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, numCalls.get());
+    }
+}
@@ -16,6 +16,7 @@ import com.wcg.chargen.backend.worker.CharacterSheetWorker;
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.io.RandomAccessReadBuffer;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -27,14 +28,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import org.springframework.test.context.aot.DisabledInAotMode;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 
 @SpringBootTest
+@DisabledInAotMode
 public class DefaultPdfCharacterCreateServiceTests {
     @Autowired
     private PdfCharacterCreateService pdfCharacterCreateService;
@@ -140,6 +144,80 @@ public class DefaultPdfCharacterCreateServiceTests {
         }
     }
 
+    @Test
+    public void createCharacter_ReturnsSameFieldsWhenTemplateIsReused() throws Exception {
+        // arrange
+        var otherRequest = CharacterCreateRequestBuilder
+                .getBuilder()
+                .withCharacterName("OtherName")
+                .withCharacterType(CharType.MYSTIC)
+                .withSpeciesType(SpeciesType.HUMAN)
+                .withProfession(null)
+                .withLevel(CHARACTER_LEVEL)
+                .build();
+        Mockito.when(characterSheetWorker.getWeaponName(any(), eq(0))).thenReturn("Quarterstaff");
+
+        // act
+        // The first request fills in the template, and the second one reuses it
+        var status = pdfCharacterCreateService.createCharacter(otherRequest);
+        var reusedStatus = pdfCharacterCreateService.createCharacter(DEFAULT_CLASS_CHARACTER_REQUEST);
+
+        // assert
+        try (var pdfDocument = Loader.loadPDF(new RandomAccessReadBuffer(status.pdfStream()));
+             var reusedPdfDocument = Loader.loadPDF(new RandomAccessReadBuffer(reusedStatus.pdfStream()))) {
+            assertEquals(CHARACTER_NAME, PdfUtil.getFieldValue(reusedPdfDocument, PdfFieldConstants.CHARACTER_NAME));
+            assertEquals("Quarterstaff", PdfUtil.getFieldValue(reusedPdfDocument, PdfFieldConstants.WEAPON + 1));
+
+            for (var field : pdfDocument.getDocumentCatalog().getAcroForm().getFieldTree()) {
+                if (!field.getFullyQualifiedName().equals(PdfFieldConstants.CHARACTER_NAME)) {
+                    assertEquals(field.getValueAsString(),
+                            PdfUtil.getFieldValue(reusedPdfDocument, field.getFullyQualifiedName()),
+                            field.getFullyQualifiedName());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void createCharacter_ReturnsPdfWithAppearancesForFilledFields() throws Exception {
+        // act
+        var status = pdfCharacterCreateService.createCharacter(DEFAULT_CLASS_CHARACTER_REQUEST);
+
+        // assert
+        // Viewers that ignore NeedAppearances only show what's in the appearance streams, so these must
+        // contain the field values.  Get the form without PDFBox's fixups, which would generate them.
+        try (var pdfDocument = Loader.loadPDF(new RandomAccessReadBuffer(status.pdfStream()))) {
+            var acroForm = pdfDocument.getDocumentCatalog().getAcroForm(null);
+            assertFalse(acroForm.getNeedAppearances());
+
+            var appearanceStream = acroForm.getField(PdfFieldConstants.CHARACTER_NAME).getWidgets().getFirst()
+                    .getNormalAppearanceStream();
+            assertNotNull(appearanceStream);
+            try (var inputStream = appearanceStream.getCOSObject().createInputStream()) {
+                assertTrue(new String(inputStream.readAllBytes(), StandardCharsets.ISO_8859_1).contains(CHARACTER_NAME));
+            }
+        }
+    }
+
+    @Test
+    public void createCharacter_ReturnsFlattenedPdfWithoutForm() throws Exception {
+        // act
+        var status = pdfCharacterCreateService.createCharacter(DEFAULT_CLASS_CHARACTER_REQUEST, true);
+        var fillableStatus = pdfCharacterCreateService.createCharacter(DEFAULT_CLASS_CHARACTER_REQUEST, false);
+
+        // assert
+        var pdfBytes = status.pdfStream().readAllBytes();
+        assertTrue(pdfBytes.length < fillableStatus.pdfStream().readAllBytes().length);
+        try (var pdfDocument = Loader.loadPDF(pdfBytes)) {
+            assertNull(pdfDocument.getDocumentCatalog().getAcroForm(null));
+            for (var page : pdfDocument.getPages()) {
+                assertTrue(page.getAnnotations().isEmpty());
+            }
+            // The field values are now part of the page content
+            assertTrue(new PDFTextStripper().getText(pdfDocument).contains(CHARACTER_NAME));
+        }
+    }
+
     @ParameterizedTest
     @EnumSource(SpeciesType.class)
     public void createCharacter_ReturnsPdfWithCorrectSpecies(SpeciesType speciesType) throws Exception {
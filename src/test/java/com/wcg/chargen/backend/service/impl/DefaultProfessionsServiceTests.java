@@ -6,6 +6,7 @@ import com.wcg.chargen.backend.testUtil.PostConstructUtil;
 import com.wcg.chargen.backend.worker.RandomNumberWorker;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -20,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
 public class DefaultProfessionsServiceTests {
     @Mock
     RandomNumberWorker randomNumberWorkerMock;
@@ -1,5 +1,6 @@
 package com.wcg.chargen.backend.service.impl;
 
+import com.wcg.chargen.backend.enums.AttributeType;
 import com.wcg.chargen.backend.model.Skills;
 import com.wcg.chargen.backend.service.YamlLoaderService;
 import com.wcg.chargen.backend.testUtil.PostConstructUtil;
@@ -11,6 +12,8 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,6 +34,20 @@ public class DefaultSkillsProviderTests {
         }
     }
 
+    static class UnknownAttributeSkillsDataYamlLoaderService implements YamlLoaderService<Skills> {
+        public UnknownAttributeSkillsDataYamlLoaderService() {}
+
+        @Override
+        public String getYamlFile() {
+            return "skills-unknown-attribute.yml";
+        }
+
+        @Override
+        public Class<Skills> getObjClass() {
+            return Skills.class;
+        }
+    }
+
 
     @Test
     void yamlFile_Without_Valid_Skills_Data_Throws_Exception() {
@@ -44,6 +61,32 @@ public class DefaultSkillsProviderTests {
         assertEquals("Error loading skills YAML file", targetException.getMessage());
     }
 
+    @Test
+    void yamlFile_With_Unknown_Skill_Attribute_Throws_Exception() {
+        var defaultSkillsProvider = new DefaultSkillsProvider(new UnknownAttributeSkillsDataYamlLoaderService());
+        var exception = assertThrows(InvocationTargetException.class, () -> {
+            PostConstructUtil.invokeMethod(DefaultSkillsProvider.class, defaultSkillsProvider);
+        });
+
+        var targetException = exception.getTargetException();
+        assertEquals(IllegalStateException.class, targetException.getClass());
+        assertEquals("Error loading skills YAML file", targetException.getMessage());
+    }
+
+    @Test
+    void skill_Attribute_Types_And_Display_Name_Are_Resolved_On_Load() {
+        var skillsProvider = SkillsProviderUtil.getObject();
+
+        var alchemy = skillsProvider.getByName("Alchemy");
+        assertArrayEquals(new AttributeType[] {AttributeType.INT}, alchemy.attributeTypes());
+        assertEquals("Alchemy", alchemy.displayName());
+
+        var athletics = skillsProvider.getByName("Athletics");
+        assertArrayEquals(new AttributeType[] {AttributeType.STR, AttributeType.COR, AttributeType.STA},
+                athletics.attributeTypes());
+        assertEquals("Athletics (STR/COR/STA)", athletics.displayName());
+    }
+
     @ParameterizedTest
     @MethodSource("skillsDataProvider")
     void yamlFile_With_Valid_Skills_Data_Behaves_As_Expected(String skillName, boolean shouldBePresent) {
@@ -60,6 +103,59 @@ public class DefaultSkillsProviderTests {
         assertEquals(shouldBePresent, defaultSkillsProvider.getSkillNameSet().contains(skillName));
     }
 
+    @Test
+    void skill_Ids_Are_Assigned_In_Alphabetical_Order() {
+        var skillsProvider = SkillsProviderUtil.getObject();
+
+        var id = 0;
+        for (var skillName : skillsProvider.getSkillNameSet()) {
+            assertEquals(id, skillsProvider.getSkillId(skillName));
+            assertEquals(skillName, skillsProvider.getById(id).name());
+            id++;
+        }
+
+        var skillNameList = new ArrayList<>(skillsProvider.getSkillNameSet());
+        assertEquals(skillNameList.stream().sorted().toList(), skillNameList);
+        assertEquals(-1, skillsProvider.getSkillId("Invalid"));
+        assertEquals(-1, skillsProvider.getSkillId(null));
+    }
+
+    @Test
+    void skill_Name_Set_Cannot_Be_Modified() {
+        var skillNameSet = SkillsProviderUtil.getObject().getSkillNameSet();
+
+        assertThrows(UnsupportedOperationException.class, () -> skillNameSet.remove("Alchemy"));
+    }
+
+    @Test
+    void all_Skills_Mask_Has_Bit_Set_For_Each_Skill() {
+        var skillsProvider = SkillsProviderUtil.getObject();
+
+        assertEquals(skillsProvider.getSkillNameSet().size(), Long.bitCount(skillsProvider.getAllSkillsMask()));
+        assertEquals(skillsProvider.getSkillMask(skillsProvider.getSkillNameSet()), skillsProvider.getAllSkillsMask());
+    }
+
+    @Test
+    void skill_Mask_Has_Bit_Set_For_Each_Named_Skill() {
+        var skillsProvider = SkillsProviderUtil.getObject();
+
+        var mask = skillsProvider.getSkillMask(List.of("Stealth", "Alchemy", "Stealth"));
+
+        assertEquals(2, Long.bitCount(mask));
+        assertEquals("Alchemy", skillsProvider.getById(Long.numberOfTrailingZeros(mask)).name());
+        assertEquals("Stealth", skillsProvider.getById(63 - Long.numberOfLeadingZeros(mask)).name());
+        assertEquals(0, skillsProvider.getSkillMask(List.of()));
+    }
+
+    @Test
+    void skill_Mask_With_Unknown_Skill_Throws_Exception() {
+        var skillsProvider = SkillsProviderUtil.getObject();
+
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> skillsProvider.getSkillMask(List.of("Alchemy", "Invalid")));
+        assertEquals("Unknown skill Invalid", exception.getMessage());
+    }
+
     static Stream<Arguments> skillsDataProvider() {
         return Stream.of(
                 Arguments.arguments("Alchemy", true),
@@ -10,6 +10,7 @@ import com.wcg.chargen.backend.service.SpeciesService;
 
 import com.wcg.chargen.backend.testUtil.SkillsProviderUtil;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -24,6 +25,7 @@ import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
+@DisabledInNativeImage
 public class DefaultSkillsServiceTests {
     @Mock
     CharClassesService charClassesServiceMock;
@@ -163,6 +165,22 @@ public class DefaultSkillsServiceTests {
         assertEquals(expectedBonusSkillNameList, getSkillNameList(skillsResponse.getBonusSkills()));
     }
 
+    @Test
+    void getSkills_Uses_Replaced_Class_Data() {
+        var defaultSkillsService = getConfiguredDefaultSkillsService(true,
+                SpeciesSkillsStatus.NULL);
+        var firstResponse = defaultSkillsService.getSkills(CharType.ROGUE, SpeciesType.HUMAN);
+
+        // Replace the class with one that has different skills, as reloading the game data would
+        var replacedCharClass = new CharClass(CharType.SKALD.toString(), null, null,
+                null, null, List.of("Arcana", "History"), null, null, null);
+        when(charClassesServiceMock.getCharClassByType(any(CharType.class))).thenReturn(replacedCharClass);
+        var secondResponse = defaultSkillsService.getSkills(CharType.ROGUE, SpeciesType.HUMAN);
+
+        assertEquals(ROGUE_SKILL_NAME_LIST, getSkillNameList(firstResponse.getClassSkills()));
+        assertEquals(List.of("Arcana", "History"), getSkillNameList(secondResponse.getClassSkills()));
+    }
+
     private DefaultSkillsService getConfiguredDefaultSkillsService(boolean hasValidClassSkills,
                                                                    SpeciesSkillsStatus speciesSkillsStatus) {
         var classSkillList = hasValidClassSkills ?
@@ -0,0 +1,169 @@
+package com.wcg.chargen.backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wcg.chargen.backend.enums.CharType;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.service.*;
+import com.wcg.chargen.backend.worker.SkillsProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockReset;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "wcg.warm-up.rounds=1")
+@DisabledInAotMode
+public class DefaultWarmUpServiceTests {
+    // Every class at levels 1, 4 and 7, plus three commoners
+    private static final int NUM_CHARACTERS = CharType.values().length * 3 + 3;
+
+    // Not reset between tests, since the warm-up only runs once, when the application starts
+    @MockitoSpyBean(reset = MockReset.NONE)
+    private PdfCharacterCreateService pdfCharacterCreateService;
+    @MockitoSpyBean(reset = MockReset.NONE)
+    private GoogleSheetsCharacterCreateService googleSheetsCharacterCreateService;
+    @Autowired
+    private CharacterCreateRequestValidatorService characterCreateRequestValidatorService;
+    @Autowired
+    private CharacterCreateMetricsService characterCreateMetricsService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private CharClassesService charClassesService;
+    @Autowired
+    private SpeciesService speciesService;
+    @Autowired
+    private ProfessionsService professionsService;
+    @Autowired
+    private SkillsService skillsService;
+    @Autowired
+    private FeaturesService featuresService;
+    @Autowired
+    private SkillsProvider skillsProvider;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private WarmUpService warmUpService;
+
+    @LocalServerPort
+    private int port;
+
+    private DefaultWarmUpService getService(Duration timeBudget) {
+        return new DefaultWarmUpService(pdfCharacterCreateService, googleSheetsCharacterCreateService,
+                characterCreateRequestValidatorService, characterCreateMetricsService, charClassesService,
+                speciesService, professionsService, skillsService, featuresService, skillsProvider, objectMapper,
+                true, 1, timeBudget);
+    }
+
+    private void waitForWarmUp() throws InterruptedException {
+        var deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (!warmUpService.getStatus().isComplete() && System.nanoTime() < deadlineNanos) {
+            Thread.sleep(50);
+        }
+        assertTrue(warmUpService.getStatus().isComplete());
+    }
+
+    @Test
+    public void buildRequests_AllRequestsAreValid() {
+        var requestList = getService(Duration.ofSeconds(1)).buildRequests();
+
+        assertEquals(NUM_CHARACTERS, requestList.size());
+        assertEquals(3, requestList.stream().filter(CharacterCreateRequest::isCommoner).count());
+    }
+
+    @Test
+    public void warmUp_RunsAfterStartupAndCompletesEveryRound() throws InterruptedException {
+        waitForWarmUp();
+
+        var status = warmUpService.getStatus();
+        assertEquals(1, status.roundsCompleted());
+        assertEquals(NUM_CHARACTERS, status.charactersRendered());
+        assertFalse(status.isTimedOut());
+    }
+
+    @ParameterizedTest
+    @EnumSource(CharType.class)
+    public void warmUp_RendersEveryClassAtEveryLevel(CharType charType) throws InterruptedException {
+        waitForWarmUp();
+
+        for (var level : new int[] {1, 4, 7}) {
+            verify(pdfCharacterCreateService, atLeastOnce()).createCharacter(argThat(request ->
+                    request.characterClass() == charType && request.level() == level));
+        }
+    }
+
+    @Test
+    public void warmUp_RendersCommoners() throws InterruptedException {
+        waitForWarmUp();
+
+        verify(pdfCharacterCreateService, atLeastOnce()).createCharacter(argThat(CharacterCreateRequest::isCommoner));
+    }
+
+    @Test
+    public void warmUp_BuildsSpreadsheetsThroughGoogleSheetsService() throws InterruptedException {
+        waitForWarmUp();
+
+        // Every class character, but not the commoners, which can't be created as Google Sheets
+        verify(googleSheetsCharacterCreateService, times(NUM_CHARACTERS - 3)).buildSpreadsheet(any());
+    }
+
+    @Test
+    public void warmUp_IsNotRecordedInCharacterCreationMetrics() throws InterruptedException {
+        waitForWarmUp();
+
+        assertTrue(meterRegistry.find("chargen.charcreate.stage").timers().isEmpty());
+        assertTrue(meterRegistry.find("chargen.charcreate.output.size").summaries().isEmpty());
+    }
+
+    @Test
+    public void warmUp_IsNotRecordedInHttpServerMetrics() throws InterruptedException {
+        waitForWarmUp();
+
+        assertTrue(meterRegistry.find("http.server.requests").tag("uri", "/api/v1/skills").timers().isEmpty());
+        assertTrue(meterRegistry.find("http.server.requests").tag("uri", "/api/v1/features").timers().isEmpty());
+        assertTrue(meterRegistry.find("http.server.requests").tag("uri", "/api/v1/professions").timers().isEmpty());
+    }
+
+    @Test
+    public void readiness_IsUpAfterWarmUp() throws InterruptedException {
+        waitForWarmUp();
+
+        var response = RestClient.create("http://localhost:" + port)
+                .get()
+                .uri("/actuator/health/readiness")
+                .retrieve()
+                .toEntity(String.class);
+
+        assertEquals(200, response.getStatusCode().value());
+    }
+
+    @Test
+    public void warmUp_StopsWhenTimeBudgetIsUsedUp() {
+        var warmUpService = getService(Duration.ZERO);
+
+        warmUpService.warmUp();
+
+        var status = warmUpService.getStatus();
+        assertTrue(status.isComplete());
+        assertTrue(status.isTimedOut());
+        assertEquals(0, status.roundsCompleted());
+        assertEquals(0, status.charactersRendered());
+    }
+}
@@ -0,0 +1,172 @@
+package com.wcg.chargen.backend.service.impl.charCreate;
+
+import com.wcg.chargen.backend.constants.PdfFieldConstants;
+import com.wcg.chargen.backend.util.PdfUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.Loader;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PdfTemplateCacheTests {
+    private static final long MAX_BYTES = 16 * 1024 * 1024;
+
+    private static byte[] blankTemplateBytes;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeAll
+    public static void loadBlankTemplate() throws IOException {
+        try (var inputStream = PdfTemplateCacheTests.class.getClassLoader().getResourceAsStream("charSheet.pdf")) {
+            assertNotNull(inputStream);
+            blankTemplateBytes = inputStream.readAllBytes();
+        }
+    }
+
+    @Test
+    public void load_ReturnsTemplateWithFieldsFilledIn() throws IOException {
+        var cache = new PdfTemplateCache(blankTemplateBytes, 10, MAX_BYTES, meterRegistry);
+
+        try (var pdfDocument = cache.load(getFieldValueMap("Dwarf", "Axe"))) {
+            assertEquals("Dwarf", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.SPECIES));
+            assertEquals("Axe", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.WEAPON + 1));
+            assertEquals("", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.CHARACTER_NAME));
+        }
+    }
+
+    @Test
+    public void load_ReusesTemplateForSameFieldValues() throws IOException {
+        var cache = new PdfTemplateCache(blankTemplateBytes, 10, MAX_BYTES, meterRegistry);
+
+        cache.load(getFieldValueMap("Dwarf", "Axe")).close();
+        try (var pdfDocument = cache.load(getFieldValueMap("Dwarf", "Axe"))) {
+            assertEquals("Axe", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.WEAPON + 1));
+        }
+        try (var pdfDocument = cache.load(getFieldValueMap("Dwarf", "Sword"))) {
+            assertEquals("Sword", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.WEAPON + 1));
+        }
+
+        assertEquals(1, getGetCount("hit"));
+        assertEquals(2, getGetCount("miss"));
+        assertEquals(2, getGaugeValue("size"));
+        assertTrue(getGaugeValue("bytes") > 0);
+    }
+
+    @Test
+    public void load_ReturnsIndependentCopies() throws IOException {
+        var cache = new PdfTemplateCache(blankTemplateBytes, 10, MAX_BYTES, meterRegistry);
+
+        try (var pdfDocument = cache.load(getFieldValueMap("Elf", "Bow"))) {
+            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.CHARACTER_NAME, "First");
+        }
+        try (var pdfDocument = cache.load(getFieldValueMap("Elf", "Bow"))) {
+            assertEquals("", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.CHARACTER_NAME));
+        }
+    }
+
+    @Test
+    public void load_EvictsLeastRecentlyUsedTemplateWhenTooManyEntries() throws IOException {
+        var cache = new PdfTemplateCache(blankTemplateBytes, 2, MAX_BYTES, meterRegistry);
+
+        cache.load(getFieldValueMap("Dwarf", "Axe")).close();
+        cache.load(getFieldValueMap("Elf", "Bow")).close();
+        // Use the dwarf template, so the elf one is now the least recently used
+        cache.load(getFieldValueMap("Dwarf", "Axe")).close();
+        cache.load(getFieldValueMap("Human", "Sword")).close();
+        cache.load(getFieldValueMap("Dwarf", "Axe")).close();
+        cache.load(getFieldValueMap("Elf", "Bow")).close();
+
+        assertEquals(2, getGetCount("hit"));
+        assertEquals(4, getGetCount("miss"));
+        assertEquals(2, getEvictionCount());
+        assertEquals(2, getGaugeValue("size"));
+    }
+
+    @Test
+    public void load_EvictsTemplatesWhenTooManyBytes() throws IOException {
+        // Room for one filled template, but not two
+        var cache = new PdfTemplateCache(blankTemplateBytes, 10, blankTemplateBytes.length * 3L / 2,
+                meterRegistry);
+
+        cache.load(getFieldValueMap("Dwarf", "Axe")).close();
+        cache.load(getFieldValueMap("Elf", "Bow")).close();
+
+        assertEquals(1, getEvictionCount());
+        assertEquals(1, getGaugeValue("size"));
+        assertTrue(getGaugeValue("bytes") <= blankTemplateBytes.length * 3L / 2);
+    }
+
+    @Test
+    public void load_DoesNotCacheTemplatesLargerThanMaxBytes() throws IOException {
+        var cache = new PdfTemplateCache(blankTemplateBytes, 10, 1024, meterRegistry);
+
+        try (var pdfDocument = cache.load(getFieldValueMap("Dwarf", "Axe"))) {
+            assertEquals("Axe", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.WEAPON + 1));
+        }
+        cache.load(getFieldValueMap("Dwarf", "Axe")).close();
+
+        assertEquals(2, getGetCount("miss"));
+        assertEquals(0, getGaugeValue("size"));
+        assertEquals(0, getGaugeValue("bytes"));
+    }
+
+    @Test
+    public void load_FillsFieldsWithoutCachingWhenDisabled() throws IOException {
+        var cache = new PdfTemplateCache(blankTemplateBytes, 0, MAX_BYTES, meterRegistry);
+
+        try (var pdfDocument = cache.load(getFieldValueMap("Halfling", "Sling"))) {
+            assertEquals("Halfling", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.SPECIES));
+            assertEquals("Sling", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.WEAPON + 1));
+        }
+
+        assertEquals(0, getGetCount("hit"));
+        assertEquals(0, getGetCount("miss"));
+        assertEquals(0, getGaugeValue("size"));
+    }
+
+    @Test
+    public void load_TemplateCanBeSavedAndReloaded() throws IOException {
+        var cache = new PdfTemplateCache(blankTemplateBytes, 10, MAX_BYTES, meterRegistry);
+        cache.load(getFieldValueMap("Dwarf", "Axe")).close();
+
+        byte[] savedBytes;
+        try (var pdfDocument = cache.load(getFieldValueMap("Dwarf", "Axe"));
+             var outputStream = new ByteArrayOutputStream()) {
+            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.CHARACTER_NAME, "Name");
+            pdfDocument.save(outputStream);
+            savedBytes = outputStream.toByteArray();
+        }
+
+        try (var pdfDocument = Loader.loadPDF(savedBytes)) {
+            assertEquals("Name", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.CHARACTER_NAME));
+            assertEquals("Dwarf", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.SPECIES));
+            assertEquals("Axe", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.WEAPON + 1));
+        }
+    }
+
+    private static Map<String, String> getFieldValueMap(String species, String weapon) {
+        var fieldValueMap = new LinkedHashMap<String, String>();
+        fieldValueMap.put(PdfFieldConstants.SPECIES, species);
+        fieldValueMap.put(PdfFieldConstants.WEAPON + 1, weapon);
+
+        return fieldValueMap;
+    }
+
+    private double getGetCount(String result) {
+        return meterRegistry.get("chargen.pdf.template.cache.gets").tag("result", result).counter().count();
+    }
+
+    private double getEvictionCount() {
+        return meterRegistry.get("chargen.pdf.template.cache.evictions").counter().count();
+    }
+
+    private double getGaugeValue(String name) {
+        return meterRegistry.get("chargen.pdf.template.cache." + name).gauge().value();
+    }
+}
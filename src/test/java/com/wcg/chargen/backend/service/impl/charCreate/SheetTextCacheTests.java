@@ -0,0 +1,49 @@
+package com.wcg.chargen.backend.service.impl.charCreate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SheetTextCacheTests {
+    private final List<List<String>> builtFromList = new ArrayList<>();
+    private final SheetTextCache<List<String>> cache = new SheetTextCache<>(2, source -> {
+        builtFromList.add(source);
+        return String.join("\n", source);
+    });
+
+    @Test
+    public void get_BuildsTextOnlyOnceForTheSameSource() {
+        var source = List.of("a", "b");
+
+        assertEquals("a\nb", cache.get(0, source));
+        assertEquals("a\nb", cache.get(0, source));
+        assertEquals(1, builtFromList.size());
+    }
+
+    @Test
+    public void get_KeepsEntriesSeparate() {
+        var source0 = List.of("a");
+        var source1 = List.of("b");
+
+        assertEquals("a", cache.get(0, source0));
+        assertEquals("b", cache.get(1, source1));
+        assertEquals("a", cache.get(0, source0));
+        assertEquals(2, builtFromList.size());
+    }
+
+    @Test
+    public void get_RebuildsTextWhenSourceIsReplaced() {
+        var oldSource = new ArrayList<>(List.of("a"));
+        // Equal to the old source, but a different object, as if the game data had been reloaded
+        var newSource = new ArrayList<>(List.of("a"));
+
+        cache.get(0, oldSource);
+        newSource.add("b");
+
+        assertEquals("a\nb", cache.get(0, newSource));
+        assertEquals(List.of(oldSource, newSource), builtFromList);
+    }
+}
@@ -0,0 +1,304 @@
+package com.wcg.chargen.backend.testUtil;
+
+import com.wcg.chargen.backend.enums.AttributeType;
+import com.wcg.chargen.backend.enums.CharType;
+import com.wcg.chargen.backend.enums.SpeciesType;
+import com.wcg.chargen.backend.model.CharClass;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.CharacterCreateStatus;
+import com.wcg.chargen.backend.model.Feature;
+import com.wcg.chargen.backend.model.Profession;
+import com.wcg.chargen.backend.service.*;
+import com.wcg.chargen.backend.worker.SkillsProvider;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static com.wcg.chargen.backend.service.impl.DefaultFeaturesService.CUMULATIVE_TIER_1_FEATURES_PER_LEVEL;
+import static com.wcg.chargen.backend.service.impl.DefaultFeaturesService.CUMULATIVE_TIER_2_FEATURES_PER_LEVEL;
+
+/**
+ * The request validation as it was before it was compiled into CharacterCreateValidationTable,
+ * which checks each request directly against the game data.  This is kept as a reference that
+ * the table-driven validator is tested against.
+ *
+ * This is a frozen copy of the old validator: don't edit it to match changes to the validator,
+ * or it stops being an independent check.  If the validation rules themselves change, update it
+ * in the same commit, and cover the change with fixed cases in DefaultCharacterCreateRequestValidatorServiceTests.
+ */
+public class ReferenceCharacterCreateRequestValidator implements CharacterCreateRequestValidatorService {
+    private final ProfessionsService professionsService;
+    private final SpeciesService speciesService;
+    private final SkillsProvider skillsProvider;
+    private final CharClassesService charClassesService;
+
+    public ReferenceCharacterCreateRequestValidator(ProfessionsService professionsService,
+                                                    SpeciesService speciesService,
+                                                    SkillsProvider skillsProvider,
+                                                    CharClassesService charClassesService) {
+        this.professionsService = professionsService;
+        this.speciesService = speciesService;
+        this.skillsProvider = skillsProvider;
+        this.charClassesService = charClassesService;
+    }
+
+    private static final int MIN_ATTRIBUTE_VALUE = -3;
+    private static final int MAX_ATTRIBUTE_VALUE = 3;
+    // Number of attributes with each value from MIN_ATTRIBUTE_VALUE to MAX_ATTRIBUTE_VALUE
+    private static final int[] CHALLENGING_ATTRIBUTE_COUNTS = getAttributeCounts(List.of(-2, -1, 0, 0, 1, 1, 2));
+    private static final int[] HEROIC_ATTRIBUTE_COUNTS = getAttributeCounts(List.of(-1, 0, 0, 0, 1, 2, 2));
+
+    @Override
+    public CharacterCreateStatus validate(CharacterCreateRequest characterCreateRequest) {
+        if (characterCreateRequest == null) {
+            return failedStatus("Invalid object");
+        }
+        if (StringUtils.isEmpty(characterCreateRequest.characterName())) {
+            return failedStatus("Missing character name");
+        }
+        if (characterCreateRequest.species() == null) {
+            return failedStatus("Missing species");
+        }
+        if (characterCreateRequest.level() == null) {
+            return failedStatus("Missing level");
+        }
+
+        var level = characterCreateRequest.level();
+        if (level < 0 || level > 7) {
+            return failedStatus("Level must be between 0 and 7");
+        }
+        if (characterCreateRequest.isCommoner()) {
+            // A commoner character should have a profession and not a class
+            if (characterCreateRequest.characterClass() != null) {
+                return failedStatus("Level 0 characters cannot have a character class");
+            }
+
+            var profession = characterCreateRequest.profession();
+            if (StringUtils.isEmpty(profession)) {
+                return failedStatus("Level 0 characters must have a profession");
+            }
+
+            if (!getProfessionNameSet().contains(profession)) {
+                return failedStatus("Profession " + profession + " is not a valid profession");
+            }
+        }
+        else if (characterCreateRequest.characterClass() == null) {
+            // Characters with levels 1-7 must have a class
+            return failedStatus("Missing character class");
+        }
+
+        var attributesMap = characterCreateRequest.attributes();
+        if (attributesMap == null) {
+            return failedStatus("Missing attributes");
+        }
+        for (var attributeName : AttributeType.values()) {
+            if (!attributesMap.containsKey(attributeName.toString())) {
+                return failedStatus("Attributes object is missing required attribute " + attributeName);
+            }
+        }
+
+        // For class characters, the values from the attributes object should match either the
+        // Challenging or Heroic attribute array
+        // For commoner characters, they should all be between -3 and 3
+        if (characterCreateRequest.isCommoner()) {
+            for (var attributeEntry : attributesMap.entrySet()) {
+                var attributeValue = attributeEntry.getValue();
+                if (!isAttributeValueInRange(attributeValue)) {
+                    return failedStatus(
+                            String.format("Attribute %s has invalid value %d which is not between %d and %d",
+                            attributeEntry.getKey(), attributeValue, MIN_ATTRIBUTE_VALUE, MAX_ATTRIBUTE_VALUE));
+                }
+            }
+        }
+        else {
+            var attributeCounts = getAttributeCounts(attributesMap.values());
+
+            if (!(Arrays.equals(CHALLENGING_ATTRIBUTE_COUNTS, attributeCounts) ||
+                    Arrays.equals(HEROIC_ATTRIBUTE_COUNTS, attributeCounts))) {
+                return failedStatus("Attribute values do not match challenging or heroic attribute arrays");
+            }
+        }
+
+        if (characterCreateRequest.speciesStrength() == null) {
+            return failedStatus("Missing species strength");
+        }
+
+        try {
+            AttributeType.valueOf(characterCreateRequest.speciesStrength());
+        }
+        catch (IllegalArgumentException e) {
+            return failedStatus("Species strength value " + characterCreateRequest.speciesStrength()
+            + " is not a valid attribute type");
+        }
+
+        var isHuman = characterCreateRequest.species().isHuman();
+
+        if (!isHuman && StringUtils.isEmpty(characterCreateRequest.speciesWeakness())) {
+            // Non-human characters must have a species weakness specified
+            return failedStatus("Non-human characters must specify a species weakness");
+        }
+
+        try {
+            if (!isHuman) {
+                AttributeType.valueOf(characterCreateRequest.speciesWeakness());
+            }
+        }
+        catch (IllegalArgumentException e) {
+            return failedStatus("Species weakness value " + characterCreateRequest.speciesWeakness()
+                    + " is not a valid attribute type");
+        }
+
+        // For non-human characters, the species strengths and weaknesses from the request
+        // must sync up with the values from the species YAML files, and their bonus skill
+        // must be included in the species YAML file
+        if (!isHuman) {
+            var speciesType = characterCreateRequest.species();
+            var species = speciesService.getSpeciesByType(speciesType);
+
+            if (!species.strengths().contains(characterCreateRequest.speciesStrength())) {
+                return failedStatus(String.format("Species strength %s is not valid for species %s",
+                        characterCreateRequest.speciesStrength(), speciesType));
+            }
+
+            if (!species.weaknesses().contains(characterCreateRequest.speciesWeakness())) {
+                return failedStatus(String.format("Species weakness %s is not valid for species %s",
+                        characterCreateRequest.speciesWeakness(), speciesType));
+            }
+
+            if (!characterCreateRequest.isCommoner() &&
+                    !getSpeciesSkillSet(speciesType).contains(characterCreateRequest.speciesSkill())) {
+                return failedStatus(String.format("Species skill %s is not valid for species %s",
+                        characterCreateRequest.speciesSkill(), speciesType));
+            }
+        }
+
+        if (!characterCreateRequest.isCommoner()) {
+            if (characterCreateRequest.bonusSkills() == null) {
+                return failedStatus("Bonus skills cannot be null for characters Level 1 and above");
+            }
+
+            // Humans are allowed 2 bonus skills, while non-humans only get 1,
+            // and the bonus skills must all be valid
+            var expectedBonusSkills = isHuman ? 2 : 1;
+            var speciesClass = isHuman ? "human" : "non-human";
+            if (characterCreateRequest.bonusSkills().size() != expectedBonusSkills) {
+                return failedStatus(String.format("Expected %d bonus skills for %s species, got %d",
+                        expectedBonusSkills, speciesClass, characterCreateRequest.bonusSkills().size()));
+            }
+
+            for (var skill : characterCreateRequest.bonusSkills()) {
+                if (skillsProvider.getByName(skill) == null) {
+                    return failedStatus(String.format("Bonus skill %s is not a valid skill", skill));
+                }
+            }
+
+            if (characterCreateRequest.useQuickGear() == null) {
+                return failedStatus("Use quick gear field must be specified for class characters");
+            }
+        }
+
+        if (characterCreateRequest.level() <= 1 && characterCreateRequest.features() != null) {
+            return failedStatus("Features cannot be specified for commoner or Level 1 characters");
+        }
+        else if (characterCreateRequest.level() > 1) {
+            if (characterCreateRequest.features() == null) {
+                return failedStatus("Features must be specified for characters Level 2 and above");
+            }
+            if (characterCreateRequest.features().tier1() == null) {
+                return failedStatus("Tier I features for characters level 2 and above cannot be null");
+            }
+            if (characterCreateRequest.features().tier2() == null) {
+                return failedStatus("Tier II features for characters level 2 and above cannot be null");
+            }
+
+            // Make sure we have the correct number of Tier I and Tier II features
+            var numAllowedTier1Features =
+                    CUMULATIVE_TIER_1_FEATURES_PER_LEVEL[characterCreateRequest.level() - 1];
+            if (characterCreateRequest.features().tier1().size() != numAllowedTier1Features) {
+                return failedStatus(String.format("Expected %d tier I features for level %d, got %d",
+                        numAllowedTier1Features,
+                        characterCreateRequest.level(),
+                        characterCreateRequest.features().tier1().size()));
+            }
+
+            var numAllowedTier2Features =
+                    CUMULATIVE_TIER_2_FEATURES_PER_LEVEL[characterCreateRequest.level() - 1];
+            if (characterCreateRequest.features().tier2().size() != numAllowedTier2Features) {
+                return failedStatus(String.format("Expected %d tier II features for level %d, got %d",
+                        numAllowedTier2Features,
+                        characterCreateRequest.level(),
+                        characterCreateRequest.features().tier2().size()));
+            }
+
+            // Check that the features are valid for the character class
+            var charType = characterCreateRequest.characterClass();
+            var tier1FeatureDescriptions = getFeatureDescriptionSet(charType,
+                    charClass -> charClass.features().tier1());
+            for (var featureDesc : characterCreateRequest.features().tier1()) {
+                if (!tier1FeatureDescriptions.contains(featureDesc)) {
+                    return failedStatus(String.format("Tier I feature %s is not valid for class %s",
+                            featureDesc, characterCreateRequest.characterClass()));
+                }
+            }
+
+            var tier2FeatureDescriptions = getFeatureDescriptionSet(charType,
+                    charClass -> charClass.features().tier2());
+            for (var featureDesc : characterCreateRequest.features().tier2()) {
+                if (!tier2FeatureDescriptions.contains(featureDesc)) {
+                    return failedStatus(String.format("Tier II feature %s is not valid for class %s",
+                            featureDesc, characterCreateRequest.characterClass()));
+                }
+            }
+        }
+
+        return CharacterCreateStatus.SUCCESS;
+    }
+
+    private Set<String> getProfessionNameSet() {
+        return toSet(professionsService.getAllProfessions().professions().stream()
+                .map(Profession::name)
+                .toList());
+    }
+
+    private Set<String> getSpeciesSkillSet(SpeciesType speciesType) {
+        return toSet(speciesService.getSpeciesByType(speciesType).skills());
+    }
+
+    private Set<String> getFeatureDescriptionSet(CharType charType, Function<CharClass, List<Feature>> tierGetter) {
+        return toSet(tierGetter.apply(charClassesService.getCharClassByType(charType)).stream()
+                .map(Feature::description)
+                .toList());
+    }
+
+    /**
+     * Requests can contain nulls, which the sets from Set.copyOf can't be searched for
+     */
+    private static Set<String> toSet(Collection<String> collection) {
+        return Collections.unmodifiableSet(new HashSet<>(collection));
+    }
+
+    private static boolean isAttributeValueInRange(Integer attributeValue) {
+        return attributeValue != null &&
+                attributeValue >= MIN_ATTRIBUTE_VALUE && attributeValue <= MAX_ATTRIBUTE_VALUE;
+    }
+
+    /**
+     * Count the attributes with each value, which can be compared with the counts for an attribute array
+     * without sorting.  Values out of range are counted in an extra slot, so they never match.
+     */
+    private static int[] getAttributeCounts(Collection<Integer> attributeValues) {
+        var counts = new int[MAX_ATTRIBUTE_VALUE - MIN_ATTRIBUTE_VALUE + 2];
+        for (var attributeValue : attributeValues) {
+            var index = isAttributeValueInRange(attributeValue) ?
+                    attributeValue - MIN_ATTRIBUTE_VALUE : counts.length - 1;
+            counts[index]++;
+        }
+
+        return counts;
+    }
+
+    private CharacterCreateStatus failedStatus(String msg) {
+        return new CharacterCreateStatus(false, msg);
+    }
+}
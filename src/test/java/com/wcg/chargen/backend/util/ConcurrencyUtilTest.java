@@ -0,0 +1,86 @@
+package com.wcg.chargen.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyUtilTest {
+    @Test
+    public void invokeAll_ReturnsResultsInTaskOrder() {
+        // arrange
+        // The first task finishes last, so completion order differs from task order
+        List<Callable<String>> tasks = List.of(
+                () -> { Thread.sleep(100); return "first"; },
+                () -> { Thread.sleep(50); return "second"; },
+                () -> "third"
+        );
+
+        // act
+        var results = ConcurrencyUtil.invokeAll(tasks);
+
+        // assert
+        assertEquals(List.of("first", "second", "third"), results);
+    }
+
+    @Test
+    public void invokeAll_ReturnsEmptyListForNoTasks() {
+        assertTrue(ConcurrencyUtil.invokeAll(List.<Callable<String>>of()).isEmpty());
+    }
+
+    @Test
+    public void invokeAll_RethrowsRuntimeExceptionAndCancelsRemainingTasks() throws InterruptedException {
+        // arrange
+        var expectedErrMsg = "Task failed";
+        var slowTaskStarted = new CountDownLatch(1);
+        var wasSlowTaskInterrupted = new AtomicBoolean(false);
+        var slowTaskFinished = new CountDownLatch(1);
+        List<Callable<String>> tasks = List.of(
+                () -> {
+                    slowTaskStarted.countDown();
+                    try {
+                        Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+                    }
+                    catch (InterruptedException e) {
+                        wasSlowTaskInterrupted.set(true);
+                    }
+                    finally {
+                        slowTaskFinished.countDown();
+                    }
+                    return "slow";
+                },
+                () -> {
+                    slowTaskStarted.await();
+                    throw new IllegalStateException(expectedErrMsg);
+                }
+        );
+
+        // act
+        var exception = assertThrows(IllegalStateException.class, () -> ConcurrencyUtil.invokeAll(tasks));
+
+        // assert
+        assertEquals(expectedErrMsg, exception.getMessage());
+        assertTrue(slowTaskFinished.await(5, TimeUnit.SECONDS));
+        assertTrue(wasSlowTaskInterrupted.get());
+    }
+
+    @Test
+    public void invokeAll_WrapsCheckedExceptionWithSameMessage() {
+        // arrange
+        var expectedErrMsg = "IO failed";
+        List<Callable<String>> tasks = List.of(() -> { throw new IOException(expectedErrMsg); });
+
+        // act
+        var exception = assertThrows(RuntimeException.class, () -> ConcurrencyUtil.invokeAll(tasks));
+
+        // assert
+        assertEquals(expectedErrMsg, exception.getMessage());
+        assertInstanceOf(IOException.class, exception.getCause());
+    }
+}
@@ -1,11 +1,22 @@
 package com.wcg.chargen.backend.util;
 
+import com.wcg.chargen.backend.constants.PdfFieldConstants;
+import com.wcg.chargen.backend.enums.PdfAppearanceMode;
+import com.wcg.chargen.backend.enums.PdfOutputProfile;
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Contains tests for functionality in PdfUtil that is not covered by the
@@ -34,4 +45,188 @@ public class PdfUtilTest {
             PdfUtil.setFieldValue(pdfDocument, "NonExistentField", "SomeValue");
         }
     }
+
+    @Test
+    public void countFilledFields_CountsFieldsWithValues() throws Exception {
+        try (var inputStream = getClass().getClassLoader().getResourceAsStream("charSheet.pdf");
+             var pdfDocument = Loader.loadPDF(new RandomAccessReadBuffer(inputStream))) {
+            var numBlankFields = PdfUtil.countFilledFields(pdfDocument);
+
+            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.CHARACTER_NAME, "SomeName");
+            PdfUtil.setFieldValue(pdfDocument, PdfFieldConstants.LEVEL, "1");
+
+            assertEquals(numBlankFields + 2, PdfUtil.countFilledFields(pdfDocument));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(PdfAppearanceMode.class)
+    public void setFieldValues_SetsValuesInEveryMode(PdfAppearanceMode appearanceMode) throws Exception {
+        try (var inputStream = getClass().getClassLoader().getResourceAsStream("charSheet.pdf");
+             var pdfDocument = Loader.loadPDF(new RandomAccessReadBuffer(inputStream))) {
+            PdfUtil.setFieldValues(pdfDocument, getFieldValueMap(), appearanceMode);
+
+            assertEquals("SomeName", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.CHARACTER_NAME));
+            assertEquals("3", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.LEVEL));
+            assertEquals("Line 1\nLine 2", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.EQUIPMENT));
+        }
+    }
+
+    @Test
+    public void setFieldValues_DeferredGeneratesSameAppearancesAsImmediate() throws Exception {
+        try (var inputStream = getClass().getClassLoader().getResourceAsStream("charSheet.pdf")) {
+            var templateBytes = inputStream.readAllBytes();
+
+            try (var immediateDocument = Loader.loadPDF(templateBytes);
+                 var deferredDocument = Loader.loadPDF(templateBytes)) {
+                PdfUtil.setFieldValues(immediateDocument, getFieldValueMap(), PdfAppearanceMode.IMMEDIATE);
+                PdfUtil.setFieldValues(deferredDocument, getFieldValueMap(), PdfAppearanceMode.DEFERRED);
+
+                for (var fieldName : getFieldValueMap().keySet()) {
+                    var immediateAppearance = getAppearance(immediateDocument, fieldName);
+                    assertNotNull(immediateAppearance, fieldName);
+                    assertArrayEquals(immediateAppearance, getAppearance(deferredDocument, fieldName), fieldName);
+                }
+                assertFalse(deferredDocument.getDocumentCatalog().getAcroForm(null).getNeedAppearances());
+            }
+        }
+    }
+
+    @Test
+    public void setFieldValues_NeedAppearancesLeavesAppearancesToViewer() throws Exception {
+        try (var inputStream = getClass().getClassLoader().getResourceAsStream("charSheet.pdf")) {
+            var templateBytes = inputStream.readAllBytes();
+
+            try (var blankDocument = Loader.loadPDF(templateBytes);
+                 var pdfDocument = Loader.loadPDF(templateBytes)) {
+                PdfUtil.setFieldValues(pdfDocument, getFieldValueMap(), PdfAppearanceMode.NEED_APPEARANCES);
+
+                for (var fieldName : getFieldValueMap().keySet()) {
+                    assertArrayEquals(getAppearance(blankDocument, fieldName), getAppearance(pdfDocument, fieldName),
+                            fieldName);
+                }
+                assertTrue(pdfDocument.getDocumentCatalog().getAcroForm(null).getNeedAppearances());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(PdfAppearanceMode.class)
+    public void setFieldValues_DoesNotThrowExceptionForNonExistentField(PdfAppearanceMode appearanceMode)
+            throws Exception {
+        try (var inputStream = getClass().getClassLoader().getResourceAsStream("charSheet.pdf");
+             var pdfDocument = Loader.loadPDF(new RandomAccessReadBuffer(inputStream))) {
+            var fieldValueMap = getFieldValueMap();
+            fieldValueMap.put("NonExistentField", "SomeValue");
+
+            PdfUtil.setFieldValues(pdfDocument, fieldValueMap, appearanceMode);
+
+            assertEquals("SomeName", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.CHARACTER_NAME));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(PdfOutputProfile.class)
+    public void save_WritesDocumentThatCanBeReloadedWithEveryProfile(PdfOutputProfile outputProfile)
+            throws Exception {
+        try (var inputStream = getClass().getClassLoader().getResourceAsStream("charSheet.pdf")) {
+            var templateBytes = inputStream.readAllBytes();
+
+            byte[] savedBytes;
+            try (var pdfDocument = Loader.loadPDF(templateBytes);
+                 var outputStream = new ByteArrayOutputStream()) {
+                PdfUtil.setFieldValues(pdfDocument, getFieldValueMap(), PdfAppearanceMode.DEFERRED);
+                PdfUtil.save(pdfDocument, outputStream, outputProfile);
+                savedBytes = outputStream.toByteArray();
+            }
+
+            try (var pdfDocument = Loader.loadPDF(savedBytes)) {
+                assertEquals("SomeName", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.CHARACTER_NAME));
+                assertEquals("Line 1\nLine 2", PdfUtil.getFieldValue(pdfDocument, PdfFieldConstants.EQUIPMENT));
+                // PDFBox only writes a cross-reference stream along with object streams
+                assertEquals(outputProfile != PdfOutputProfile.FAST, pdfDocument.getDocument().isXRefStream());
+            }
+        }
+    }
+
+    @Test
+    public void save_CompressesGeneratedAppearancesWithCompactProfile() throws Exception {
+        try (var inputStream = getClass().getClassLoader().getResourceAsStream("charSheet.pdf")) {
+            var templateBytes = inputStream.readAllBytes();
+            // Long enough that compressing its appearance makes it smaller
+            var fieldValueMap = Map.of(PdfFieldConstants.EQUIPMENT, "Rope\n".repeat(20));
+
+            var standardBytes = saveWithFieldValues(templateBytes, fieldValueMap, PdfOutputProfile.STANDARD);
+            var compactBytes = saveWithFieldValues(templateBytes, fieldValueMap, PdfOutputProfile.COMPACT);
+
+            assertTrue(compactBytes.length < standardBytes.length);
+            try (var standardDocument = Loader.loadPDF(standardBytes);
+                 var compactDocument = Loader.loadPDF(compactBytes)) {
+                assertNull(getAppearanceFilter(standardDocument, PdfFieldConstants.EQUIPMENT));
+                assertEquals(COSName.FLATE_DECODE, getAppearanceFilter(compactDocument, PdfFieldConstants.EQUIPMENT));
+                assertArrayEquals(getAppearance(standardDocument, PdfFieldConstants.EQUIPMENT),
+                        getAppearance(compactDocument, PdfFieldConstants.EQUIPMENT));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = PdfOutputProfile.class, names = {"COMPACT", "SMALLEST"})
+    public void optimize_ReturnsSmallerTemplateWithSameForm(PdfOutputProfile outputProfile) throws Exception {
+        try (var inputStream = getClass().getClassLoader().getResourceAsStream("charSheet.pdf")) {
+            var templateBytes = inputStream.readAllBytes();
+
+            var optimizedBytes = PdfUtil.optimize(templateBytes, outputProfile);
+
+            assertTrue(optimizedBytes.length < templateBytes.length);
+            try (var templateDocument = Loader.loadPDF(templateBytes);
+                 var optimizedDocument = Loader.loadPDF(optimizedBytes)) {
+                assertEquals(templateDocument.getNumberOfPages(), optimizedDocument.getNumberOfPages());
+                assertEquals(templateDocument.getDocumentCatalog().getAcroForm(null).getFields().size(),
+                        optimizedDocument.getDocumentCatalog().getAcroForm(null).getFields().size());
+                // Only SMALLEST compresses the metadata
+                var metadataStream = optimizedDocument.getDocumentCatalog().getMetadata().getCOSObject();
+                assertEquals(outputProfile.isCompressMetadata(), metadataStream.getFilters() != null);
+            }
+        }
+    }
+
+    private static byte[] saveWithFieldValues(byte[] templateBytes, Map<String, String> fieldValueMap,
+                                              PdfOutputProfile outputProfile) throws IOException {
+        try (var pdfDocument = Loader.loadPDF(templateBytes);
+             var outputStream = new ByteArrayOutputStream()) {
+            PdfUtil.setFieldValues(pdfDocument, fieldValueMap, PdfAppearanceMode.DEFERRED);
+            PdfUtil.save(pdfDocument, outputStream, outputProfile);
+
+            return outputStream.toByteArray();
+        }
+    }
+
+    private static COSName getAppearanceFilter(PDDocument pdfDocument, String fieldName) {
+        var field = pdfDocument.getDocumentCatalog().getAcroForm(null).getField(fieldName);
+
+        return (COSName) field.getWidgets().getFirst().getNormalAppearanceStream().getCOSObject().getFilters();
+    }
+
+    private static Map<String, String> getFieldValueMap() {
+        var fieldValueMap = new LinkedHashMap<String, String>();
+        fieldValueMap.put(PdfFieldConstants.CHARACTER_NAME, "SomeName");
+        fieldValueMap.put(PdfFieldConstants.LEVEL, "3");
+        fieldValueMap.put(PdfFieldConstants.EQUIPMENT, "Line 1\nLine 2");
+
+        return fieldValueMap;
+    }
+
+    private static byte[] getAppearance(PDDocument pdfDocument, String fieldName) throws IOException {
+        // Get the form without PDFBox's fixups, which generate appearances if NeedAppearances is set
+        var field = pdfDocument.getDocumentCatalog().getAcroForm(null).getField(fieldName);
+        var appearanceStream = field.getWidgets().getFirst().getNormalAppearanceStream();
+        if (appearanceStream == null) {
+            return null;
+        }
+
+        try (var inputStream = appearanceStream.getCOSObject().createInputStream()) {
+            return inputStream.readAllBytes();
+        }
+    }
 }
@@ -0,0 +1,111 @@
+package com.wcg.chargen.backend.util;
+
+import com.wcg.chargen.backend.enums.CharType;
+import com.wcg.chargen.backend.enums.SpeciesType;
+import com.wcg.chargen.backend.model.CharacterCreateRequest;
+import com.wcg.chargen.backend.model.PartyCreateRequest;
+import com.wcg.chargen.backend.testUtil.CharacterCreateRequestBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestValidationUtilTest {
+    private static CharacterCreateRequestBuilder getValidBuilder() {
+        return CharacterCreateRequestBuilder.getBuilder()
+                .withCharacterName("Name")
+                .withCharacterType(CharType.MAGE)
+                .withSpeciesType(SpeciesType.HUMAN)
+                .withLevel(1)
+                .withAttributes(CharacterCreateRequestBuilder.VALID_ATTRIBUTES_MAP)
+                .withSpeciesStrength("STR");
+    }
+
+    @Test
+    public void getMissingFieldMessage_ReturnsNullIfRequiredFieldsArePresent() {
+        assertNull(RequestValidationUtil.getMissingFieldMessage(getValidBuilder().build()));
+    }
+
+    @Test
+    public void getMissingFieldMessage_ReturnsMessageIfRequestIsNull() {
+        assertEquals("Invalid object", RequestValidationUtil.getMissingFieldMessage((CharacterCreateRequest) null));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    public void getMissingFieldMessage_ReturnsMessageIfCharacterNameIsNullOrEmpty(String characterName) {
+        var request = getValidBuilder().withCharacterName(characterName).build();
+
+        assertEquals("Missing character name", RequestValidationUtil.getMissingFieldMessage(request));
+    }
+
+    @Test
+    public void getMissingFieldMessage_ReturnsMessageIfSpeciesIsNull() {
+        var request = getValidBuilder().withSpeciesType(null).build();
+
+        assertEquals("Missing species", RequestValidationUtil.getMissingFieldMessage(request));
+    }
+
+    @Test
+    public void getMissingFieldMessage_ReturnsMessageIfLevelIsNull() {
+        var request = getValidBuilder().withLevel(null).build();
+
+        assertEquals("Missing level", RequestValidationUtil.getMissingFieldMessage(request));
+    }
+
+    @Test
+    public void getMissingFieldMessage_ReturnsMessageIfAttributesAreNull() {
+        var request = CharacterCreateRequestBuilder.getBuilder()
+                .withCharacterName("Name")
+                .withSpeciesType(SpeciesType.HUMAN)
+                .withLevel(1)
+                .withNullAttributes()
+                .withSpeciesStrength("STR")
+                .build();
+
+        assertEquals("Missing attributes", RequestValidationUtil.getMissingFieldMessage(request));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    public void getMissingFieldMessage_ReturnsMessageIfSpeciesStrengthIsNullOrEmpty(String speciesStrength) {
+        var request = getValidBuilder().withSpeciesStrength(speciesStrength).build();
+
+        assertEquals("Missing species strength", RequestValidationUtil.getMissingFieldMessage(request));
+    }
+
+    @Test
+    public void getMissingFieldMessage_ReturnsNullForValidParty() {
+        var party = new PartyCreateRequest(List.of(getValidBuilder().build(), getValidBuilder().build()));
+
+        assertNull(RequestValidationUtil.getMissingFieldMessage(party));
+    }
+
+    @Test
+    public void getMissingFieldMessage_ReturnsMessageIfPartyIsEmpty() {
+        assertEquals("Party must have at least one character",
+                RequestValidationUtil.getMissingFieldMessage(new PartyCreateRequest(null)));
+        assertEquals("Party must have at least one character",
+                RequestValidationUtil.getMissingFieldMessage(new PartyCreateRequest(List.of())));
+    }
+
+    @Test
+    public void getMissingFieldMessage_ReturnsMessageIfPartyIsTooLarge() {
+        var party = new PartyCreateRequest(Collections.nCopies(PartyCreateRequest.MAX_PARTY_SIZE + 1,
+                getValidBuilder().build()));
+
+        assertEquals("Party cannot have more than 8 characters", RequestValidationUtil.getMissingFieldMessage(party));
+    }
+
+    @Test
+    public void getMissingFieldMessage_IdentifiesPartyCharacterWithMissingField() {
+        var party = new PartyCreateRequest(List.of(getValidBuilder().build(),
+                getValidBuilder().withLevel(null).build()));
+
+        assertEquals("Character 2: Missing level", RequestValidationUtil.getMissingFieldMessage(party));
+    }
+}
@@ -0,0 +1,58 @@
+package com.wcg.chargen.backend.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerTimingUtilTest {
+    @AfterEach
+    public void afterTest() {
+        // Make sure nothing leaks into other tests on the same thread
+        ServerTimingUtil.finish();
+    }
+
+    @Test
+    public void finish_ReturnsDurationsInRecordedOrder() {
+        ServerTimingUtil.start();
+        ServerTimingUtil.record("validate", 1_500_000);
+        ServerTimingUtil.record("render", 20_000_000);
+
+        assertEquals("validate;dur=1.50, render;dur=20.00", ServerTimingUtil.finish());
+    }
+
+    @Test
+    public void record_AddsTogetherDurationsWithSameName() {
+        ServerTimingUtil.start();
+        ServerTimingUtil.record("upstream", 1_000_000);
+        ServerTimingUtil.record("upstream", 2_000_000);
+
+        assertEquals("upstream;dur=3.00", ServerTimingUtil.finish());
+    }
+
+    @Test
+    public void record_DoesNothingIfNotStarted() {
+        ServerTimingUtil.record("validate", 1_000_000);
+
+        assertEquals("", ServerTimingUtil.finish());
+    }
+
+    @Test
+    public void finish_StopsCollection() {
+        ServerTimingUtil.start();
+        ServerTimingUtil.finish();
+        ServerTimingUtil.record("validate", 1_000_000);
+
+        assertEquals("", ServerTimingUtil.finish());
+    }
+
+    @Test
+    public void time_ReturnsResultAndRecordsDuration() {
+        ServerTimingUtil.start();
+
+        var result = ServerTimingUtil.time("resolve", () -> "result");
+
+        assertEquals("result", result);
+        assertTrue(ServerTimingUtil.finish().startsWith("resolve;dur="));
+    }
+}
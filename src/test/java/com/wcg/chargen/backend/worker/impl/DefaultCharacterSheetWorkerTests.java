@@ -23,12 +23,14 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Stream;
+import org.springframework.test.context.aot.DisabledInAotMode;
 
 import static com.wcg.chargen.backend.worker.impl.DefaultCharacterSheetWorker.SHIELD;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 
 @SpringBootTest
+@DisabledInAotMode
 public class DefaultCharacterSheetWorkerTests {
     @Autowired
     CharacterSheetWorker characterSheetWorker;
@@ -1171,4 +1173,64 @@ public class DefaultCharacterSheetWorkerTests {
                 Arguments.arguments(false, true, true),
                 Arguments.arguments(false, false, false));
     }
+
+    @Test
+    public void getSkillsList_ReturnsAllSkillsSortedByNameIncludingDuplicates() {
+        // arrange
+        var charClass = new CharClass(CharType.WARRIOR.toString(),
+                null,
+                null,
+                0,
+                0,
+                List.of("Survival", "Athletics"),
+                null,
+                null,
+                null);
+
+        Mockito.when(charClassesService.getCharClassByType(any())).thenReturn(charClass);
+
+        var request = CharacterCreateRequestBuilder.getBuilder()
+                .withCharacterType(CharType.WARRIOR)
+                .withLevel(1)
+                .withSpeciesSkill("Arcana")
+                .withBonusSkills(List.of("Athletics"))
+                .build();
+
+        // act
+        var skillsList = characterSheetWorker.getSkillsList(request);
+
+        // assert
+        var skillNames = skillsList.stream().map(Skill::name).toList();
+        assertEquals(List.of("Arcana", "Athletics", "Athletics", "Survival"), skillNames);
+    }
+
+    @Test
+    public void getSkillsList_SkipsUnknownSkills() {
+        // arrange
+        var charClass = new CharClass(CharType.WARRIOR.toString(),
+                null,
+                null,
+                0,
+                0,
+                List.of("Survival"),
+                null,
+                null,
+                null);
+
+        Mockito.when(charClassesService.getCharClassByType(any())).thenReturn(charClass);
+
+        var request = CharacterCreateRequestBuilder.getBuilder()
+                .withCharacterType(CharType.WARRIOR)
+                .withLevel(1)
+                .withSpeciesSkill("Not A Skill")
+                .withBonusSkills(List.of("Also Not A Skill", "Healing"))
+                .build();
+
+        // act
+        var skillsList = characterSheetWorker.getSkillsList(request);
+
+        // assert
+        var skillNames = skillsList.stream().map(Skill::name).toList();
+        assertEquals(List.of("Healing", "Survival"), skillNames);
+    }
 }